@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import dev.jacomet.build.GenerateSyntheticBuild
+import dev.jacomet.build.GraphShape
+import org.gradle.util.GradleVersion
+
+plugins {
+    base
+}
+
+repositories {
+    maven {
+        url = uri("https://repo.gradle.org/gradle/libs-releases")
+    }
+    mavenCentral()
+}
+
+val pluginUnderTest by configurations.creating {
+    isCanBeConsumed = false
+    isTransitive = false
+    attributes {
+        attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.JAVA_RUNTIME))
+        attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, objects.named(LibraryElements.JAR))
+    }
+}
+val gradleProfiler by configurations.creating {
+    isCanBeConsumed = false
+}
+
+dependencies {
+    pluginUnderTest(project(":"))
+    gradleProfiler("org.gradle.profiler:gradle-profiler:0.20.0")
+}
+
+val scenarioFile = layout.projectDirectory.file("logging-capabilities.scenarios")
+val benchmarkGradleVersion = findProperty("benchmark.gradle-version")?.toString() ?: GradleVersion.current().version
+
+val benchmark by tasks.registering {
+    group = "benchmark"
+    description = "Runs the gradle-profiler scenarios against all synthetic builds."
+}
+
+listOf(10, 100, 1000).forEach { count ->
+    GraphShape.values().forEach { shape ->
+        val buildName = "${shape.id}-$count"
+        val taskSuffix = "${shape.id.capitalize()}$count"
+
+        val generate = tasks.register<GenerateSyntheticBuild>("generate$taskSuffix") {
+            group = "benchmark"
+            description = "Generates the synthetic build with $count projects and a ${shape.id} logging graph."
+            projectCount.set(count)
+            graphShape.set(shape)
+            pluginJar.from(pluginUnderTest)
+            outputDirectory.set(layout.buildDirectory.dir("builds/$buildName"))
+        }
+
+        val run = tasks.register<JavaExec>("benchmark$taskSuffix") {
+            group = "benchmark"
+            description = "Runs the gradle-profiler scenarios against the synthetic build with $count projects and a ${shape.id} logging graph."
+            classpath = gradleProfiler
+            mainClass.set("org.gradle.profiler.Main")
+            val projectDir = generate.flatMap { it.outputDirectory }
+            val outputDir = layout.buildDirectory.dir("results/$buildName")
+            inputs.dir(projectDir)
+            inputs.file(scenarioFile)
+            argumentProviders.add(CommandLineArgumentProvider {
+                listOf(
+                        "--benchmark",
+                        "--project-dir", projectDir.get().asFile.absolutePath,
+                        "--scenario-file", scenarioFile.asFile.absolutePath,
+                        "--output-dir", outputDir.get().asFile.absolutePath,
+                        "--gradle-version", benchmarkGradleVersion,
+                        "--measure-config-time",
+                        "--measure-gc"
+                )
+            })
+        }
+        benchmark {
+            dependsOn(run)
+        }
+    }
+}
@@ -21,6 +21,7 @@ plugins {
     id("com.gradle.plugin-publish") version "1.1.0"
     dev.jacomet.build.functional
     id("com.github.hierynomus.license") version "0.15.0"
+    id("me.champeau.gradle.jmh") version "0.5.3"
     signing
 }
 
@@ -55,6 +56,12 @@ gradlePlugin {
                 |* Fix issue with spring-jcl in enforcement (#36)
             """.trimMargin()
         }
+        create("logging-capabilities-settings") {
+            id = "dev.jacomet.logging-capabilities-settings"
+            implementationClass = "dev.jacomet.gradle.plugins.logging.LoggingCapabilitiesSettingsPlugin"
+            displayName = "Logging libraries capabilities for the whole build"
+            description = "Settings plugin registering the logging capabilities rules once for all projects, with build wide preferences"
+        }
     }
 }
 
@@ -77,6 +84,15 @@ signing {
     useGpgCmd()
 }
 
+jmh {
+    jmhVersion = "1.36"
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+}
+
 license {
     header = rootProject.file("config/HEADER.txt")
     strictCheck = true
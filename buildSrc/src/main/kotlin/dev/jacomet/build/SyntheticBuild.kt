@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.build
+
+import java.io.File
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+/**
+ * Shape of the logging part of the dependency graph of a synthetic build.
+ */
+enum class GraphShape(val id: String) {
+    /**
+     * Each project declares the logging modules directly.
+     */
+    SHALLOW("shallow"),
+
+    /**
+     * Projects depend on each other in chains of up to [SyntheticBuild.CHAIN_LENGTH] projects,
+     * and reach the logging modules through a chain of [SyntheticBuild.CHAIN_LENGTH] external libraries.
+     */
+    DEEP("deep")
+}
+
+/**
+ * Generates a multi-project build, with its own local repository, exercising the logging capabilities plugin.
+ * <p>
+ * The `loggingCapabilities` Gradle property of the generated build selects what is measured:
+ * `off` does not apply the plugin, `applied` only applies it, `enforceLogback` and `enforceLog4J2` also enforce a logging framework.
+ * When enforcing, the graph additionally contains conflicting logging modules, so that the plugin resolves conflicts and substitutes modules.
+ */
+class SyntheticBuild(private val projectCount: Int, private val shape: GraphShape) {
+
+    companion object {
+        const val CHAIN_LENGTH = 10
+        const val PLUGIN_JAR = "logging-capabilities.jar"
+
+        private const val SLF4J_VERSION = "1.7.30"
+        private const val LOG4J2_VERSION = "2.17.1"
+
+        private val SLF4J_VERSIONS = listOf("1.4.2", "1.5.10", SLF4J_VERSION)
+        private val SLF4J_MODULES = listOf("slf4j-api", "slf4j-simple", "jcl-over-slf4j", "jul-to-slf4j", "log4j-over-slf4j")
+        private val LOG4J2_MODULES = listOf("log4j-api", "log4j-core", "log4j-slf4j-impl", "log4j-to-slf4j", "log4j-jul", "log4j-jcl", "log4j-1.2-api")
+
+        /**
+         * Logging modules without any capability conflict, declared in all modes.
+         */
+        private val BASELINE = listOf(
+                "org.slf4j:slf4j-api:$SLF4J_VERSION",
+                "ch.qos.logback:logback-classic:1.2.3",
+                "org.slf4j:jcl-over-slf4j:$SLF4J_VERSION",
+                "org.slf4j:jul-to-slf4j:$SLF4J_VERSION",
+                "org.slf4j:log4j-over-slf4j:$SLF4J_VERSION",
+                "org.apache.logging.log4j:log4j-to-slf4j:$LOG4J2_VERSION"
+        )
+
+        /**
+         * Logging modules conflicting with the baseline, declared only when enforcing a logging framework.
+         */
+        private val CONFLICTING = listOf(
+                "org.slf4j:slf4j-simple:$SLF4J_VERSION",
+                "org.apache.logging.log4j:log4j-slf4j-impl:$LOG4J2_VERSION",
+                "org.apache.logging.log4j:log4j-core:$LOG4J2_VERSION",
+                "org.apache.logging.log4j:log4j-jul:$LOG4J2_VERSION",
+                "org.apache.logging.log4j:log4j-jcl:$LOG4J2_VERSION",
+                "commons-logging:commons-logging:1.2",
+                "log4j:log4j:1.2.17"
+        )
+    }
+
+    val name = "${shape.id}-$projectCount"
+
+    fun writeTo(dir: File, pluginJar: File) {
+        dir.deleteRecursively()
+        dir.mkdirs()
+        pluginJar.copyTo(File(dir, PLUGIN_JAR))
+        writeRepository(File(dir, "repo"))
+        File(dir, "settings.gradle.kts").writeText(settingsScript())
+        File(dir, "build.gradle.kts").writeText(rootBuildScript())
+        File(dir, "gradle.properties").writeText("org.gradle.jvmargs=-Xmx2g\norg.gradle.parallel=true\n")
+        for (index in 0 until projectCount) {
+            val projectDir = File(dir, "p-$index")
+            projectDir.mkdirs()
+            File(projectDir, "build.gradle.kts").writeText(projectBuildScript(index))
+        }
+    }
+
+    private fun settingsScript() = """
+        |import org.gradle.build.event.BuildEventsListenerRegistry
+        |import org.gradle.tooling.events.FinishEvent
+        |import org.gradle.tooling.events.OperationCompletionListener
+        |import java.lang.management.ManagementFactory
+        |import java.lang.management.MemoryType
+        |import javax.inject.Inject
+        |
+        |rootProject.name = "$name"
+        |
+        |for (index in 0 until $projectCount) {
+        |    include("p-${'$'}index")
+        |}
+        |
+        |/**
+        | * Appends the peak heap used by the daemon during the build, per plugin mode, to `heap.csv`.
+        | */
+        |abstract class HeapProbe : BuildService<HeapProbe.Params>, OperationCompletionListener, AutoCloseable {
+        |    interface Params : BuildServiceParameters {
+        |        val output: RegularFileProperty
+        |        val mode: Property<String>
+        |    }
+        |
+        |    init {
+        |        ManagementFactory.getMemoryPoolMXBeans().forEach { it.resetPeakUsage() }
+        |    }
+        |
+        |    override fun onFinish(event: FinishEvent) {
+        |    }
+        |
+        |    override fun close() {
+        |        val peak = ManagementFactory.getMemoryPoolMXBeans().filter { it.type == MemoryType.HEAP }.map { it.peakUsage.used }.sum()
+        |        parameters.output.get().asFile.appendText("${'$'}{parameters.mode.get()},${'$'}peak\n")
+        |    }
+        |}
+        |
+        |abstract class HeapProbePlugin @Inject constructor(private val registry: BuildEventsListenerRegistry) : Plugin<Settings> {
+        |    override fun apply(settings: Settings) {
+        |        val probe = settings.gradle.sharedServices.registerIfAbsent("heapProbe", HeapProbe::class.java) {
+        |            parameters.output.set(File(settings.rootDir, "heap.csv"))
+        |            parameters.mode.set(settings.providers.gradleProperty("loggingCapabilities").orElse("off"))
+        |        }
+        |        registry.onTaskCompletion(probe)
+        |    }
+        |}
+        |
+        |apply<HeapProbePlugin>()
+        |""".trimMargin()
+
+    private fun rootBuildScript() = """
+        |buildscript {
+        |    dependencies {
+        |        classpath(files("$PLUGIN_JAR"))
+        |    }
+        |}
+        |""".trimMargin()
+
+    private fun projectBuildScript(index: Int): String {
+        val dependencies = mutableListOf<String>()
+        if (shape == GraphShape.DEEP) {
+            if (index % CHAIN_LENGTH != 0) {
+                dependencies.add("implementation(project(\":p-${index - 1}\"))")
+            }
+            dependencies.add("implementation(\"bench:lib-0:1.0\")")
+        } else {
+            BASELINE.forEach { dependencies.add("implementation(\"$it\")") }
+        }
+        return """
+            |import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension
+            |
+            |plugins {
+            |    `java-library`
+            |}
+            |
+            |repositories {
+            |    maven { url = uri(rootDir.resolve("repo")) }
+            |}
+            |
+            |val mode = findProperty("loggingCapabilities")?.toString() ?: "off"
+            |if (mode != "off") {
+            |    apply(plugin = "dev.jacomet.logging-capabilities")
+            |    when (mode) {
+            |        "enforceLogback" -> configure<LoggingCapabilitiesExtension> { enforceLogback() }
+            |        "enforceLog4J2" -> configure<LoggingCapabilitiesExtension> { enforceLog4J2() }
+            |    }
+            |}
+            |
+            |dependencies {
+            |${dependencies.joinToString("\n") { "    $it" }}
+            |    if (mode.startsWith("enforce")) {
+            |${CONFLICTING.joinToString("\n") { "        runtimeOnly(\"$it\")" }}
+            |    }
+            |}
+            |
+            |tasks.register("resolveLogging") {
+            |    val incoming = configurations.runtimeClasspath.get().incoming
+            |    doLast {
+            |        incoming.resolutionResult.allComponents.size
+            |    }
+            |}
+            |""".trimMargin()
+    }
+
+    private fun writeRepository(repo: File) {
+        SLF4J_VERSIONS.forEach { version ->
+            SLF4J_MODULES.forEach { name ->
+                module(repo, "org.slf4j", name, version, if (name == "slf4j-api") emptyList() else listOf("org.slf4j:slf4j-api:$version"))
+            }
+        }
+        LOG4J2_MODULES.forEach { name ->
+            val dependencies = mutableListOf<String>()
+            if (name != "log4j-api") {
+                dependencies.add("org.apache.logging.log4j:log4j-api:$LOG4J2_VERSION")
+            }
+            if (name == "log4j-slf4j-impl" || name == "log4j-to-slf4j") {
+                dependencies.add("org.slf4j:slf4j-api:$SLF4J_VERSION")
+            }
+            if (name == "log4j-jcl") {
+                dependencies.add("commons-logging:commons-logging:1.2")
+            }
+            module(repo, "org.apache.logging.log4j", name, LOG4J2_VERSION, dependencies)
+        }
+        bom(repo, "org.apache.logging.log4j", "log4j-bom", LOG4J2_VERSION, LOG4J2_MODULES.map { "org.apache.logging.log4j:$it:$LOG4J2_VERSION" })
+        module(repo, "ch.qos.logback", "logback-core", "1.2.3", emptyList())
+        module(repo, "ch.qos.logback", "logback-classic", "1.2.3", listOf("ch.qos.logback:logback-core:1.2.3", "org.slf4j:slf4j-api:$SLF4J_VERSION"))
+        module(repo, "commons-logging", "commons-logging", "1.2", emptyList())
+        module(repo, "log4j", "log4j", "1.2.17", emptyList())
+        for (index in 0 until CHAIN_LENGTH) {
+            module(repo, "bench", "lib-$index", "1.0", if (index == CHAIN_LENGTH - 1) BASELINE else listOf("bench:lib-${index + 1}:1.0"))
+        }
+    }
+
+    private fun module(repo: File, group: String, name: String, version: String, dependencies: List<String>) {
+        val dir = moduleDir(repo, group, name, version)
+        JarOutputStream(File(dir, "$name-$version.jar").outputStream(), Manifest().apply { mainAttributes.putValue("Manifest-Version", "1.0") }).close()
+        File(dir, "$name-$version.pom").writeText(pom(group, name, version, "<dependencies>", dependencies.joinToString("\n") { pomDependency(it) }, "</dependencies>"))
+    }
+
+    private fun bom(repo: File, group: String, name: String, version: String, managed: List<String>) {
+        val dir = moduleDir(repo, group, name, version)
+        File(dir, "$name-$version.pom").writeText(pom(group, name, version, "<packaging>pom</packaging><dependencyManagement><dependencies>", managed.joinToString("\n") { pomDependency(it) }, "</dependencies></dependencyManagement>"))
+    }
+
+    private fun moduleDir(repo: File, group: String, name: String, version: String): File {
+        val dir = File(repo, "${group.replace('.', '/')}/$name/$version")
+        dir.mkdirs()
+        return dir
+    }
+
+    private fun pom(group: String, name: String, version: String, open: String, content: String, close: String) = """
+        |<?xml version="1.0" encoding="UTF-8"?>
+        |<project xmlns="http://maven.apache.org/POM/4.0.0">
+        |<modelVersion>4.0.0</modelVersion>
+        |<groupId>$group</groupId>
+        |<artifactId>$name</artifactId>
+        |<version>$version</version>
+        |$open
+        |$content
+        |$close
+        |</project>
+        |""".trimMargin()
+
+    private fun pomDependency(notation: String): String {
+        val (group, name, version) = notation.split(":")
+        return "<dependency><groupId>$group</groupId><artifactId>$name</artifactId><version>$version</version></dependency>"
+    }
+}
@@ -20,6 +20,8 @@ plugins {
 
 rootProject.name = "logging-capabilities"
 
+include("benchmark")
+
 gradleEnterprise {
     buildScan {
         termsOfServiceUrl = "https://gradle.com/terms-of-service"
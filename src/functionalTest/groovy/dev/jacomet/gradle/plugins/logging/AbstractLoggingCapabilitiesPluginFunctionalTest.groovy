@@ -1,5 +1,6 @@
 package dev.jacomet.gradle.plugins.logging
 
+import dev.jacomet.gradle.plugins.logging.fixtures.LoggingModulesRepository
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.GradleRunner
 import org.gradle.testkit.runner.TaskOutcome
@@ -16,10 +17,14 @@ abstract class AbstractLoggingCapabilitiesPluginFunctionalTest extends Specifica
     @TempDir
     Path testFolder
     File buildFile
+    File settingsFile
+    LoggingModulesRepository repository
 
     def setup() {
+        repository = new LoggingModulesRepository(testFolder.resolve('repo').toFile()).generate()
         buildFile = testFolder.resolve('build.gradle.kts').toFile()
-        testFolder.resolve('settings.gradle.kts').toFile() << 'rootProject.name = "test-project"'
+        settingsFile = testFolder.resolve('settings.gradle.kts').toFile()
+        settingsFile << 'rootProject.name = "test-project"'
     }
 
     TaskOutcome outcomeOf(BuildResult result, String path) {
@@ -47,6 +52,16 @@ abstract class AbstractLoggingCapabilitiesPluginFunctionalTest extends Specifica
         buildFile << content
     }
 
+    void withSettingsScript(String content) {
+        settingsFile.text = content
+    }
+
+    void withSubprojectBuildScript(String name, String content) {
+        def projectDir = testFolder.resolve(name).toFile()
+        projectDir.mkdirs()
+        new File(projectDir, 'build.gradle.kts') << content
+    }
+
     void withBuildScriptWithDependencies(String... dependencies) {
         buildFile << """
             plugins {
@@ -55,7 +70,7 @@ abstract class AbstractLoggingCapabilitiesPluginFunctionalTest extends Specifica
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
 
             dependencies {
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginBindingsScanFunctionalTest.testGradleVersion >= GradleVersion.version("6.0") })
+class LoggingCapabilitiesPluginBindingsScanFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "reports logging bindings of the runtime classpath"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:slf4j-api:1.7.27", "ch.qos.logback:logback-classic:1.2.3", "org.apache.logging.log4j:log4j-core:2.17.0")
+
+        when:
+        def result = build(['scanLoggingBindings'])
+
+        then:
+        outcomeOf(result, ':scanLoggingBindings') == SUCCESS
+        testFolder.resolve('build/reports/logging-capabilities/logging-bindings.txt').toFile().text == '''Slf4J 1 binding:
+  logback-classic-1.2.3.jar (ch.qos.logback:logback-classic:1.2.3)
+Slf4J 2 provider:
+  (none)
+Log4J 2 provider:
+  log4j-core-2.17.0.jar (org.apache.logging.log4j:log4j-core:2.17.0)
+'''
+    }
+
+    def "fails when a jar embeds a binding already on the runtime classpath"() {
+        given:
+        repository.module("com.acme", "vendor-all", "1.0", [], [], ["org/slf4j/impl/StaticLoggerBinder.class"])
+        withBuildScriptWithDependencies("ch.qos.logback:logback-classic:1.2.3", "com.acme:vendor-all:1.0")
+
+        when:
+        def result = buildAndFail(['scanLoggingBindings'])
+
+        then:
+        result.output.contains('Slf4J 1 binding in logback-classic-1.2.3.jar (ch.qos.logback:logback-classic:1.2.3), vendor-all-1.0.jar (com.acme:vendor-all:1.0)')
+    }
+
+    def "fails when jars with the same file name from different groups embed the same binding"() {
+        given:
+        repository.module("com.acme", "logging-all", "1.0", [], [], ["org/slf4j/impl/StaticLoggerBinder.class"])
+        repository.module("org.other", "logging-all", "1.0", [], [], ["org/slf4j/impl/StaticLoggerBinder.class"])
+        withBuildScriptWithDependencies("com.acme:logging-all:1.0", "org.other:logging-all:1.0")
+
+        when:
+        def result = buildAndFail(['scanLoggingBindings'])
+
+        then:
+        result.output.contains('Slf4J 1 binding in logging-all-1.0.jar (com.acme:logging-all:1.0), logging-all-1.0.jar (org.other:logging-all:1.0)')
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+@Requires({ LoggingCapabilitiesPluginBridgesPruningFunctionalTest.testGradleVersion >= GradleVersion.version("6.4") })
+class LoggingCapabilitiesPluginBridgesPruningFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "prunes the bridges of APIs nothing references when enabled"() {
+        given:
+        withMainClass()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+                ${prune ? 'pruneUnusedBridges()' : ''}
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                implementation("commons-logging:commons-logging:1.2")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.slf4j:jul-to-slf4j:1.7.27")
+                runtimeOnly("org.slf4j:log4j-over-slf4j:1.7.27")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('jul-to-slf4j-1.7.27.jar')
+        result.output.contains('jcl-over-slf4j-1.7.27.jar') == !prune
+        result.output.contains('log4j-over-slf4j-1.7.27.jar') == !prune
+
+        where:
+        prune << [true, false]
+    }
+
+    def "only scans the main classes for the exec tasks"() {
+        given:
+        withMainClass()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+                pruneUnusedBridges()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.slf4j:log4j-over-slf4j:1.7.27")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        outcomeOf(result, ':findUnusedLoggingBridges') != null
+        outcomeOf(result, ':findUnusedTestLoggingBridges') == null
+        outcomeOf(result, ':compileTestJava') == null
+    }
+
+    def "keeps the bridges whose own classes are referenced"() {
+        given:
+        withMainClass("""
+            try {
+                Class.forName("org.slf4j.bridge.SLF4JBridgeHandler").getMethod("install").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // The bridges of the test repository have no classes
+            }
+        """)
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+                pruneUnusedBridges()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.slf4j:jul-to-slf4j:1.7.27")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('jul-to-slf4j-1.7.27.jar')
+    }
+
+    def "keeps the bridge called by the java.util.logging routing"() {
+        given:
+        withMainClass('')
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+                routeJavaUtilLogging()
+                pruneUnusedBridges()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.slf4j:jul-to-slf4j:1.7.27")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('jul-to-slf4j-1.7.27.jar')
+    }
+
+    private void withMainClass() {
+        withMainClass('java.util.logging.Logger.getLogger("demo");')
+    }
+
+    private void withMainClass(String logging) {
+        def sourceDir = testFolder.resolve('src/main/java/demo').toFile()
+        sourceDir.mkdirs()
+        new File(sourceDir, 'Main.java') << """
+            package demo;
+
+            import java.io.File;
+
+            public class Main {
+                public static void main(String[] args) {
+                    ${logging}
+                    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                        System.out.println(new File(entry).getName());
+                    }
+                }
+            }
+        """
+    }
+}
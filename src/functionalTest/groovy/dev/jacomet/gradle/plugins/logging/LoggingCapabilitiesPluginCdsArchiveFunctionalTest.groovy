@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import spock.lang.Requires
+
+@Requires({ jvm.isJava11Compatible() })
+class LoggingCapabilitiesPluginCdsArchiveFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "exec tasks load the logging classes from the archive"() {
+        given:
+        withMainClass()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                archiveLoggingClasses()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:2.0.9")
+                runtimeOnly("ch.qos.logback:logback-classic:1.4.14")
+            }
+
+            tasks.named<JavaExec>("run") {
+                jvmArgs("-Xlog:class+load=info")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('org.slf4j.LoggerFactory source: shared objects file')
+        result.output.contains('ch.qos.logback.classic.LoggerContext source: shared objects file')
+    }
+
+    def "test tasks do not get an archive"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                archiveLoggingClasses()
+            }
+        """)
+
+        when:
+        def result = build(['test'])
+
+        then:
+        outcomeOf(result, ':generateTestLoggingCdsArchive') == null
+    }
+
+    private void withMainClass() {
+        def sourceDir = testFolder.resolve('src/main/java/demo').toFile()
+        sourceDir.mkdirs()
+        new File(sourceDir, 'Main.java') << """
+            package demo;
+
+            public class Main {
+                public static void main(String[] args) {
+                    org.slf4j.LoggerFactory.getLogger(Main.class).info("started");
+                }
+            }
+        """
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+import spock.lang.Unroll
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginConfigurationCacheFunctionalTest.testGradleVersion >= GradleVersion.version("7.0") })
+class LoggingCapabilitiesPluginConfigurationCacheFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    static final List<String> ALL_LOGGING_DEPENDENCIES = [
+            "org.slf4j:slf4j-api:1.7.27", "org.apache.logging.log4j:log4j-api:2.12.1", "log4j:log4j:1.2.17", "commons-logging:commons-logging:1.2",
+            "org.apache.logging.log4j:log4j-slf4j-impl:2.12.1", "ch.qos.logback:logback-classic:1.2.3", "org.slf4j:slf4j-simple:1.7.27",
+            "org.slf4j:slf4j-log4j12:1.7.27", "org.slf4j:log4j-over-slf4j:1.7.27", "org.slf4j:jul-to-slf4j:1.7.27", "org.slf4j:slf4j-jdk14:1.7.27",
+            "org.slf4j:slf4j-jcl:1.7.27", "org.slf4j:jcl-over-slf4j:1.7.27", "org.apache.logging.log4j:log4j-jul:2.12.1",
+            "org.apache.logging.log4j:log4j-1.2-api:2.12.1", "org.apache.logging.log4j:log4j-to-slf4j:2.12.1", "org.apache.logging.log4j:log4j-jcl:2.12.1"
+    ]
+
+    void withConfigurationCacheCompatibleBuildScript(String selection, List<String> dependencies) {
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                $selection
+            }
+
+            dependencies {
+${dependencies.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
+            }
+
+            tasks.register("doIt") {
+                val runtimeClasspath: FileCollection = configurations["runtimeClasspath"]
+                doLast {
+                    println(runtimeClasspath.files.map { it.name })
+                }
+            }
+""")
+    }
+
+    @Unroll
+    def "configuration cache is reused with #selection"() {
+        given:
+        withConfigurationCacheCompatibleBuildScript(selection, dependencies)
+
+        when:
+        def first = build(['doIt', '--configuration-cache'])
+
+        then:
+        outcomeOf(first, ':doIt') == SUCCESS
+        first.output.contains(selected)
+
+        when:
+        def second = build(['doIt', '--configuration-cache'])
+
+        then:
+        outcomeOf(second, ':doIt') == SUCCESS
+        second.output.contains("Reusing configuration cache.")
+        second.output.contains(selected)
+
+        where:
+        selection                                                                            | dependencies                                                                                             | selected
+        'selectSlf4JBinding("ch.qos.logback:logback-classic:1.2.3")'                         | ["org.slf4j:slf4j-simple:1.7.27", "ch.qos.logback:logback-classic:1.2.3"]                                | "logback-classic-1.2.3.jar"
+        'selectSlf4JBinding("runtimeClasspath", "ch.qos.logback:logback-classic:1.2.3")'     | ["org.slf4j:slf4j-simple:1.7.27", "ch.qos.logback:logback-classic:1.2.3"]                                | "logback-classic-1.2.3.jar"
+        'selectLog4J2Implementation("org.apache.logging.log4j:log4j-core:2.12.1")'           | ["org.apache.logging.log4j:log4j-core:2.12.1", "org.apache.logging.log4j:log4j-to-slf4j:2.12.1"]         | "log4j-core-2.12.1.jar"
+        'selectLog4J12Implementation("org.slf4j:log4j-over-slf4j:1.7.27")'                   | ["log4j:log4j:1.2.17", "org.slf4j:log4j-over-slf4j:1.7.27"]                                              | "log4j-over-slf4j-1.7.27.jar"
+        'selectJulDelegation("org.slf4j:jul-to-slf4j:1.7.27")'                               | ["org.slf4j:jul-to-slf4j:1.7.27", "org.slf4j:slf4j-jdk14:1.7.27"]                                        | "jul-to-slf4j-1.7.27.jar"
+        'selectJCLImplementation("org.slf4j:jcl-over-slf4j:1.7.27")'                         | ["commons-logging:commons-logging:1.2", "org.slf4j:jcl-over-slf4j:1.7.27"]                               | "jcl-over-slf4j-1.7.27.jar"
+        'selectSlf4JLog4J2Interaction("org.apache.logging.log4j:log4j-to-slf4j:2.12.1")'     | ["org.apache.logging.log4j:log4j-slf4j-impl:2.12.1", "org.apache.logging.log4j:log4j-to-slf4j:2.12.1"]   | "log4j-to-slf4j-2.12.1.jar"
+        'enforceLogback()'                                                                   | ALL_LOGGING_DEPENDENCIES                                                                                 | "logback-classic-1.2.3.jar"
+        'enforceLogback("runtimeClasspath")'                                                 | ALL_LOGGING_DEPENDENCIES                                                                                 | "logback-classic-1.2.3.jar"
+        'enforceSlf4JSimple()'                                                               | ALL_LOGGING_DEPENDENCIES                                                                                 | "slf4j-simple-1.7.27.jar"
+        'enforceLog4J2()'                                                                    | ALL_LOGGING_DEPENDENCIES                                                                                 | "log4j-slf4j-impl-2.12.1.jar"
+        'enforceLog4J2("runtimeClasspath")'                                                  | ALL_LOGGING_DEPENDENCIES                                                                                 | "log4j-slf4j-impl-2.12.1.jar"
+    }
+
+    @Requires({ LoggingCapabilitiesPluginConfigurationCacheFunctionalTest.testGradleVersion >= GradleVersion.version("8.0") })
+    def "settings plugin is compatible with isolated projects"() {
+        given:
+        withSettingsScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities-settings")
+            }
+
+            rootProject.name = "test-project"
+            include("a")
+
+            dependencyResolutionManagement {
+                repositories {
+                    ${repository.declaration}
+                }
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+            }
+        """)
+        withSubprojectBuildScript("a", """
+            plugins {
+                `java-library`
+            }
+
+            dependencies {
+${ALL_LOGGING_DEPENDENCIES.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
+            }
+
+            tasks.register("doIt") {
+                val runtimeClasspath: FileCollection = configurations["runtimeClasspath"]
+                doLast {
+                    println(runtimeClasspath.files.map { it.name })
+                }
+            }
+        """)
+
+        when:
+        def first = build([':a:doIt', '-Dorg.gradle.unsafe.isolated-projects=true'])
+
+        then:
+        outcomeOf(first, ':a:doIt') == SUCCESS
+        first.output.contains("logback-classic-1.2.3.jar")
+
+        when:
+        def second = build([':a:doIt', '-Dorg.gradle.unsafe.isolated-projects=true'])
+
+        then:
+        outcomeOf(second, ':a:doIt') == SUCCESS
+        second.output.contains("Reusing configuration cache.")
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import java.util.zip.ZipFile
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginLog4J2PluginsFunctionalTest.testGradleVersion >= GradleVersion.version("6.0") })
+class LoggingCapabilitiesPluginLog4J2PluginsFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+    static final String PLUGINS_PATH = "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat"
+
+    def "merges the plugin caches of the project and of its runtime classpath"() {
+        given:
+        withPluginCaches()
+
+        when:
+        def result = build(['mergeLog4J2Plugins'])
+
+        then:
+        outcomeOf(result, ':mergeLog4J2Plugins') == SUCCESS
+        def merged = readPluginCache(testFolder.resolve("build/generated/resources/log4j2-plugins/${PLUGINS_PATH}").toFile().bytes)
+        // The plugins of the project win over the ones of its dependencies
+        merged == [core: [console: "demo.Console", kafka: "com.acme.appenders.Kafka", local: "demo.Local"], lookup: [custom: "demo.CustomLookup"]]
+    }
+
+    def "the merged cache replaces the caches of the bundled jars in a fat jar"() {
+        given:
+        withPluginCaches()
+
+        when:
+        build(['fatJar'])
+
+        then:
+        def fatJar = new ZipFile(testFolder.resolve('build/libs/test-project-all.jar').toFile())
+        def entries = fatJar.entries().findAll { it.name == PLUGINS_PATH }
+        entries.size() == 1
+        readPluginCache(fatJar.getInputStream(entries[0]).bytes) == [core: [console: "demo.Console", kafka: "com.acme.appenders.Kafka", local: "demo.Local"], lookup: [custom: "demo.CustomLookup"]]
+
+        cleanup:
+        fatJar?.close()
+    }
+
+    private void withPluginCaches() {
+        repository.module("com.acme", "appenders", "1.0", [], [], [], [(PLUGINS_PATH): pluginCache(core: [
+                console: "com.acme.appenders.Console",
+                kafka  : "com.acme.appenders.Kafka"
+        ])])
+        def resourcesDir = testFolder.resolve("src/main/resources/${PLUGINS_PATH}").toFile().parentFile
+        resourcesDir.mkdirs()
+        new File(resourcesDir, 'Log4j2Plugins.dat').bytes = pluginCache(core: [
+                console: "demo.Console",
+                local  : "demo.Local"
+        ], lookup: [
+                custom: "demo.CustomLookup"
+        ])
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-core:2.17.0")
+                runtimeOnly("com.acme:appenders:1.0")
+            }
+
+            tasks.register<Jar>("fatJar") {
+                archiveClassifier.set("all")
+                from(tasks.named("mergeLog4J2Plugins"))
+                from(sourceSets.main.map { it.output }) {
+                    exclude("${PLUGINS_PATH}")
+                }
+                from(configurations.runtimeClasspath.map { classpath -> classpath.map { zipTree(it) } }) {
+                    exclude("${PLUGINS_PATH}")
+                }
+            }
+        """)
+    }
+
+    /**
+     * Writes a plugin cache in the format of the Log4J 2 annotation processor, from the plugin class names by key of each category.
+     */
+    private static byte[] pluginCache(Map<String, Map<String, String>> categories) {
+        def bytes = new ByteArrayOutputStream()
+        new DataOutputStream(bytes).withCloseable { out ->
+            out.writeInt(categories.size())
+            categories.each { category, plugins ->
+                out.writeUTF(category)
+                out.writeInt(plugins.size())
+                plugins.each { key, className ->
+                    out.writeUTF(key)
+                    out.writeUTF(className)
+                    out.writeUTF(key)
+                    out.writeBoolean(true)
+                    out.writeBoolean(false)
+                }
+            }
+        }
+        bytes.toByteArray()
+    }
+
+    private static Map<String, Map<String, String>> readPluginCache(byte[] cache) {
+        def categories = [:]
+        new DataInputStream(new ByteArrayInputStream(cache)).withCloseable { input ->
+            int categoryCount = input.readInt()
+            categoryCount.times {
+                def plugins = [:]
+                categories[input.readUTF()] = plugins
+                int pluginCount = input.readInt()
+                pluginCount.times {
+                    String key = input.readUTF()
+                    plugins[key] = input.readUTF()
+                    input.readUTF()
+                    input.readBoolean()
+                    input.readBoolean()
+                }
+            }
+        }
+        categories
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginLogbackModelFunctionalTest.testGradleVersion >= GradleVersion.version("6.4") })
+class LoggingCapabilitiesPluginLogbackModelFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "compiles the Logback configuration only when logback is enforced"() {
+        given:
+        withMainClass()
+        withLogbackConfiguration()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                ${enforce ? 'enforceLogback()' : ''}
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        outcomeOf(result, ':compileLogbackConfiguration') == (enforce ? SUCCESS : null)
+        // Logback 1.2 cannot load a serialized model, so none is packaged nor passed
+        result.output.contains('logback.scmoFile=null')
+        result.output.contains('logback.scmo=false')
+
+        where:
+        enforce << [true, false]
+    }
+
+    def "does not add the Logback model to the resources"() {
+        given:
+        withMainClass()
+        withLogbackConfiguration()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = build(['jar'])
+
+        then:
+        outcomeOf(result, ':processResources') == SUCCESS
+        outcomeOf(result, ':compileLogbackConfiguration') == null
+    }
+
+    private void withLogbackConfiguration() {
+        def resourcesDir = testFolder.resolve('src/main/resources').toFile()
+        resourcesDir.mkdirs()
+        new File(resourcesDir, 'logback.xml') << """<configuration>
+            <appender name="CONSOLE" class="ch.qos.logback.core.ConsoleAppender"/>
+            <root level="info">
+                <appender-ref ref="CONSOLE"/>
+            </root>
+        </configuration>"""
+    }
+
+    private void withMainClass() {
+        def sourceDir = testFolder.resolve('src/main/java/demo').toFile()
+        sourceDir.mkdirs()
+        new File(sourceDir, 'Main.java') << """
+            package demo;
+
+            public class Main {
+                public static void main(String[] args) {
+                    System.out.println("logback.scmoFile=" + System.getProperty("logback.scmoFile"));
+                    System.out.println("logback.scmo=" + (Main.class.getResource("/logback.scmo") != null));
+                }
+            }
+        """
+    }
+}
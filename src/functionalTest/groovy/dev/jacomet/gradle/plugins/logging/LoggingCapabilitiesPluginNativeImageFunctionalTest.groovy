@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginNativeImageFunctionalTest.testGradleVersion >= GradleVersion.version("6.0") })
+class LoggingCapabilitiesPluginNativeImageFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+    static final String METADATA_PATH = "build/resources/main/META-INF/native-image/dev.jacomet.logging-capabilities/test-project"
+
+    def "adds the native image metadata of the enforced logging modules to the main resources"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+                generateNativeImageMetadata()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("org.slf4j:slf4j-simple:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = build(['processResources'])
+
+        then:
+        outcomeOf(result, ':generateLoggingNativeImageMetadata') == SUCCESS
+        def reflectConfig = testFolder.resolve("${METADATA_PATH}/reflect-config.json").toFile().text
+        reflectConfig.contains('"name": "ch.qos.logback.classic.spi.LogbackServiceProvider"')
+        // slf4j-simple is declared, but Logback is enforced over it
+        !reflectConfig.contains('org.slf4j.simple')
+        testFolder.resolve("${METADATA_PATH}/resource-config.json").toFile().text.contains('\\\\Qlogback.xml\\\\E')
+    }
+
+    def "does not generate native image metadata unless enabled"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:slf4j-api:1.7.27", "ch.qos.logback:logback-classic:1.2.3")
+
+        when:
+        def result = build(['processResources'])
+
+        then:
+        result.task(':generateLoggingNativeImageMetadata') == null
+        !testFolder.resolve(METADATA_PATH).toFile().exists()
+    }
+}
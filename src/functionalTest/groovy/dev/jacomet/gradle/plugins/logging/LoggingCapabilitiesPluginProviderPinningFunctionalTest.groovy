@@ -0,0 +1,251 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+@Requires({ LoggingCapabilitiesPluginProviderPinningFunctionalTest.testGradleVersion >= GradleVersion.version("6.4") })
+class LoggingCapabilitiesPluginProviderPinningFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "pins the logging providers of the exec tasks when enabled"() {
+        given:
+        withMainClass()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                ${pin ? 'pinLoggingProviders()' : ''}
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-jul:2.17.0")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('log4j2.loggerContextFactory=org.apache.logging.log4j.core.impl.Log4jContextFactory') == pin
+        result.output.contains('java.util.logging.manager=org.apache.logging.log4j.jul.LogManager') == pin
+        result.output.contains('log4j2.component.properties=true') == pin
+
+        where:
+        pin << [true, false]
+    }
+
+    def "merges the log4j2.component.properties of the project into the generated one"() {
+        given:
+        withMainClass()
+        def resourcesDir = testFolder.resolve('src/main/resources').toFile()
+        resourcesDir.mkdirs()
+        new File(resourcesDir, 'log4j2.component.properties') << """
+            log4j2.statusLoggerLevel = WARN
+            log4j2.loggerContextFactory = custom.ContextFactory
+        """.stripIndent()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                pinLoggingProviders()
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.0")
+            }
+        """)
+
+        when:
+        build(['jar'])
+        def properties = new Properties()
+        new java.util.zip.ZipFile(testFolder.resolve('build/libs').toFile().listFiles()[0]).withCloseable { jar ->
+            properties.load(jar.getInputStream(jar.getEntry('log4j2.component.properties')))
+        }
+
+        then:
+        properties.getProperty('log4j2.statusLoggerLevel') == 'WARN'
+        properties.getProperty('log4j2.loggerContextFactory') == 'org.apache.logging.log4j.core.impl.Log4jContextFactory'
+    }
+
+    def "routes java.util.logging in the exec tasks when enabled"() {
+        given:
+        withMainClass()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                routeJavaUtilLogging()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("org.slf4j:jul-to-slf4j:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = build(['run'])
+
+        then:
+        result.output.contains('java.util.logging.config.class=dev.jacomet.gradle.plugins.logging.runtime.JulToSlf4JConfiguration')
+        result.output.contains('jul.configuration.class=true')
+        // The configuration class is only on the classpath of the task, not in the resources
+        !testFolder.resolve('build/resources/main/dev').toFile().exists()
+        // Routing does not pin the providers
+        result.output.contains('java.util.logging.manager=null')
+    }
+
+    def "routes java.util.logging records to logback in the exec and test tasks"() {
+        given:
+        withJulLoggingClasses()
+        withBuildScript("""
+            plugins {
+                `java-library`
+                application
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            application {
+                mainClass.set("demo.Main")
+            }
+
+            loggingCapabilities {
+                routeJavaUtilLogging()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:2.0.9")
+                runtimeOnly("org.slf4j:jul-to-slf4j:2.0.9")
+                runtimeOnly("ch.qos.logback:logback-classic:1.4.14")
+                testImplementation("junit:junit:4.13.2")
+            }
+
+            tasks.test {
+                testLogging.showStandardStreams = true
+            }
+        """)
+
+        when:
+        def result = build(['run', 'test'])
+
+        then:
+        result.output.contains('LOGBACK demo.jul from the exec task')
+        result.output.contains('LOGBACK demo.jul from the test worker')
+    }
+
+    private void withJulLoggingClasses() {
+        def resourcesDir = testFolder.resolve('src/main/resources').toFile()
+        resourcesDir.mkdirs()
+        new File(resourcesDir, 'logback.xml') << """<configuration>
+            <appender name="CONSOLE" class="ch.qos.logback.core.ConsoleAppender">
+                <encoder>
+                    <pattern>LOGBACK %logger %msg%n</pattern>
+                </encoder>
+            </appender>
+            <root level="info">
+                <appender-ref ref="CONSOLE"/>
+            </root>
+        </configuration>"""
+        def sourceDir = testFolder.resolve('src/main/java/demo').toFile()
+        sourceDir.mkdirs()
+        new File(sourceDir, 'Main.java') << """
+            package demo;
+
+            public class Main {
+                public static void main(String[] args) {
+                    java.util.logging.Logger.getLogger("demo.jul").info("from the exec task");
+                }
+            }
+        """
+        def testSourceDir = testFolder.resolve('src/test/java/demo').toFile()
+        testSourceDir.mkdirs()
+        new File(testSourceDir, 'MainTest.java') << """
+            package demo;
+
+            import org.junit.Test;
+
+            public class MainTest {
+                @Test
+                public void logsThroughJavaUtilLogging() {
+                    java.util.logging.Logger.getLogger("demo.jul").info("from the test worker");
+                }
+            }
+        """
+    }
+
+    private void withMainClass() {
+        def sourceDir = testFolder.resolve('src/main/java/demo').toFile()
+        sourceDir.mkdirs()
+        new File(sourceDir, 'Main.java') << """
+            package demo;
+
+            public class Main {
+                public static void main(String[] args) {
+                    System.out.println("log4j2.loggerContextFactory=" + System.getProperty("log4j2.loggerContextFactory"));
+                    System.out.println("java.util.logging.manager=" + System.getProperty("java.util.logging.manager"));
+                    System.out.println("log4j2.component.properties=" + (Main.class.getResource("/log4j2.component.properties") != null));
+                    System.out.println("java.util.logging.config.class=" + System.getProperty("java.util.logging.config.class"));
+                    System.out.println("jul.configuration.class=" + (Main.class.getResource("/dev/jacomet/gradle/plugins/logging/runtime/JulToSlf4JConfiguration.class") != null));
+                }
+            }
+        """
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+class LoggingCapabilitiesPluginPublicationFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "publishes the logging capabilities of a stand-in module along with the project capability"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                `maven-publish`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            group = "com.acme"
+            version = "1.0"
+
+            loggingCapabilities {
+                publishLoggingCapabilitiesOf("ch.qos.logback:logback-classic:1.2.3")
+                publishLoggingCapabilitiesOf("org.apache.logging.log4j:log4j-core:2.17.0")
+            }
+
+            publishing {
+                publications {
+                    create<MavenPublication>("library") {
+                        from(components["java"])
+                    }
+                }
+                repositories {
+                    maven {
+                        url = uri("build/published")
+                    }
+                }
+            }
+        """)
+
+        when:
+        build(['publishLibraryPublicationToMavenRepository'])
+
+        then:
+        def metadata = testFolder.resolve('build/published/com/acme/test-project/1.0/test-project-1.0.module').toFile().text
+        metadata.contains('"group": "dev.jacomet.logging"')
+        metadata.contains('"name": "slf4j-impl"')
+        // Versioned capabilities get the version of the stood-in module, not the one of the library
+        metadata =~ /"name": "log4j2-impl",\s+"version": "2\.17\.0"/
+        metadata.contains('"group": "com.acme"')
+        metadata.contains('"name": "test-project"')
+    }
+
+    def "requires the version of the stood-in module"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            loggingCapabilities {
+                publishLoggingCapabilitiesOf("ch.qos.logback:logback-classic")
+            }
+        """)
+
+        when:
+        def result = buildAndFail(['help'])
+
+        then:
+        result.output.contains("Provided dependency 'ch.qos.logback:logback-classic' must have the version of the module the library stands in for")
+    }
+
+    def "fails when the version of the project is not set"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            loggingCapabilities {
+                publishLoggingCapabilitiesOf("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = buildAndFail(['help'])
+
+        then:
+        result.output.contains("Cannot publish the logging capabilities of [ch.qos.logback:logback-classic] as the version of root project 'test-project' is not set")
+    }
+
+    def "rejects a module unknown to the plugin"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            loggingCapabilities {
+                publishLoggingCapabilitiesOf("com.google.guava:guava")
+            }
+        """)
+
+        when:
+        def result = buildAndFail(['help'])
+
+        then:
+        result.output.contains("Provided dependency 'com.google.guava:guava' is not a logging module known by the plugin")
+    }
+}
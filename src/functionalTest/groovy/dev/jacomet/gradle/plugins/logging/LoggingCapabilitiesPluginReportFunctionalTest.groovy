@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.FROM_CACHE
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+import static org.gradle.testkit.runner.TaskOutcome.UP_TO_DATE
+
+@Requires({ LoggingCapabilitiesPluginReportFunctionalTest.testGradleVersion >= GradleVersion.version("6.0") })
+class LoggingCapabilitiesPluginReportFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "reports logging modules and resolved capability conflicts"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                implementation("commons-logging:commons-logging:1.2")
+                runtimeOnly("org.slf4j:slf4j-simple:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+
+        when:
+        def result = build(['loggingReport'])
+
+        then:
+        outcomeOf(result, ':loggingReport') == SUCCESS
+        def report = testFolder.resolve('build/reports/logging-capabilities/logging-report.txt').toFile().text
+        def runtimeClasspath = report.substring(report.indexOf('Configuration runtimeClasspath'), report.indexOf('Configuration testAnnotationProcessor'))
+        runtimeClasspath.contains('''  Logging APIs:
+    org.slf4j:slf4j-api:1.7.27
+  Bridges:
+    org.slf4j:jcl-over-slf4j:1.7.27
+  Backends:
+    ch.qos.logback:logback-classic:1.2.3
+''')
+        runtimeClasspath.contains('dev.jacomet.logging:slf4j-impl -> ch.qos.logback:logback-classic:1.2.3')
+        !runtimeClasspath.contains('slf4j-simple')
+        report.contains('''Configuration compileClasspath
+  Logging APIs:
+    org.slf4j:slf4j-api:1.7.27
+''')
+    }
+
+    def "report is loaded from the build cache and displayed on every run"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:slf4j-simple:1.7.27", "ch.qos.logback:logback-classic:1.2.3")
+        buildFile << """
+            loggingCapabilities {
+                selectSlf4JBinding("org.slf4j:slf4j-simple:1.7.27")
+            }
+        """
+        build(['loggingReport', '--build-cache'])
+        testFolder.resolve('build').toFile().deleteDir()
+
+        when:
+        def result = build(['loggingReport', '--build-cache'])
+
+        then:
+        outcomeOf(result, ':generateLoggingReport') == FROM_CACHE
+        outcomeOf(result, ':loggingReport') == SUCCESS
+        result.output.contains('dev.jacomet.logging:slf4j-impl -> org.slf4j:slf4j-simple:1.7.27')
+    }
+
+    def "reports configurations that are also consumable"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            val legacy = configurations.create("legacy")
+
+            dependencies {
+                "legacy"("org.slf4j:slf4j-api:1.7.27")
+            }
+        """)
+
+        when:
+        build(['loggingReport'])
+
+        then:
+        testFolder.resolve('build/reports/logging-capabilities/logging-report.txt').toFile().text.contains('''Configuration legacy
+  Logging APIs:
+    org.slf4j:slf4j-api:1.7.27
+''')
+    }
+
+    def "warns about logging routes crossing more than one bridge"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:jcl-over-slf4j:1.7.27", "org.apache.logging.log4j:log4j-slf4j-impl:2.17.0", "org.apache.logging.log4j:log4j-core:2.17.0")
+
+        when:
+        def result = build(['checkLoggingRoutes'])
+
+        then:
+        outcomeOf(result, ':checkLoggingRoutes') == SUCCESS
+        result.output.contains('runtimeClasspath: Commons Logging -> Slf4J (org.slf4j:jcl-over-slf4j) -> Log4J 2 (org.apache.logging.log4j:log4j-slf4j-impl) -> org.apache.logging.log4j:log4j-core, 2 hops')
+        testFolder.resolve('build/reports/logging-capabilities/logging-routes.txt').toFile().text.contains('Slf4J -> Log4J 2 (org.apache.logging.log4j:log4j-slf4j-impl) -> org.apache.logging.log4j:log4j-core, 1 hop')
+
+        when:
+        def rerun = build(['checkLoggingRoutes', '--build-cache'])
+
+        then:
+        outcomeOf(rerun, ':analyzeLoggingRoutes') == UP_TO_DATE
+        outcomeOf(rerun, ':checkLoggingRoutes') == SUCCESS
+        rerun.output.contains('runtimeClasspath: Commons Logging -> Slf4J (org.slf4j:jcl-over-slf4j) -> Log4J 2 (org.apache.logging.log4j:log4j-slf4j-impl) -> org.apache.logging.log4j:log4j-core, 2 hops')
+    }
+
+    def "check only runs the route check once a threshold is configured"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:jcl-over-slf4j:1.7.27", "org.apache.logging.log4j:log4j-slf4j-impl:2.17.0", "org.apache.logging.log4j:log4j-core:2.17.0")
+        if (configured) {
+            buildFile << """
+                loggingCapabilities {
+                    warnOnBridgeHopsAbove(1)
+                }
+            """
+        }
+
+        when:
+        def result = build(['check'])
+
+        then:
+        (outcomeOf(result, ':checkLoggingRoutes') == SUCCESS) == configured
+        result.output.contains('cross more than') == configured
+
+        where:
+        configured << [true, false]
+    }
+
+    def "fails the check when logging routes cross more bridges than allowed"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:jcl-over-slf4j:1.7.27", "org.apache.logging.log4j:log4j-slf4j-impl:2.17.0", "org.apache.logging.log4j:log4j-core:2.17.0")
+        buildFile << """
+            loggingCapabilities {
+                failOnBridgeHopsAbove(${maxHops})
+            }
+        """
+
+        when:
+        def result = maxHops < 2 ? buildAndFail(['check']) : build(['check'])
+
+        then:
+        result.output.contains('cross more than') == (maxHops < 2)
+
+        where:
+        maxHops << [1, 2]
+    }
+
+    def "checks the logging capabilities of all projects of the build at once"() {
+        given:
+        withSettingsScript("""
+            rootProject.name = "test-project"
+            include("app", "lib", "other")
+        """)
+        withBuildScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities")
+            }
+        """)
+        withSubprojectBuildScript("app", """
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+        withSubprojectBuildScript("lib", """
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-simple:1.7.27")
+                testRuntimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+        """)
+        withSubprojectBuildScript("other", """
+            plugins {
+                `java-library`
+            }
+        """)
+
+        when:
+        def result = buildAndFail(['checkLoggingCapabilities', '--parallel'])
+
+        then:
+        outcomeOf(result, ':app:loggingCapabilitiesSummary') == SUCCESS
+        outcomeOf(result, ':lib:loggingCapabilitiesSummary') == SUCCESS
+        result.task(':other:loggingCapabilitiesSummary') == null
+        def report = testFolder.resolve('build/reports/logging-capabilities/logging-capabilities-check.txt').toFile().text
+        report.startsWith('FAILED, logging capabilities of 2 projects')
+        report.contains(':app runtimeClasspath: ch.qos.logback:logback-classic:1.2.3')
+        report.contains(':lib runtimeClasspath: org.slf4j:slf4j-simple:1.7.27')
+        report.contains(':lib testRuntimeClasspath: FAILED, ch.qos.logback:logback-classic:1.2.3 rejected on dev.jacomet.logging:slf4j-impl')
+    }
+}
@@ -23,7 +23,7 @@ class LoggingCapabilitiesPluginSelectionFunctionalTest extends AbstractLoggingCa
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
 
             loggingCapabilities {
@@ -62,7 +62,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
             
             loggingCapabilities {
@@ -99,7 +99,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
             
             loggingCapabilities {
@@ -159,7 +159,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
             
             loggingCapabilities {
@@ -211,7 +211,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
             
             loggingCapabilities {
@@ -250,7 +250,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
 
             loggingCapabilities {
@@ -290,7 +290,7 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
             }
 
             repositories {
-                mavenCentral()
+                ${repository.declaration}
             }
             
             loggingCapabilities {
@@ -334,4 +334,213 @@ ${additional.collect { "                runtimeOnly(\"$it\")" }.join("\n")}
         then:
         outcomeOf(result, ':doIt') == SUCCESS
     }
+
+    def "can enforce logback on a configuration registered after the selection"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLogback("lateClasspath")
+            }
+
+            val lateClasspath = configurations.register("lateClasspath") {
+                isCanBeConsumed = false
+                isCanBeResolved = true
+            }
+
+            dependencies {
+                "lateClasspath"("org.slf4j:slf4j-api:1.7.27")
+                "lateClasspath"("commons-logging:commons-logging:1.2")
+                "lateClasspath"("org.slf4j:slf4j-simple:1.7.27")
+                "lateClasspath"("ch.qos.logback:logback-classic:1.2.3")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println(lateClasspath.get().files)
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        result.output.contains("logback-classic-1.2.3.jar")
+        result.output.contains("jcl-over-slf4j-1.7.27.jar")
+        !result.output.contains("commons-logging-1.2.jar")
+    }
+
+    def "can enforce the no-op binding on a single configuration when backends leak in transitively"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceNoOp("testRuntimeClasspath")
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                implementation("org.apache.logging.log4j:log4j-api:2.12.1")
+                implementation("commons-logging:commons-logging:1.2")
+
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.12.1")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println("runtime: " + configurations["runtimeClasspath"].files.map { it.name })
+                    println("test: " + configurations["testRuntimeClasspath"].files.map { it.name })
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        def runtime = result.output.readLines().find { it.startsWith("runtime: ") }
+        runtime.contains("logback-classic-1.2.3.jar")
+        runtime.contains("log4j-core-2.12.1.jar")
+        def test = result.output.readLines().find { it.startsWith("test: ") }
+        test.contains("slf4j-nop-1.7.27.jar")
+        test.contains("log4j-to-slf4j-2.12.1.jar")
+        test.contains("jcl-over-slf4j-1.7.27.jar")
+        !test.contains("logback-classic")
+        !test.contains("log4j-core")
+        !test.contains("commons-logging")
+    }
+
+    def "can enforce asynchronous Log4J 2 loggers on runtime classpaths"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLog4J2Async()
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.0")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println("runtime: " + configurations["runtimeClasspath"].files.map { it.name })
+                    println("compile: " + configurations["compileClasspath"].files.map { it.name })
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        result.output.readLines().find { it.startsWith("runtime: ") }.contains("disruptor-3.4.4.jar")
+        !result.output.readLines().find { it.startsWith("compile: ") }.contains("disruptor")
+    }
+
+    def "rejects Disruptor 4 for the asynchronous loggers of log4j-core before 2.23 only when enforced"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                ${async ? 'enforceLog4J2Async()' : ''}
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.0")
+                runtimeOnly("com.lmax:disruptor:4.0.0")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println("runtime: " + configurations["runtimeClasspath"].files.map { it.name })
+                }
+            }
+""")
+        when:
+        def result = async ? buildAndFail(['doIt']) : build(['doIt'])
+
+        then:
+        if (async) {
+            assert result.output.contains("Cannot find a version of 'com.lmax:disruptor' that satisfies the version constraints")
+        } else {
+            assert result.output.readLines().find { it.startsWith("runtime: ") }.contains("disruptor-4.0.0.jar")
+        }
+
+        where:
+        async << [true, false]
+    }
+
+    def "can enforce asynchronous Log4J 2 loggers on several configurations"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLog4J2Async("runtimeClasspath")
+                enforceLog4J2Async("testRuntimeClasspath")
+            }
+
+            dependencies {
+                implementation("org.apache.logging.log4j:log4j-api:2.17.0")
+                runtimeOnly("org.apache.logging.log4j:log4j-core:2.17.0")
+            }
+
+            tasks.register("doIt") {
+                doLast {
+                    println("runtime: " + configurations["runtimeClasspath"].files.map { it.name })
+                    println("test: " + configurations["testRuntimeClasspath"].files.map { it.name })
+                }
+            }
+""")
+        when:
+        def result = build(['doIt'])
+
+        then:
+        result.output.readLines().find { it.startsWith("runtime: ") }.contains("disruptor-3.4.4.jar")
+        result.output.readLines().find { it.startsWith("test: ") }.contains("disruptor-3.4.4.jar")
+    }
 }
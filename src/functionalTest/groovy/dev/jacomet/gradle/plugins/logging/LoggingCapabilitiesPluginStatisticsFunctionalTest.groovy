@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import groovy.json.JsonSlurper
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesPluginStatisticsFunctionalTest.testGradleVersion >= GradleVersion.version("6.2") })
+class LoggingCapabilitiesPluginStatisticsFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    def "writes rule executions and conflict resolutions when statistics are enabled"() {
+        given:
+        withBuildScript("""
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+
+            repositories {
+                ${repository.declaration}
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+            }
+
+            dependencies {
+                runtimeOnly("org.slf4j:slf4j-simple:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+
+            tasks.register("doIt") {
+                val runtimeClasspath: FileCollection = configurations["runtimeClasspath"]
+                doLast {
+                    println(runtimeClasspath.files)
+                }
+            }
+        """)
+
+        when:
+        def result = build(['doIt', '-Pdev.jacomet.logging-capabilities.statistics=true'])
+
+        then:
+        outcomeOf(result, ':doIt') == SUCCESS
+        def statistics = new JsonSlurper().parse(testFolder.resolve('build/reports/logging-capabilities/statistics.json').toFile())
+        statistics.ruleExecutions.LoggingModuleCapabilitiesRule > 0
+        def runtimeClasspath = statistics.configurations.find { it.path == ':runtimeClasspath' }
+        runtimeClasspath.conflicts == 1
+        runtimeClasspath.resolutions[0].capability == 'dev.jacomet.logging:slf4j-impl'
+        runtimeClasspath.resolutions[0].selected == 'ch.qos.logback:logback-classic'
+    }
+
+    def "does not write statistics by default"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:slf4j-simple:1.7.27")
+
+        when:
+        build(['doIt'])
+
+        then:
+        !testFolder.resolve('build/reports/logging-capabilities/statistics.json').toFile().exists()
+    }
+
+    def "writes statistics to the build directory of the root project"() {
+        given:
+        withBuildScriptWithDependencies("org.slf4j:slf4j-simple:1.7.27")
+        buildFile << """
+            layout.buildDirectory.set(layout.projectDirectory.dir("out"))
+        """
+
+        when:
+        build(['doIt', '-Pdev.jacomet.logging-capabilities.statistics=true'])
+
+        then:
+        testFolder.resolve('out/reports/logging-capabilities/statistics.json').toFile().exists()
+        !testFolder.resolve('build/reports/logging-capabilities/statistics.json').toFile().exists()
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import org.gradle.util.GradleVersion
+import spock.lang.Requires
+
+import static org.gradle.testkit.runner.TaskOutcome.FAILED
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS
+
+@Requires({ LoggingCapabilitiesSettingsPluginFunctionalTest.testGradleVersion >= GradleVersion.version("6.8") })
+class LoggingCapabilitiesSettingsPluginFunctionalTest extends AbstractLoggingCapabilitiesPluginFunctionalTest {
+
+    String subprojectBuildScript(String extra = "") {
+        """
+            plugins {
+                `java-library`
+            }
+
+            dependencies {
+                implementation("org.slf4j:slf4j-api:1.7.27")
+                implementation("commons-logging:commons-logging:1.2")
+                runtimeOnly("org.slf4j:slf4j-simple:1.7.27")
+                runtimeOnly("ch.qos.logback:logback-classic:1.2.3")
+            }
+
+            $extra
+
+            tasks.register("doIt") {
+                doLast {
+                    println("\${project.name}: \${configurations["runtimeClasspath"].files.map { it.name }}")
+                }
+            }
+        """
+    }
+
+    def "settings plugin detects conflicts in all projects"() {
+        given:
+        withSettingsScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities-settings")
+            }
+
+            rootProject.name = "test-project"
+            include("a")
+
+            dependencyResolutionManagement {
+                repositories {
+                    ${repository.declaration}
+                }
+            }
+        """)
+        withSubprojectBuildScript("a", subprojectBuildScript())
+
+        when:
+        def result = buildAndFail([':a:doIt'])
+
+        then:
+        outcomeOf(result, ':a:doIt') == FAILED
+        result.output.contains("conflict on capability 'dev.jacomet.logging:slf4j-impl:1.0'")
+    }
+
+    def "projects inherit the build wide preference and can override it"() {
+        given:
+        withSettingsScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities-settings")
+            }
+
+            rootProject.name = "test-project"
+            include("a", "b")
+
+            dependencyResolutionManagement {
+                repositories {
+                    ${repository.declaration}
+                }
+            }
+
+            loggingCapabilities {
+                enforceLogback()
+            }
+        """)
+        withSubprojectBuildScript("a", subprojectBuildScript())
+        withSubprojectBuildScript("b", subprojectBuildScript("""
+            loggingCapabilities {
+                enforceSlf4JSimple("runtimeClasspath")
+            }
+        """))
+
+        when:
+        def result = build(['doIt'])
+
+        then:
+        outcomeOf(result, ':a:doIt') == SUCCESS
+        outcomeOf(result, ':b:doIt') == SUCCESS
+        result.output.contains("a: [slf4j-api-1.7.27.jar, jcl-over-slf4j-1.7.27.jar, logback-classic-1.2.3.jar]")
+        result.output.contains("b: [slf4j-api-1.7.27.jar, jcl-over-slf4j-1.7.27.jar, slf4j-simple-1.7.27.jar]")
+    }
+
+    def "project selections for all configurations override build wide ones for a configuration"() {
+        given:
+        withSettingsScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities-settings")
+            }
+
+            rootProject.name = "test-project"
+            include("a", "b")
+
+            dependencyResolutionManagement {
+                repositories {
+                    ${repository.declaration}
+                }
+            }
+
+            loggingCapabilities {
+                enforceLogback("runtimeClasspath")
+            }
+        """)
+        withSubprojectBuildScript("a", subprojectBuildScript())
+        withSubprojectBuildScript("b", subprojectBuildScript("""
+            loggingCapabilities {
+                selectSlf4JBinding("org.slf4j:slf4j-simple:1.7.27")
+            }
+        """))
+
+        when:
+        def result = build(['doIt'])
+
+        then:
+        result.output.contains("a: [slf4j-api-1.7.27.jar, jcl-over-slf4j-1.7.27.jar, logback-classic-1.2.3.jar]")
+        // Selecting its own binding also opts the project out of the build wide substitutions
+        result.output.contains("b: [slf4j-api-1.7.27.jar, commons-logging-1.2.jar, slf4j-simple-1.7.27.jar]")
+    }
+
+    def "only projects applying the project plugin get its tasks"() {
+        given:
+        withSettingsScript("""
+            plugins {
+                id("dev.jacomet.logging-capabilities-settings")
+            }
+
+            rootProject.name = "test-project"
+            include("a", "b")
+
+            dependencyResolutionManagement {
+                repositories {
+                    ${repository.declaration}
+                }
+            }
+        """)
+        withSubprojectBuildScript("a", """
+            plugins {
+                `java-library`
+            }
+        """)
+        withSubprojectBuildScript("b", """
+            plugins {
+                `java-library`
+                id("dev.jacomet.logging-capabilities")
+            }
+        """)
+
+        when:
+        def result = build(['tasks', '--all'])
+
+        then:
+        result.output.contains("b:loggingReport")
+        !result.output.contains("a:loggingReport")
+    }
+}
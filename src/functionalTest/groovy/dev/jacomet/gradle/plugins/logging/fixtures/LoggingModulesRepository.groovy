@@ -0,0 +1,223 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.fixtures
+
+import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers
+import groovy.json.JsonOutput
+
+import java.security.MessageDigest
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+/**
+ * Generates a local Maven repository with stub modules for all the logging libraries known to the plugin.
+ * <p>
+ * Each module has a tiny POM, Gradle module metadata and an almost empty jar, with the same direct dependencies as the real module.
+ * Jars of bindings carry the same binding entries as the real ones.
+ * Tests resolving against it run offline, in milliseconds, with deterministic results.
+ */
+class LoggingModulesRepository {
+    static final List<String> SLF4J_VERSIONS = ["1.4.2", "1.5.10", "1.7.25", "1.7.27", "2.0.6"]
+    static final List<String> LOG4J2_VERSIONS = ["2.0", "2.12.1", "2.16.0", "2.17.0", "2.20.0"]
+    static final List<String> LOGBACK_VERSIONS = ["1.2.3"]
+    static final List<String> LOG4J_VERSIONS = ["1.2.9", "1.2.17"]
+    static final List<String> COMMONS_LOGGING_VERSIONS = ["1.1.1", "1.2"]
+    static final List<String> SPRING_JCL_VERSIONS = ["5.3.9"]
+    static final List<String> DISRUPTOR_VERSIONS = ["3.4.4", "4.0.0"]
+
+    static final List<String> SLF4J_MODULES = ["slf4j-simple", "slf4j-nop", "slf4j-jdk14", "slf4j-log4j12", "slf4j-jcl", "log4j-over-slf4j", "jul-to-slf4j", "jcl-over-slf4j"]
+    static final List<String> LOG4J2_MODULES = ["log4j-core", "log4j-slf4j-impl", "log4j-slf4j2-impl", "log4j-to-slf4j", "log4j-jul", "log4j-jcl", "log4j-1.2-api"]
+
+    final File root
+
+    LoggingModulesRepository(File root) {
+        this.root = root
+    }
+
+    /**
+     * Repository declaration to use in a Kotlin DSL {@code repositories} block.
+     */
+    String getDeclaration() {
+        """maven { url = uri("${root.toURI()}") }"""
+    }
+
+    LoggingModulesRepository generate() {
+        SLF4J_VERSIONS.each { version ->
+            module("org.slf4j", "slf4j-api", version)
+            SLF4J_MODULES.each { name ->
+                module("org.slf4j", name, version, slf4jDependencies(name, version))
+            }
+        }
+        LOG4J2_VERSIONS.each { version ->
+            module("org.apache.logging.log4j", "log4j-api", version)
+            LOG4J2_MODULES.each { name ->
+                module("org.apache.logging.log4j", name, version, log4j2Dependencies(name, version), name in ["log4j-slf4j-impl", "log4j-slf4j2-impl"] ? ["org.apache.logging.log4j:log4j-core:$version"] : [])
+            }
+            bom("org.apache.logging.log4j", "log4j-bom", version, (["log4j-api"] + LOG4J2_MODULES).collect { "org.apache.logging.log4j:$it:$version" })
+        }
+        LOGBACK_VERSIONS.each { version ->
+            module("ch.qos.logback", "logback-core", version)
+            module("ch.qos.logback", "logback-classic", version, ["ch.qos.logback:logback-core:$version", "org.slf4j:slf4j-api:1.7.25"])
+        }
+        LOG4J_VERSIONS.each { module("log4j", "log4j", it) }
+        COMMONS_LOGGING_VERSIONS.each { module("commons-logging", "commons-logging", it) }
+        SPRING_JCL_VERSIONS.each { module("org.springframework", "spring-jcl", it) }
+        DISRUPTOR_VERSIONS.each { module("com.lmax", "disruptor", it) }
+
+        assert LoggingModuleIdentifiers.values().every { id -> new File(root, "${id.group.replace('.', '/')}/${id.name}").directory }
+        this
+    }
+
+    private static List<String> slf4jDependencies(String name, String version) {
+        List<String> dependencies = ["org.slf4j:slf4j-api:$version".toString()]
+        if (name == "slf4j-log4j12") {
+            dependencies << "log4j:log4j:1.2.17"
+        } else if (name == "slf4j-jcl") {
+            dependencies << "commons-logging:commons-logging:1.1.1"
+        }
+        dependencies
+    }
+
+    private static List<String> bindingEntries(String group, String name, String version) {
+        if (group == "ch.qos.logback" && name == "logback-classic" || group == "org.slf4j" && name in ["slf4j-simple", "slf4j-nop", "slf4j-jdk14", "slf4j-log4j12", "slf4j-jcl"]) {
+            return version.startsWith("2.") ? ["META-INF/services/org.slf4j.spi.SLF4JServiceProvider"] : ["org/slf4j/impl/StaticLoggerBinder.class"]
+        } else if (group == "org.apache.logging.log4j" && name == "log4j-slf4j-impl") {
+            return ["org/slf4j/impl/StaticLoggerBinder.class"]
+        } else if (group == "org.apache.logging.log4j" && name == "log4j-slf4j2-impl") {
+            return ["META-INF/services/org.slf4j.spi.SLF4JServiceProvider"]
+        } else if (group == "org.apache.logging.log4j" && name in ["log4j-core", "log4j-to-slf4j"]) {
+            return ["META-INF/log4j-provider.properties"]
+        }
+        []
+    }
+
+    private static List<String> log4j2Dependencies(String name, String version) {
+        List<String> dependencies = ["org.apache.logging.log4j:log4j-api:$version".toString()]
+        if (name in ["log4j-slf4j-impl", "log4j-to-slf4j"]) {
+            dependencies << "org.slf4j:slf4j-api:1.7.25"
+        } else if (name == "log4j-slf4j2-impl") {
+            dependencies << "org.slf4j:slf4j-api:2.0.6"
+        } else if (name == "log4j-jcl") {
+            dependencies << "commons-logging:commons-logging:1.2"
+        }
+        dependencies
+    }
+
+    /**
+     * Publishes a library module, with its compile dependencies and runtime only dependencies.
+     * Its jar contains the given entries, or the binding entries of the real module if none are given, followed by the given entries with content.
+     */
+    void module(String group, String name, String version, List<String> dependencies = [], List<String> runtimeDependencies = [], List<String> entries = null,
+                Map<String, byte[]> contents = [:]) {
+        File dir = moduleDir(group, name, version)
+        String baseName = "$name-$version"
+
+        File jar = new File(dir, "${baseName}.jar")
+        writeJar(jar, entries == null ? bindingEntries(group, name, version) : entries, contents)
+
+        new File(dir, "${baseName}.pom").text = """<?xml version="1.0" encoding="UTF-8"?>
+<project xmlns="http://maven.apache.org/POM/4.0.0">
+  <!-- do_not_remove: published-with-gradle-metadata -->
+  <modelVersion>4.0.0</modelVersion>
+  <groupId>$group</groupId>
+  <artifactId>$name</artifactId>
+  <version>$version</version>
+  <dependencies>
+${dependencies.collect { pomDependency(it, "compile") }.join("\n")}
+${runtimeDependencies.collect { pomDependency(it, "runtime") }.join("\n")}
+  </dependencies>
+</project>
+"""
+
+        def file = [name: jar.name, url: jar.name, size: jar.length(), sha1: digest(jar, "SHA-1"), md5: digest(jar, "MD5")]
+        def attributes = ["org.gradle.category": "library", "org.gradle.dependency.bundling": "external", "org.gradle.libraryelements": "jar"]
+        new File(dir, "${baseName}.module").text = JsonOutput.prettyPrint(JsonOutput.toJson([
+                formatVersion: "1.1",
+                component    : [group: group, module: name, version: version, attributes: ["org.gradle.status": "release"]],
+                variants     : [
+                        [name: "apiElements", attributes: attributes + ["org.gradle.usage": "java-api"], dependencies: dependencies.collect { gmmDependency(it) }, files: [file]],
+                        [name: "runtimeElements", attributes: attributes + ["org.gradle.usage": "java-runtime"], dependencies: (dependencies + runtimeDependencies).collect { gmmDependency(it) }, files: [file]]
+                ]
+        ]))
+    }
+
+    /**
+     * Publishes a Maven BOM, which only has a POM.
+     */
+    void bom(String group, String name, String version, List<String> managed) {
+        moduleDir(group, name, version)
+        new File(moduleDir(group, name, version), "$name-${version}.pom").text = """<?xml version="1.0" encoding="UTF-8"?>
+<project xmlns="http://maven.apache.org/POM/4.0.0">
+  <modelVersion>4.0.0</modelVersion>
+  <groupId>$group</groupId>
+  <artifactId>$name</artifactId>
+  <version>$version</version>
+  <packaging>pom</packaging>
+  <dependencyManagement>
+    <dependencies>
+${managed.collect { pomDependency(it, null) }.join("\n")}
+    </dependencies>
+  </dependencyManagement>
+</project>
+"""
+    }
+
+    private File moduleDir(String group, String name, String version) {
+        File dir = new File(root, "${group.replace('.', '/')}/$name/$version")
+        dir.mkdirs()
+        dir
+    }
+
+    private static String pomDependency(String notation, String scope) {
+        def (group, name, version) = notation.split(":")
+        """    <dependency>
+      <groupId>$group</groupId>
+      <artifactId>$name</artifactId>
+      <version>$version</version>${scope ? "\n      <scope>$scope</scope>" : ""}
+    </dependency>"""
+    }
+
+    private static Map gmmDependency(String notation) {
+        def (group, name, version) = notation.split(":")
+        [group: group, module: name, version: [requires: version]]
+    }
+
+    private static void writeJar(File jar, List<String> entries, Map<String, byte[]> contents) {
+        Manifest manifest = new Manifest()
+        manifest.mainAttributes.putValue("Manifest-Version", "1.0")
+        jar.withOutputStream { out ->
+            new JarOutputStream(out, manifest).withCloseable { JarOutputStream jarOut ->
+                jarOut.putNextEntry(new JarEntry("META-INF/${jar.name}.txt"))
+                jarOut.write(jar.name.bytes)
+                jarOut.closeEntry()
+                entries.each { entry ->
+                    jarOut.putNextEntry(new JarEntry(entry))
+                    jarOut.closeEntry()
+                }
+                contents.each { entry, content ->
+                    jarOut.putNextEntry(new JarEntry(entry))
+                    jarOut.write(content)
+                    jarOut.closeEntry()
+                }
+            }
+        }
+    }
+
+    private static String digest(File file, String algorithm) {
+        MessageDigest.getInstance(algorithm).digest(file.bytes).encodeHex().toString()
+    }
+}
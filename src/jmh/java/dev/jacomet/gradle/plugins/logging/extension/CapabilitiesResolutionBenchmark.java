@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension;
+
+import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2vsSlf4J;
+import dev.jacomet.gradle.plugins.logging.rules.Slf4JImplementation;
+import dev.jacomet.gradle.plugins.logging.stubs.GradleApiStubs.StubCapabilitiesResolution;
+import dev.jacomet.gradle.plugins.logging.stubs.GradleApiStubs.StubCapabilityResolutionDetails;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the capabilities resolution action, registered once per resolved configuration, and the answer to a conflict.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CapabilitiesResolutionBenchmark {
+    private static final String CONFIGURATION = "runtimeClasspath";
+
+    private final CapabilitySelections selections = new CapabilitySelections();
+    private final StubCapabilitiesResolution resolution = new StubCapabilitiesResolution();
+    private final StubCapabilityResolutionDetails slf4JImplementationConflict = new StubCapabilityResolutionDetails(
+            "org.slf4j:slf4j-simple:1.7.30", "org.apache.logging.log4j:log4j-slf4j-impl:2.17.1", "ch.qos.logback:logback-classic:1.2.3");
+    private final StubCapabilityResolutionDetails perConfigurationConflict = new StubCapabilityResolutionDetails(
+            "org.apache.logging.log4j:log4j-slf4j-impl:2.17.1", "org.apache.logging.log4j:log4j-to-slf4j:2.17.1");
+    private Action<? super CapabilityResolutionDetails> slf4JImplementationAction;
+    private Action<? super CapabilityResolutionDetails> log4J2vsSlf4JAction;
+
+    @Setup
+    public void setup() {
+        // Same selections as `enforceLogback()`, plus a per configuration one
+        selections.select(Slf4JImplementation.CAPABILITY_ID, "ch.qos.logback", "logback-classic", "Logback is enforced");
+        selections.select(Log4J2vsSlf4J.CAPABILITY_ID, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.group, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.name, "Logback is enforced");
+        selections.select(CONFIGURATION, Log4J2vsSlf4J.CAPABILITY_ID, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.group, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.name, "Log4J 2 is selected for tests");
+        selections.enforceSlf4J();
+
+        selections.resolutionFor(CONFIGURATION).execute(resolution);
+        slf4JImplementationAction = resolution.actionFor(Slf4JImplementation.CAPABILITY_ID);
+        log4J2vsSlf4JAction = resolution.actionFor(Log4J2vsSlf4J.CAPABILITY_ID);
+    }
+
+    @Benchmark
+    public int registerResolution() {
+        selections.resolutionFor(CONFIGURATION).execute(resolution);
+        return resolution.getRegistrations();
+    }
+
+    @Benchmark
+    public ComponentVariantIdentifier resolveConflict() {
+        slf4JImplementationAction.execute(slf4JImplementationConflict);
+        return slf4JImplementationConflict.getSelected();
+    }
+
+    @Benchmark
+    public ComponentVariantIdentifier resolvePerConfigurationConflict() {
+        log4J2vsSlf4JAction.execute(perConfigurationConflict);
+        return perConfigurationConflict.getSelected();
+    }
+}
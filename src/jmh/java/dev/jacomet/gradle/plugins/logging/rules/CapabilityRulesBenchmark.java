@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.rules;
+
+import dev.jacomet.gradle.plugins.logging.stubs.GradleApiStubs.StubComponentMetadataContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the component metadata rules, which run once per component and per resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CapabilityRulesBenchmark {
+
+    private final LoggingModuleCapabilitiesRule moduleCapabilitiesRule = new LoggingModuleCapabilitiesRule();
+    private final FixedCapabilityRule fixedCapabilityRule = new Slf4JImplementation();
+    private final VersionedCapabilityRule versionedCapabilityRule = new Slf4JvsLog4J();
+    private final Slf4JAlignment slf4JAlignment = new Slf4JAlignment(Collections.emptySet());
+    private final Log4J2Alignment log4J2Alignment = new Log4J2Alignment(Collections.emptySet());
+
+    // Module with the most capabilities
+    private final StubComponentMetadataContext jclOverSlf4J = new StubComponentMetadataContext("org.slf4j", "jcl-over-slf4j", "1.7.30");
+    private final StubComponentMetadataContext logbackClassic = new StubComponentMetadataContext("ch.qos.logback", "logback-classic", "1.2.3");
+    private final StubComponentMetadataContext log4JCore = new StubComponentMetadataContext("org.apache.logging.log4j", "log4j-core", "2.17.1");
+    // Most components of a graph are not logging modules
+    private final StubComponentMetadataContext unrelated = new StubComponentMetadataContext("com.google.guava", "guava", "31.1-jre");
+
+    @Benchmark
+    public int moduleCapabilitiesRule() {
+        moduleCapabilitiesRule.execute(jclOverSlf4J);
+        return jclOverSlf4J.getCapabilitiesAdded();
+    }
+
+    @Benchmark
+    public int moduleCapabilitiesRuleOnUnrelatedModule() {
+        moduleCapabilitiesRule.execute(unrelated);
+        return unrelated.getCapabilitiesAdded();
+    }
+
+    @Benchmark
+    public int fixedCapabilityRule() {
+        fixedCapabilityRule.execute(logbackClassic);
+        return logbackClassic.getCapabilitiesAdded();
+    }
+
+    @Benchmark
+    public int versionedCapabilityRule() {
+        versionedCapabilityRule.execute(jclOverSlf4J);
+        return jclOverSlf4J.getCapabilitiesAdded();
+    }
+
+    @Benchmark
+    public int slf4JAlignment() {
+        slf4JAlignment.execute(jclOverSlf4J);
+        return jclOverSlf4J.getPlatforms();
+    }
+
+    @Benchmark
+    public int log4J2Alignment() {
+        log4J2Alignment.execute(log4JCore);
+        return log4JCore.getPlatforms();
+    }
+
+    @Benchmark
+    public int alignmentOnUnrelatedModule() {
+        slf4JAlignment.execute(unrelated);
+        log4J2Alignment.execute(unrelated);
+        return unrelated.getPlatforms();
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.stubs;
+
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.CapabilitiesResolution;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
+import org.gradle.api.artifacts.DependencyConstraintsMetadata;
+import org.gradle.api.artifacts.DirectDependenciesMetadata;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.MutableVariantFilesMetadata;
+import org.gradle.api.artifacts.VariantMetadata;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.attributes.AttributeContainer;
+import org.gradle.api.capabilities.CapabilitiesMetadata;
+import org.gradle.api.capabilities.Capability;
+import org.gradle.api.capabilities.MutableCapabilitiesMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal implementations of the Gradle metadata and capability APIs used by the plugin.
+ * <p>
+ * They only count what the code under measurement does, and never allocate once created,
+ * so that the allocations reported by the benchmarks are those of the plugin.
+ * Operations the plugin does not use throw {@link UnsupportedOperationException}.
+ */
+public final class GradleApiStubs {
+
+    private GradleApiStubs() {
+    }
+
+    /**
+     * Component metadata context, and its details, for a module with an API and a runtime variant.
+     */
+    public static final class StubComponentMetadataContext implements ComponentMetadataContext, ComponentMetadataDetails, ModuleVersionIdentifier, ModuleIdentifier {
+        private final String group;
+        private final String name;
+        private final String version;
+        private final StubVariantMetadata[] variants = {new StubVariantMetadata(), new StubVariantMetadata()};
+        private int platforms;
+
+        public StubComponentMetadataContext(String group, String name, String version) {
+            this.group = group;
+            this.name = name;
+            this.version = version;
+        }
+
+        public int getCapabilitiesAdded() {
+            int count = 0;
+            for (StubVariantMetadata variant : variants) {
+                count += variant.capabilitiesAdded;
+            }
+            return count;
+        }
+
+        public int getPlatforms() {
+            return platforms;
+        }
+
+        @Override
+        public <T> T getDescriptor(Class<T> descriptorType) {
+            return null;
+        }
+
+        @Override
+        public ComponentMetadataDetails getDetails() {
+            return this;
+        }
+
+        @Override
+        public ModuleVersionIdentifier getId() {
+            return this;
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public ModuleIdentifier getModule() {
+            return this;
+        }
+
+        @Override
+        public boolean isChanging() {
+            return false;
+        }
+
+        @Override
+        public String getStatus() {
+            return "release";
+        }
+
+        @Override
+        public List<String> getStatusScheme() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public AttributeContainer getAttributes() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ComponentMetadataDetails attributes(Action<? super AttributeContainer> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setChanging(boolean changing) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setStatus(String status) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setStatusScheme(List<String> statusScheme) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withVariant(String name, Action<? super VariantMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void allVariants(Action<? super VariantMetadata> action) {
+            for (StubVariantMetadata variant : variants) {
+                action.execute(variant);
+            }
+        }
+
+        @Override
+        public void addVariant(String name, Action<? super VariantMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addVariant(String name, String base, Action<? super VariantMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void maybeAddVariant(String name, String base, Action<? super VariantMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void belongsTo(Object notation) {
+            platforms++;
+        }
+
+        @Override
+        public void belongsTo(Object notation, boolean virtual) {
+            platforms++;
+        }
+    }
+
+    private static final class StubVariantMetadata implements VariantMetadata, MutableCapabilitiesMetadata {
+        private int capabilitiesAdded;
+
+        @Override
+        public void withCapabilities(Action<? super MutableCapabilitiesMetadata> action) {
+            action.execute(this);
+        }
+
+        @Override
+        public void addCapability(String group, String name, String version) {
+            capabilitiesAdded++;
+        }
+
+        @Override
+        public void removeCapability(String group, String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CapabilitiesMetadata asImmutable() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<? extends Capability> getCapabilities() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withDependencies(Action<? super DirectDependenciesMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withDependencyConstraints(Action<? super DependencyConstraintsMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withFiles(Action<? super MutableVariantFilesMetadata> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public VariantMetadata attributes(Action<? super AttributeContainer> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttributeContainer getAttributes() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Capabilities resolution recording the action registered for each capability.
+     */
+    public static final class StubCapabilitiesResolution implements CapabilitiesResolution {
+        private final Map<Object, Action<? super CapabilityResolutionDetails>> actions = new HashMap<>();
+
+        public Action<? super CapabilityResolutionDetails> actionFor(String capabilityId) {
+            return actions.get(capabilityId);
+        }
+
+        public int getRegistrations() {
+            return actions.size();
+        }
+
+        @Override
+        public void all(Action<? super CapabilityResolutionDetails> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withCapability(Capability capability, Action<? super CapabilityResolutionDetails> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withCapability(String group, String name, Action<? super CapabilityResolutionDetails> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void withCapability(Object notation, Action<? super CapabilityResolutionDetails> action) {
+            actions.put(notation, action);
+        }
+    }
+
+    /**
+     * Capability conflict between external modules, recording the selected candidate.
+     */
+    public static final class StubCapabilityResolutionDetails implements CapabilityResolutionDetails {
+        private final List<ComponentVariantIdentifier> candidates = new ArrayList<>();
+        private ComponentVariantIdentifier selected;
+
+        /**
+         * Creates the conflict.
+         *
+         * @param modules the candidates, as {@code group:name:version}
+         */
+        public StubCapabilityResolutionDetails(String... modules) {
+            for (String module : modules) {
+                String[] parts = module.split(":");
+                candidates.add(new StubModuleComponentIdentifier(parts[0], parts[1], parts[2]));
+            }
+        }
+
+        public ComponentVariantIdentifier getSelected() {
+            return selected;
+        }
+
+        @Override
+        public Capability getCapability() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ComponentVariantIdentifier> getCandidates() {
+            return candidates;
+        }
+
+        @Override
+        public CapabilityResolutionDetails select(ComponentVariantIdentifier candidate) {
+            selected = candidate;
+            return this;
+        }
+
+        @Override
+        public CapabilityResolutionDetails select(Object notation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CapabilityResolutionDetails selectHighestVersion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CapabilityResolutionDetails because(String reason) {
+            return this;
+        }
+    }
+
+    private static final class StubModuleComponentIdentifier implements ComponentVariantIdentifier, ModuleComponentIdentifier, ModuleIdentifier {
+        private final String group;
+        private final String module;
+        private final String version;
+
+        private StubModuleComponentIdentifier(String group, String module, String version) {
+            this.group = group;
+            this.module = module;
+            this.version = version;
+        }
+
+        @Override
+        public ComponentIdentifier getId() {
+            return this;
+        }
+
+        @Override
+        public String getVariantName() {
+            return "runtime";
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getModule() {
+            return module;
+        }
+
+        @Override
+        public String getName() {
+            return module;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public ModuleIdentifier getModuleIdentifier() {
+            return this;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return group + ":" + module + ":" + version;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging;
+
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2AsyncDisruptorRule;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Registers the {@link Log4J2AsyncDisruptorRule} once asynchronous Log4J 2 loggers are enforced, so that builds without them are not impacted.
+ */
+public class Log4J2AsyncRules {
+    private final Consumer<Action<? super ComponentMetadataHandler>> components;
+    private boolean active;
+
+    public Log4J2AsyncRules(Consumer<Action<? super ComponentMetadataHandler>> components) {
+        this.components = components;
+    }
+
+    /**
+     * Registers the rule for {@code log4j-core}.
+     * Does nothing if the rule is already registered.
+     */
+    public void activate() {
+        if (active) {
+            return;
+        }
+        active = true;
+        components.accept(handler -> handler.withModule(LoggingModuleIdentifiers.LOG4J_CORE.moduleId, Log4J2AsyncDisruptorRule.class));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging;
+
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2Alignment;
+import dev.jacomet.gradle.plugins.logging.rules.Slf4JAlignment;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Registers the Slf4J and Log4J 2 alignment rules.
+ * <p>
+ * By default, the rules are only registered against the known Slf4J and Log4J 2 modules, so that the other components of the graph are not impacted.
+ * Additional modules can be added, and the rules can still be registered against all components.
+ * In that case, the registration against all components replaces the per module one: the rules registered for all components skip the modules
+ * that already have their own registration, so that each module is aligned once.
+ */
+public class LoggingAlignment {
+    private static final String SLF4J_GROUP = "org.slf4j";
+    private static final String LOG4J2_GROUP = "org.apache.logging.log4j";
+
+    private static final List<String> SLF4J_MODULES = Arrays.asList(
+            "slf4j-api", "slf4j-simple", "slf4j-nop", "slf4j-jdk14", "slf4j-jdk-platform-logging", "slf4j-log4j12", "slf4j-reload4j",
+            "slf4j-jcl", "slf4j-ext", "slf4j-android", "jcl-over-slf4j", "jul-to-slf4j", "log4j-over-slf4j", "osgi-over-slf4j"
+    );
+    private static final List<String> LOG4J2_MODULES = Arrays.asList(
+            "log4j-api", "log4j-core", "log4j-1.2-api", "log4j-jcl", "log4j-jul", "log4j-jpl", "log4j-to-jul", "log4j-slf4j-impl",
+            "log4j-slf4j2-impl", "log4j-slf4j18-impl", "log4j-to-slf4j", "log4j-web", "log4j-jakarta-web", "log4j-appserver", "log4j-taglib",
+            "log4j-iostreams", "log4j-jmx-gui", "log4j-layout-template-json", "log4j-jpa", "log4j-docker", "log4j-kubernetes",
+            "log4j-spring-boot", "log4j-spring-cloud-config-client", "log4j-flume-ng", "log4j-cassandra", "log4j-couchdb",
+            "log4j-mongodb3", "log4j-mongodb4"
+    );
+
+    private final Consumer<Action<? super ComponentMetadataHandler>> components;
+    private final Set<String> modules = new LinkedHashSet<>();
+    private final Set<String> registeredModules = new LinkedHashSet<>();
+    private boolean active;
+    private boolean allComponents;
+
+    public LoggingAlignment(Consumer<Action<? super ComponentMetadataHandler>> components) {
+        this.components = components;
+        for (String module : SLF4J_MODULES) {
+            modules.add(SLF4J_GROUP + ":" + module);
+        }
+        for (String module : LOG4J2_MODULES) {
+            modules.add(LOG4J2_GROUP + ":" + module);
+        }
+    }
+
+    /**
+     * Returns the identifiers, as {@code group:name}, of the modules the alignment rules are registered for.
+     *
+     * @return the aligned module identifiers
+     */
+    public Set<String> getModuleIds() {
+        return Collections.unmodifiableSet(modules);
+    }
+
+    /**
+     * Activates alignment, registering the rules for all known modules.
+     * Does nothing if alignment is already active.
+     */
+    public void activate() {
+        if (active) {
+            return;
+        }
+        active = true;
+        components.accept(handler -> {
+            if (allComponents) {
+                registerForAllComponents(handler);
+            } else {
+                for (String moduleId : modules) {
+                    registerForModule(handler, moduleId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a module to the set of aligned modules.
+     *
+     * @param group the module group, which must be an Slf4J or Log4J 2 one
+     * @param name the module name
+     */
+    public void alignModule(String group, String name) {
+        String moduleId = group + ":" + name;
+        ruleFor(moduleId);
+        if (modules.add(moduleId) && active && !allComponents) {
+            components.accept(handler -> registerForModule(handler, moduleId));
+        }
+    }
+
+    /**
+     * Registers the alignment rules against all components of the graph, instead of only the known modules.
+     * <p>
+     * When alignment is already active, the modules registered so far are skipped by the rules registered for all components.
+     */
+    public void alignAllComponents() {
+        if (allComponents) {
+            return;
+        }
+        allComponents = true;
+        if (active) {
+            components.accept(this::registerForAllComponents);
+        }
+    }
+
+    private void registerForModule(ComponentMetadataHandler handler, String moduleId) {
+        handler.withModule(moduleId, ruleFor(moduleId), rule -> rule.params(Collections.emptySet()));
+        registeredModules.add(moduleId);
+    }
+
+    private void registerForAllComponents(ComponentMetadataHandler handler) {
+        // Rules cannot be unregistered, so the modules having their own registration are skipped instead
+        Set<String> skippedModules = new HashSet<>(registeredModules);
+        handler.all(Slf4JAlignment.class, rule -> rule.params(skippedModules));
+        handler.all(Log4J2Alignment.class, rule -> rule.params(skippedModules));
+    }
+
+    private static Class<? extends ComponentMetadataRule> ruleFor(String moduleId) {
+        String group = moduleId.substring(0, moduleId.indexOf(':'));
+        if (SLF4J_GROUP.equals(group)) {
+            return Slf4JAlignment.class;
+        } else if (LOG4J2_GROUP.equals(group)) {
+            return Log4J2Alignment.class;
+        }
+        throw new IllegalArgumentException("Provided module '" + moduleId + "' is neither an Slf4J nor a Log4J 2 module");
+    }
+}
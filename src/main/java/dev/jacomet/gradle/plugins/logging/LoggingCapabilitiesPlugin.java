@@ -16,20 +16,20 @@
 package dev.jacomet.gradle.plugins.logging;
 
 import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
-import dev.jacomet.gradle.plugins.logging.rules.CommonsLoggingImplementationRule;
-import dev.jacomet.gradle.plugins.logging.rules.Log4J2Alignment;
-import dev.jacomet.gradle.plugins.logging.rules.Log4J2Implementation;
-import dev.jacomet.gradle.plugins.logging.rules.Log4J2vsSlf4J;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JAlignment;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JImplementation;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JVsJCL;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JVsLog4J2ForJCL;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JvsJUL;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JvsLog4J;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JvsLog4J2ForJUL;
-import dev.jacomet.gradle.plugins.logging.rules.Slf4JvsLog4J2ForLog4J;
+import dev.jacomet.gradle.plugins.logging.instrumentation.Instrumentation;
+import dev.jacomet.gradle.plugins.logging.publication.LoggingCapabilitiesPublication;
+import dev.jacomet.gradle.plugins.logging.report.LoggingReports;
+import dev.jacomet.gradle.plugins.logging.runtime.CdsArchiveGeneration;
+import dev.jacomet.gradle.plugins.logging.runtime.Log4J2PluginsMerging;
+import dev.jacomet.gradle.plugins.logging.runtime.LogbackConfigurationCompilation;
+import dev.jacomet.gradle.plugins.logging.runtime.LoggingProviderPinning;
+import dev.jacomet.gradle.plugins.logging.runtime.NativeImageMetadataGeneration;
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule;
+import dev.jacomet.gradle.plugins.logging.scan.LoggingBindingsScans;
+import dev.jacomet.gradle.plugins.logging.scan.LoggingBridgesPruning;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
 import org.gradle.util.GradleVersion;
 
@@ -42,163 +42,76 @@ public class LoggingCapabilitiesPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
+        LoggingCapabilitiesExtension buildExtension = project.getExtensions().findByType(LoggingCapabilitiesExtension.class);
+        if (buildExtension != null) {
+            // Created by the settings plugin, which registers the rules for the whole build, only the tasks are left to add
+            registerTasks(project, buildExtension);
+            return;
+        }
         DependencyHandler dependencies = project.getDependencies();
         GradleVersion gradleVersion = GradleVersion.current();
+        LoggingAlignment alignment = new LoggingAlignment(dependencies::components);
         if (gradleVersion.compareTo(GRADLE_6) >= 0) {
             // Only add the extension for Gradle 6 and above
-            project.getExtensions().create("loggingCapabilities", LoggingCapabilitiesExtension.class, project.getConfigurations(), dependencies, getAlignmentActivation(dependencies, gradleVersion));
+            registerTasks(project, createExtension(project, alignment, new Log4J2AsyncRules(dependencies::components)));
         }
-        configureCommonsLogging(dependencies);
-        configureJavaUtilLogging(dependencies);
-        configureLog4J(dependencies);
-        configureSlf4J(dependencies);
-        configureLog4J2(dependencies);
-        configureLog4J2Implementation(dependencies);
+        dependencies.components(LoggingCapabilitiesPlugin::configureCapabilities);
 
         // ljacomet/logging-capabilities#4
         if (gradleVersion.compareTo(GRADLE_5_2) < 0 || gradleVersion.compareTo(GRADLE_6_2) >= 0) {
-            configureAlignment(dependencies);
-        }
-    }
-
-    private Runnable getAlignmentActivation(DependencyHandler dependencies, GradleVersion gradleVersion) {
-        if (gradleVersion.compareTo(GRADLE_6_2) < 0) {
-            return () -> configureAlignment(dependencies);
+            alignment.activate();
         }
-        return () -> {};
-    }
-
-    private void configureAlignment(DependencyHandler dependencies) {
-        dependencies.components(handler -> {
-            handler.all(Slf4JAlignment.class);
-            handler.all(Log4J2Alignment.class);
-        });
     }
 
     /**
-     * Log4J2 can act as an Slf4J implementation with `log4j-slf4j-impl` or `log4j-slf4j2-impl`.
-     * It can also delegate to Slf4J with `log4j-to-slf4j`.
+     * Registers a single cacheable rule for every known logging module, which adds all the capabilities the module needs at once.
      * <p>
-     * Given the above:
+     * The capabilities model the following exclusions:
+     * * Only one Slf4J binding can be on the classpath
      * * `log4j-slf4j-impl`, `log4j-slf4j2-impl` and `log4j-to-slf4j` are exclusive
-     */
-    private void configureLog4J2(DependencyHandler dependencies) {
-        dependencies.components(handler -> {
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.moduleId, Log4J2vsSlf4J.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.moduleId, Log4J2vsSlf4J.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId, Log4J2vsSlf4J.class);
-        });
-    }
-
-    /**
-     * Log4J2 has its own implementation with `log4j-core`.
-     * It can also delegate to Slf4J with `log4j-to-slf4j`.
-     * <p>
-     * Given the above:
      * * `log4j-core` and `log4j-to-slf4j` are exclusive
-     */
-    private void configureLog4J2Implementation(DependencyHandler dependencies) {
-        dependencies.components(handler -> {
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.moduleId, Log4J2Implementation.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_CORE.moduleId, Log4J2Implementation.class);
-        });
-    }
-
-    /**
-     * Slf4J provides an API, which requires an implementation.
-     * Only one implementation can be on the classpath, selected between:
-     * * `slf4j-simple`
-     * * `logback-classic`
-     * * `slf4j-log4j12` to use Log4J 1.2
-     * * `slf4j-jcl` to use Jakarta Commons Logging
-     * * `slf4j-jdk14` to use Java Util Logging
-     * * `log4j-slf4j-impl` to use Log4J2
-     */
-    private void configureSlf4J(DependencyHandler dependencies) {
-        dependencies.components(handler -> {
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_SIMPLE.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.LOGBACK_CLASSIC.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_LOG4J12.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_JCL.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_JDK14.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.moduleId, Slf4JImplementation.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.moduleId, Slf4JImplementation.class);
-        });
-    }
-
-    /**
-     * `log4j:log4j` can be replaced by:
-     * * Slf4j with `log4j-over-slf4j`
-     * * Log4J2 with `log4j-1.2-api`
-     * <p>
-     * Log4J can be used from:
-     * * Slf4J API delegating to it with `slf4j-log4j12`
-     * * Log4J2 API only through Slf4J delegation
-     * <p>
-     * Given the above:
      * * `log4j-over-slf4j` and `slf4j-log4j12` are exclusive
      * * `log4j-over-slf4j` and `log4j-1.2-api` and `log4j` are exclusive
-     */
-    private void configureLog4J(DependencyHandler dependencies) {
-        dependencies.components(handler -> {
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.moduleId, Slf4JvsLog4J.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_LOG4J12.moduleId, Slf4JvsLog4J.class);
-
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.moduleId, Slf4JvsLog4J2ForLog4J.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J12API.moduleId, Slf4JvsLog4J2ForLog4J.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J.moduleId, Slf4JvsLog4J2ForLog4J.class);
-        });
-    }
-
-    /**
-     * Java Util Logging can be replaced by:
-     * * Slf4J with `jul-to-slf4j`
-     * * Log4J2 with `log4j-jul`
-     * <p>
-     * Java Util Logging can be used from:
-     * * Slf4J API delegating to it with `slf4j-jdk14`
-     * * Log4J2 API only through SLF4J delegation
-     * <p>
-     * Given the above:
      * * `jul-to-slf4j` and `slf4j-jdk14` are exclusive
      * * `jul-to-slf4j` and `log4j-jul` are exclusive
-     */
-    private void configureJavaUtilLogging(DependencyHandler dependencies) {
-        dependencies.components( handler -> {
-            handler.withModule(LoggingModuleIdentifiers.JUL_TO_SLF4J.moduleId, Slf4JvsJUL.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_JDK14.moduleId, Slf4JvsJUL.class);
-
-            handler.withModule(LoggingModuleIdentifiers.JUL_TO_SLF4J.moduleId, Slf4JvsLog4J2ForJUL.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_JUL.moduleId, Slf4JvsLog4J2ForJUL.class);
-        });
-    }
-
-    /**
-     * `commons-logging:commons-logging` can be replaced by:
-     * * Slf4J with `org.slf4j:jcl-over-slf4j`
-     * * Log4J2 with `org.apache.logging.log4j:log4j-jcl` _which requires `commons-logging`_
-     * * Spring JCL with `org.springframework:spring-jcl`
-     * <p>
-     * `commons-logging:commons-logging` can be used from:
-     * * Slf4J API delegating to it with `org.slf4j:slf4j-jcl`
-     * * Log4J2 API only through Slf4J delegation
-     * <p>
-     * Given the above:
      * * `jcl-over-slf4j` and `slf4j-jcl` are exclusive
      * * `commons-logging`, `jcl-over-slf4j` and `spring-jcl` are exclusive
      * * `jcl-over-slf4j` and `log4j-jcl` are exclusive
+     *
+     * @see LoggingModuleCapabilitiesRule
      */
-    private void configureCommonsLogging(DependencyHandler dependencies) {
-        dependencies.components( handler -> {
-            handler.withModule(LoggingModuleIdentifiers.COMMONS_LOGGING.moduleId, CommonsLoggingImplementationRule.class);
-            handler.withModule(LoggingModuleIdentifiers.JCL_OVER_SLF4J.moduleId, CommonsLoggingImplementationRule.class);
-            handler.withModule(LoggingModuleIdentifiers.SPRING_JCL.moduleId, CommonsLoggingImplementationRule.class);
+    static void configureCapabilities(ComponentMetadataHandler handler) {
+        for (String moduleId : LoggingModuleCapabilitiesRule.getModuleIds()) {
+            handler.withModule(moduleId, LoggingModuleCapabilitiesRule.class);
+        }
+    }
 
-            handler.withModule(LoggingModuleIdentifiers.JCL_OVER_SLF4J.moduleId, Slf4JVsJCL.class);
-            handler.withModule(LoggingModuleIdentifiers.SLF4J_JCL.moduleId, Slf4JVsJCL.class);
+    static LoggingCapabilitiesExtension createExtension(Project project, LoggingAlignment alignment, Log4J2AsyncRules log4J2AsyncRules) {
+        LoggingCapabilitiesExtension extension;
+        if (alignment == null) {
+            // Extension instantiation rejects null parameters on some Gradle versions
+            extension = new LoggingCapabilitiesExtension(project.getConfigurations(), project.getDependencies(), null, null);
+            project.getExtensions().add(LoggingCapabilitiesExtension.class, "loggingCapabilities", extension);
+        } else {
+            extension = project.getExtensions().create("loggingCapabilities", LoggingCapabilitiesExtension.class, project.getConfigurations(), project.getDependencies(), alignment, log4J2AsyncRules);
+        }
+        extension.recordConflictsWith(Instrumentation.configure(project));
+        return extension;
+    }
 
-            handler.withModule(LoggingModuleIdentifiers.JCL_OVER_SLF4J.moduleId, Slf4JVsLog4J2ForJCL.class);
-            handler.withModule(LoggingModuleIdentifiers.LOG4J_JCL.moduleId, Slf4JVsLog4J2ForJCL.class);
-        });
+    /**
+     * Registers the tasks and transforms of the plugin, which are only added to the projects the plugin is applied to,
+     * and not to all the projects getting an extension from the settings plugin.
+     */
+    private static void registerTasks(Project project, LoggingCapabilitiesExtension extension) {
+        LoggingReports.register(project, extension);
+        LoggingBindingsScans.register(project);
+        LoggingBridgesPruning.register(project, extension);
+        LoggingProviderPinning.register(project, extension);
+        Log4J2PluginsMerging.register(project);
+        NativeImageMetadataGeneration.register(project, extension);
+        CdsArchiveGeneration.register(project, extension);
+        LogbackConfigurationCompilation.register(project, extension);
+        LoggingCapabilitiesPublication.register(project, extension);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging;
+
+import dev.jacomet.gradle.plugins.logging.extension.CapabilitySelections;
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesSettingsExtension;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Plugin;
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler;
+import org.gradle.api.initialization.Settings;
+import org.gradle.util.GradleVersion;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Settings plugin registering the logging capabilities rules once for the whole build, through {@code dependencyResolutionManagement}.
+ * <p>
+ * It also contributes a build wide {@code loggingCapabilities} extension, whose preferences are inherited by all projects.
+ * Projects only get their own {@code loggingCapabilities} extension: the tasks of the plugin are added to the projects applying the project plugin.
+ */
+public class LoggingCapabilitiesSettingsPlugin implements Plugin<Settings> {
+
+    private static final GradleVersion GRADLE_6_8 = GradleVersion.version("6.8");
+
+    @Override
+    public void apply(Settings settings) {
+        if (GradleVersion.current().compareTo(GRADLE_6_8) < 0) {
+            throw new GradleException("The logging capabilities settings plugin requires Gradle 6.8 or above");
+        }
+        Consumer<Action<? super ComponentMetadataHandler>> components = buildComponents(settings);
+        LoggingAlignment alignment = new LoggingAlignment(components);
+        LoggingCapabilitiesSettingsExtension extension = settings.getExtensions().create("loggingCapabilities", LoggingCapabilitiesSettingsExtension.class, alignment, new Log4J2AsyncRules(components));
+
+        components.accept(LoggingCapabilitiesPlugin::configureCapabilities);
+        alignment.activate();
+
+        // Projects only read the build wide selections, which are complete once settings are evaluated,
+        // and get no alignment of their own: nothing is shared and mutated across projects
+        CapabilitySelections buildSelections = extension.buildSelections();
+        settings.getGradle().beforeProject(project -> {
+            // Creating the extension first makes the project plugin skip the rules registration
+            LoggingCapabilitiesExtension projectExtension = LoggingCapabilitiesPlugin.createExtension(project, null, null);
+            projectExtension.inherit(buildSelections);
+        });
+    }
+
+    /**
+     * Returns the {@code components} method of {@code dependencyResolutionManagement}.
+     * <p>
+     * Gradle 6.8 added {@code Settings.getDependencyResolutionManagement()}.
+     * It is looked up reflectively, as the plugin is compiled against an older Gradle API.
+     */
+    private static Consumer<Action<? super ComponentMetadataHandler>> buildComponents(Settings settings) {
+        try {
+            Method getDependencyResolutionManagement = Settings.class.getMethod("getDependencyResolutionManagement");
+            Object dependencyResolutionManagement = getDependencyResolutionManagement.invoke(settings);
+            Method components = getDependencyResolutionManagement.getReturnType().getMethod("components", Action.class);
+            return action -> {
+                try {
+                    components.invoke(dependencyResolutionManagement, action);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Unable to register the logging capabilities rules in the settings", e);
+                }
+            };
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to access the dependency resolution management of the settings", e);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package dev.jacomet.gradle.plugins.logging;
 
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleIdentifier;
 
 public enum LoggingModuleIdentifiers {
     LOG4J_SLF4J_IMPL("org.apache.logging.log4j", "log4j-slf4j-impl", "2.0"),
     LOG4J_SLF4J2_IMPL("org.apache.logging.log4j", "log4j-slf4j2-impl", "2.19.0"),
     LOG4J_TO_SLF4J("org.apache.logging.log4j", "log4j-to-slf4j", "2.0"),
     SLF4J_SIMPLE("org.slf4j", "slf4j-simple", "1.0"),
+    SLF4J_NOP("org.slf4j", "slf4j-nop", "1.5.10"),
     LOGBACK_CLASSIC("ch.qos.logback", "logback-classic", "1.0.0"),
     SLF4J_LOG4J12("org.slf4j", "slf4j-log4j12", "1.0"),
     SLF4J_JCL("org.slf4j", "slf4j-jcl", "1.0"),
@@ -38,6 +40,10 @@ public enum LoggingModuleIdentifiers {
         return group.equals(dependency.getGroup()) && name.equals(dependency.getName());
     }
 
+    public boolean matches(ModuleIdentifier module) {
+        return group.equals(module.getGroup()) && name.equals(module.getName());
+    }
+
     public String asFirstVersion() {
         return moduleId + ":" + firstVersion;
     }
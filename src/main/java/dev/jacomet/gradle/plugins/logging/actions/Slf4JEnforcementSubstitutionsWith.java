@@ -1,24 +1,59 @@
 package dev.jacomet.gradle.plugins.logging.actions;
 
 import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
 import org.gradle.api.Action;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.DependencySubstitutions;
 import org.gradle.api.artifacts.component.ComponentSelector;
 
 public class Slf4JEnforcementSubstitutionsWith implements Action<Configuration> {
+    private final boolean noOp;
+
+    public Slf4JEnforcementSubstitutionsWith() {
+        this(false);
+    }
+
+    /**
+     * Creates the substitutions, which also replace the other Slf4J bindings with {@code slf4j-nop}
+     * and {@code log4j-core} with {@code log4j-to-slf4j} when {@code noOp} is set.
+     */
+    public Slf4JEnforcementSubstitutionsWith(boolean noOp) {
+        this.noOp = noOp;
+    }
+
     @Override
     public void execute(Configuration configuration) {
+        String configurationName = configuration.getName();
         configuration.getResolutionStrategy().dependencySubstitution(substitution -> {
             ComponentSelector log4JOverSlf4J = substitution.module(LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.asFirstVersion());
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.LOG4J.moduleId)).with(log4JOverSlf4J);
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.LOG4J12API.moduleId)).with(log4JOverSlf4J);
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J, log4JOverSlf4J);
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J12API, log4JOverSlf4J);
 
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.LOG4J_JUL.moduleId)).with(substitution.module(LoggingModuleIdentifiers.JUL_TO_SLF4J.asFirstVersion()));
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J_JUL, substitution.module(LoggingModuleIdentifiers.JUL_TO_SLF4J.asFirstVersion()));
 
             ComponentSelector jclOverSlf4J = substitution.module(LoggingModuleIdentifiers.JCL_OVER_SLF4J.asFirstVersion());
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.COMMONS_LOGGING.moduleId)).with(jclOverSlf4J);
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.LOG4J_JCL.moduleId)).with(jclOverSlf4J);
-            substitution.substitute(substitution.module(LoggingModuleIdentifiers.SPRING_JCL.moduleId)).with(jclOverSlf4J);
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.COMMONS_LOGGING, jclOverSlf4J);
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J_JCL, jclOverSlf4J);
+            substitute(substitution, configurationName, LoggingModuleIdentifiers.SPRING_JCL, jclOverSlf4J);
+
+            if (noOp) {
+                ComponentSelector slf4JNop = substitution.module(LoggingModuleIdentifiers.SLF4J_NOP.asFirstVersion());
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.LOGBACK_CLASSIC, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.SLF4J_SIMPLE, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.SLF4J_LOG4J12, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.SLF4J_JCL, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.SLF4J_JDK14, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL, slf4JNop);
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL, slf4JNop);
+
+                substitute(substitution, configurationName, LoggingModuleIdentifiers.LOG4J_CORE, substitution.module(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asFirstVersion()));
+            }
         });
     }
+
+    private static void substitute(DependencySubstitutions substitution, String configurationName, LoggingModuleIdentifiers module, ComponentSelector target) {
+        substitution.substitute(substitution.module(module.moduleId)).with(target);
+        FlightRecorderEvents.substitutionRegistered(configurationName, module.moduleId, target);
+    }
 }
@@ -0,0 +1,561 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension;
+
+import dev.jacomet.gradle.plugins.logging.Log4J2AsyncRules;
+import dev.jacomet.gradle.plugins.logging.LoggingAlignment;
+import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
+import dev.jacomet.gradle.plugins.logging.rules.*;
+import org.gradle.api.artifacts.ModuleIdentifier;
+
+/**
+ * Base extension that enables expressing preference over potential logging capabilities conflicts.
+ * <p>
+ * Preferences are recorded in {@link CapabilitySelections}, it is up to subclasses to apply them to configurations.
+ */
+public abstract class AbstractLoggingCapabilitiesExtension {
+    protected final CapabilitySelections selections = new CapabilitySelections();
+    private final LoggingAlignment alignment;
+    private final Log4J2AsyncRules log4J2AsyncRules;
+
+    protected AbstractLoggingCapabilitiesExtension(LoggingAlignment alignment, Log4J2AsyncRules log4J2AsyncRules) {
+        this.alignment = alignment;
+        this.log4J2AsyncRules = log4J2AsyncRules;
+    }
+
+    /**
+     * Selects the provided module as the Slf4J binding to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
+     */
+    public void selectSlf4JBinding(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Slf4J binding";
+        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
+            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
+            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId), because);
+        } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency) || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency) || LoggingModuleIdentifiers.SLF4J_NOP.matches(dependency)) {
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Slf4J binding to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
+     */
+    public void selectSlf4JBinding(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Slf4J binding";
+        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
+            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId), because);
+       } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency) || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency) || LoggingModuleIdentifiers.SLF4J_NOP.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Log4J2 implementation to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
+     */
+    public void selectLog4J2Implementation(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Log4J2 implementation";
+        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
+            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Log4J2 implementation to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
+     */
+    public void selectLog4J2Implementation(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Log4J2 implementation";
+        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Log4J 1.2 implementation to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectLog4J12Implementation(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Log4J implementation";
+        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Log4J 1.2 implementation to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectLog4J12Implementation(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Log4J implementation";
+        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the java util logging delegation to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectJulDelegation(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected JUL delegation";
+        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
+            selectCapabilityConflict(Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JUL delegation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the java util logging delegation to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectJulDelegation(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected JUL delegation";
+        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JUL delegation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the commons-logging implementation to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectJCLImplementation(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected JCL implementation";
+        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
+            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
+            ModuleIdentifier commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.asVersionZero());
+            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, commonsLogging, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JCL implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the commons-logging implementation to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
+     */
+    public void selectJCLImplementation(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected JCL implementation";
+        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
+            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
+            ModuleIdentifier commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.asVersionZero());
+            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, commonsLogging, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JCL implementation");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Slf4J / Log4J 2 interaction to use.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
+     */
+    public void selectSlf4JLog4J2Interaction(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
+        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
+            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
+        }
+    }
+
+    /**
+     * Selects the provided module as the Slf4J / Log4J 2 interaction to use for the resolution of the given configuration.
+     * <p>
+     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     *
+     * @param configurationName the configuration to be setup
+     * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
+     */
+    public void selectSlf4JLog4J2Interaction(String configurationName, Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
+        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
+        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
+            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
+            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
+        } else {
+            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
+        }
+    }
+
+    /**
+     * Selects logback as the Slf4J binding and makes sure all other supported logging frameworks end up in logback as well.
+     * <p>
+     * While having logback as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in logback because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     */
+    public void enforceLogback() {
+        selectSlf4JBinding(LoggingModuleIdentifiers.LOGBACK_CLASSIC.asVersionZero());
+        enforceSlf4JImplementation();
+    }
+
+    /**
+     * Selects logback as the Slf4J binding and makes sure all other supported logging frameworks end up in logback as well for the resolution of the given configuration.
+     * <p>
+     * While having logback as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in logback because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     *
+     * @param configurationName the configuration to be setup
+     */
+    public void enforceLogback(String configurationName) {
+        selectSlf4JBinding(configurationName, LoggingModuleIdentifiers.LOGBACK_CLASSIC.asVersionZero());
+        enforceSlf4JImplementation(configurationName);
+    }
+
+    /**
+     * Selects {@code slf4j-simple} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well.
+     * <p>
+     * While having {@code slf4j-simple} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in {@code slf4j-simple} because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     */
+    public void enforceSlf4JSimple() {
+        selectSlf4JBinding(LoggingModuleIdentifiers.SLF4J_SIMPLE.asVersionZero());
+        enforceSlf4JImplementation();
+    }
+
+    /**
+     * Selects {@code slf4j-simple} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well for the resolution of the given configuration.
+     * <p>
+     * While having {@code slf4j-simple} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in {@code slf4j-simple} because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     *
+     * @param configurationName the configuration to be setup
+     */
+    public void enforceSlf4JSimple(String configurationName) {
+        selectSlf4JBinding(configurationName, LoggingModuleIdentifiers.SLF4J_SIMPLE.asVersionZero());
+        enforceSlf4JImplementation(configurationName);
+    }
+
+    /**
+     * Selects {@code slf4j-nop} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well, so that logging costs nothing.
+     * <p>
+     * On top of the substitutions done when enforcing logback, the other Slf4J bindings are substituted with {@code slf4j-nop} and {@code log4j-core} with {@code log4j-to-slf4j},
+     * so that a backend brought in transitively cannot end up on the classpath. This is meant for benchmarks and load tests.
+     */
+    public void enforceNoOp() {
+        selectSlf4JBinding(LoggingModuleIdentifiers.SLF4J_NOP.asVersionZero());
+        selections.enforceNoOp();
+        enforceSlf4JImplementation();
+    }
+
+    /**
+     * Selects {@code slf4j-nop} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well for the resolution of the given configuration.
+     * <p>
+     * On top of the substitutions done when enforcing logback, the other Slf4J bindings are substituted with {@code slf4j-nop} and {@code log4j-core} with {@code log4j-to-slf4j},
+     * so that a backend brought in transitively cannot end up on the classpath. This is meant for benchmarks and load tests, like a {@code jmhRuntimeClasspath}.
+     *
+     * @param configurationName the configuration to be setup
+     */
+    public void enforceNoOp(String configurationName) {
+        selectSlf4JBinding(configurationName, LoggingModuleIdentifiers.SLF4J_NOP.asVersionZero());
+        selections.enforceNoOp(configurationName);
+        enforceSlf4JImplementation(configurationName);
+    }
+
+    /**
+     * Selects {@code log4j-slf4j-impl} as the Slf4J binding and makes sure all other supported logging frameworks end up in Log4J 2 as well.
+     * <p>
+     * While having {@code log4j-slf4j-impl} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in Log4J 2 because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j} will be configured to end up in Log4J 2 as well.
+     */
+    public void enforceLog4J2() {
+        selectLog4J2Implementation( LoggingModuleIdentifiers.LOG4J_CORE.asVersionZero());
+        selectSlf4JLog4J2Interaction(LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.asVersionZero());
+        selectJulDelegation(LoggingModuleIdentifiers.LOG4J_JUL.asVersionZero());
+        selectJCLImplementation(LoggingModuleIdentifiers.LOG4J_JCL.asVersionZero());
+        selectLog4J12Implementation(LoggingModuleIdentifiers.LOG4J12API.asVersionZero());
+
+    }
+
+    /**
+     * Selects {@code log4j-slf4j-impl} as the Slf4J binding and makes sure all other supported logging frameworks end up in Log4J 2 as well for the resolution of the given configuration.
+     * <p>
+     * While having {@code log4j-slf4j-impl} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in Log4J 2 because there are no conflicts.
+     * For example, {@code commons-logging} and {@code log4j} will be configured to end up in Log4J 2 as well.
+     *
+     * @param configurationName the configuration to be setup
+     */
+    public void enforceLog4J2(String configurationName) {
+        selectLog4J2Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_CORE.asVersionZero());
+        selectSlf4JLog4J2Interaction(configurationName, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.asVersionZero());
+        selectJulDelegation(configurationName, LoggingModuleIdentifiers.LOG4J_JUL.asVersionZero());
+        selectJCLImplementation(configurationName, LoggingModuleIdentifiers.LOG4J_JCL.asVersionZero());
+        selectLog4J12Implementation(configurationName, LoggingModuleIdentifiers.LOG4J12API.asVersionZero());
+    }
+
+    /**
+     * Enforces Log4J 2 like {@link #enforceLog4J2()}, with all loggers asynchronous and the garbage free settings enabled.
+     * <p>
+     * The LMAX Disruptor is added to resolved configurations, at the version the resolved {@code log4j-core} supports,
+     * and the Log4J 2 settings are added to the runtime resources and to the test and exec tasks.
+     */
+    public void enforceLog4J2Async() {
+        enforceLog4J2();
+        selections.enforceLog4J2Async();
+        activateLog4J2AsyncRules();
+        selectionsChanged();
+    }
+
+    /**
+     * Enforces Log4J 2 like {@link #enforceLog4J2(String)}, with all loggers asynchronous and the garbage free settings enabled,
+     * for the resolution of the given configuration.
+     * <p>
+     * The LMAX Disruptor is added to the configuration, at the version the resolved {@code log4j-core} supports.
+     * When the configuration is a runtime classpath, the Log4J 2 settings are added to the matching resources or tasks.
+     *
+     * @param configurationName the configuration to be setup
+     */
+    public void enforceLog4J2Async(String configurationName) {
+        enforceLog4J2(configurationName);
+        selections.enforceLog4J2Async(configurationName);
+        activateLog4J2AsyncRules();
+        selectionsChanged();
+    }
+
+    /**
+     * Enables the alignment feature.
+     * <p>
+     * The feature is enabled by default for Gradle 6.2 and beyond.
+     * <p>
+     * For Gradle 6.0 and 6.1, the feature is disabled due to a bug that may prevent all conflicts from being properly detected.
+     * So enabling alignment for these versions should be handled carefully.
+     */
+    public void enableAlignment() {
+        if (alignment != null) {
+            alignment.activate();
+        }
+    }
+
+    /**
+     * Adds the provided module to the set of modules that are aligned.
+     * <p>
+     * Alignment rules are only registered for the known Slf4J and Log4J 2 modules, this allows to align other modules of these projects.
+     *
+     * @param dependencyNotation the Slf4J or Log4J 2 module as a dependency or {@code group:name} notation
+     */
+    public void alignModule(Object dependencyNotation) {
+        ModuleIdentifier dependency = validateNotation(dependencyNotation);
+        getAlignment().alignModule(dependency.getGroup(), dependency.getName());
+    }
+
+    /**
+     * Registers the alignment rules against all components of the graph instead of only the known Slf4J and Log4J 2 modules.
+     * <p>
+     * This has a cost on every component resolved, so prefer {@link #alignModule(Object)} when a module is missing from the known set.
+     */
+    public void alignAllComponents() {
+        getAlignment().alignAllComponents();
+    }
+
+    private void enforceSlf4JImplementation() {
+        selectLog4J12Implementation(LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.asVersionZero());
+        selectJulDelegation(LoggingModuleIdentifiers.JUL_TO_SLF4J.asVersionZero());
+        selectJCLImplementation(LoggingModuleIdentifiers.JCL_OVER_SLF4J.asVersionZero());
+        selectSlf4JLog4J2Interaction(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
+        selectLog4J2Implementation(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
+
+        selections.enforceSlf4J();
+        selectionsChanged();
+    }
+
+    private void enforceSlf4JImplementation(String configurationName) {
+        selectLog4J12Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.asVersionZero());
+        selectJulDelegation(configurationName, LoggingModuleIdentifiers.JUL_TO_SLF4J.asVersionZero());
+        selectJCLImplementation(configurationName, LoggingModuleIdentifiers.JCL_OVER_SLF4J.asVersionZero());
+        selectSlf4JLog4J2Interaction(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
+        selectLog4J2Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
+
+        selections.enforceSlf4J(configurationName);
+        selectionsChanged();
+    }
+
+    private void activateLog4J2AsyncRules() {
+        // Projects of a build using the settings plugin rely on the rule registered for the whole build, when the settings enforce asynchronous loggers
+        if (log4J2AsyncRules != null) {
+            log4J2AsyncRules.activate();
+        }
+    }
+
+    private LoggingAlignment getAlignment() {
+        if (alignment == null) {
+            // Alignment rules are shared by all projects, they cannot be changed from a single one
+            throw new IllegalStateException("Alignment is configured for the whole build by the settings plugin, configure it in the settings 'loggingCapabilities' extension");
+        }
+        return alignment;
+    }
+
+    /**
+     * Converts the provided notation into the identifier of the module to select.
+     *
+     * @param dependencyNotation the module as a dependency or {@code group:name:version} notation
+     * @return the module identifier
+     */
+    protected abstract ModuleIdentifier validateNotation(Object dependencyNotation);
+
+    /**
+     * Invoked every time a selection is recorded.
+     */
+    protected abstract void selectionsChanged();
+
+    private void selectCapabilityConflict(String configuration, String capabilityId, ModuleIdentifier target, String because) {
+        selections.select(configuration, capabilityId, target.getGroup(), target.getName(), because);
+        selectionsChanged();
+    }
+
+    private void selectCapabilityConflict(String capabilityId, ModuleIdentifier target, String because) {
+        selections.select(capabilityId, target.getGroup(), target.getName(), because);
+        selectionsChanged();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension;
+
+import dev.jacomet.gradle.plugins.logging.instrumentation.CapabilityConflictListener;
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.CapabilitiesResolution;
+import org.gradle.api.artifacts.CapabilityResolutionDetails;
+import org.gradle.api.artifacts.ComponentVariantIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+
+/**
+ * Capabilities resolution action answering every logging capability conflict of a configuration from the {@link CapabilitySelections}.
+ * <p>
+ * When a {@link CapabilityConflictListener} is provided, it is notified of every conflict, with the time spent answering it.
+ */
+class CapabilitiesResolutionDispatcher implements Action<CapabilitiesResolution> {
+    private final CapabilitySelections selections;
+    private final String configurationName;
+    private final CapabilityConflictListener listener;
+
+    CapabilitiesResolutionDispatcher(CapabilitySelections selections, String configurationName, CapabilityConflictListener listener) {
+        this.selections = selections;
+        this.configurationName = configurationName;
+        this.listener = listener;
+    }
+
+    @Override
+    public void execute(CapabilitiesResolution resolution) {
+        for (String capabilityId : LoggingModuleCapabilitiesRule.getCapabilityIds()) {
+            resolution.withCapability(capabilityId, details -> resolve(capabilityId, details));
+        }
+    }
+
+    private void resolve(String capabilityId, CapabilityResolutionDetails details) {
+        Object event = FlightRecorderEvents.beginCapabilityResolution();
+        if (listener == null) {
+            CapabilitySelections.CapabilitySelection selection = select(capabilityId, details);
+            commit(event, capabilityId, selection);
+            return;
+        }
+        long start = System.nanoTime();
+        CapabilitySelections.CapabilitySelection selection = select(capabilityId, details);
+        long duration = System.nanoTime() - start;
+        commit(event, capabilityId, selection);
+        if (selection == null) {
+            listener.conflictResolved(configurationName, capabilityId, null, null, duration);
+        } else {
+            listener.conflictResolved(configurationName, capabilityId, selection.group + ":" + selection.name, selection.because, duration);
+        }
+    }
+
+    private void commit(Object event, String capabilityId, CapabilitySelections.CapabilitySelection selection) {
+        if (selection == null) {
+            FlightRecorderEvents.commitCapabilityResolution(event, configurationName, capabilityId, null, null);
+        } else {
+            FlightRecorderEvents.commitCapabilityResolution(event, configurationName, capabilityId, selection.group, selection.name);
+        }
+    }
+
+    private CapabilitySelections.CapabilitySelection select(String capabilityId, CapabilityResolutionDetails details) {
+        CapabilitySelections.CapabilitySelection selection = selections.selectionFor(configurationName, capabilityId);
+        if (selection == null) {
+            return null;
+        }
+        for (ComponentVariantIdentifier candidate : details.getCandidates()) {
+            ComponentIdentifier id = candidate.getId();
+            if (id instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier moduleId = (ModuleComponentIdentifier) id;
+                if (selection.matches(moduleId.getGroup(), moduleId.getModule())) {
+                    details.select(candidate).because(selection.because);
+                    return selection;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension;
+
+import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
+import dev.jacomet.gradle.plugins.logging.instrumentation.CapabilityConflictListener;
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2Implementation;
+import dev.jacomet.gradle.plugins.logging.rules.Slf4JImplementation;
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.CapabilitiesResolution;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the selected module for each logging capability, for all configurations and per configuration.
+ * <p>
+ * When the same capability is selected more than once, the last selection wins.
+ * A selection made for a given configuration has precedence over one made for all configurations.
+ * <p>
+ * It also records whether Slf4J is enforced, which requires substitutions on top of the capability selections,
+ * whether the no-op Slf4J binding is enforced, which substitutes the other backends,
+ * and whether asynchronous Log4J 2 loggers are enforced, which require the LMAX Disruptor.
+ * <p>
+ * Selections can inherit from build wide ones, which form a lower priority layer, only looked at when these selections have no answer.
+ * An inherited enforcement only applies when these selections do not choose the binding it would replace.
+ */
+public class CapabilitySelections {
+    private final Map<String, CapabilitySelection> selections = new HashMap<>();
+    private final Map<String, Map<String, CapabilitySelection>> configurationSelections = new HashMap<>();
+    private final Set<String> slf4JEnforcedConfigurations = new HashSet<>();
+    private boolean slf4JEnforced;
+    private final Set<String> noOpEnforcedConfigurations = new HashSet<>();
+    private boolean noOpEnforced;
+    private final Set<String> log4J2AsyncEnforcedConfigurations = new HashSet<>();
+    private boolean log4J2AsyncEnforced;
+    private CapabilitySelections inherited;
+
+    public boolean isEmpty() {
+        return selections.isEmpty() && configurationSelections.isEmpty() && (inherited == null || inherited.isEmpty());
+    }
+
+    public void enforceSlf4J() {
+        slf4JEnforced = true;
+    }
+
+    public void enforceSlf4J(String configurationName) {
+        slf4JEnforcedConfigurations.add(configurationName);
+    }
+
+    public boolean isSlf4JEnforced(String configurationName) {
+        if (slf4JEnforced || slf4JEnforcedConfigurations.contains(configurationName)) {
+            return true;
+        }
+        return inheritsFor(configurationName, Slf4JImplementation.CAPABILITY_ID) && inherited.isSlf4JEnforced(configurationName);
+    }
+
+    /**
+     * Returns whether logback is enforced for the given configuration, which is Slf4J being enforced with {@code logback-classic} as the binding.
+     *
+     * @param configurationName the configuration name
+     * @return {@code true} if logback is enforced
+     */
+    public boolean isLogbackEnforced(String configurationName) {
+        if (!isSlf4JEnforced(configurationName)) {
+            return false;
+        }
+        CapabilitySelection binding = selectionFor(configurationName, Slf4JImplementation.CAPABILITY_ID);
+        return binding != null && binding.matches(LoggingModuleIdentifiers.LOGBACK_CLASSIC.group, LoggingModuleIdentifiers.LOGBACK_CLASSIC.name);
+    }
+
+    public void enforceNoOp() {
+        noOpEnforced = true;
+    }
+
+    public void enforceNoOp(String configurationName) {
+        noOpEnforcedConfigurations.add(configurationName);
+    }
+
+    public boolean isNoOpEnforced(String configurationName) {
+        if (noOpEnforced || noOpEnforcedConfigurations.contains(configurationName)) {
+            return true;
+        }
+        return inheritsFor(configurationName, Slf4JImplementation.CAPABILITY_ID) && inherited.isNoOpEnforced(configurationName);
+    }
+
+    public void enforceLog4J2Async() {
+        log4J2AsyncEnforced = true;
+    }
+
+    public void enforceLog4J2Async(String configurationName) {
+        log4J2AsyncEnforcedConfigurations.add(configurationName);
+    }
+
+    public boolean isLog4J2AsyncEnforced() {
+        return log4J2AsyncEnforced || !log4J2AsyncEnforcedConfigurations.isEmpty() || (inherited != null && inherited.isLog4J2AsyncEnforced());
+    }
+
+    /**
+     * Returns whether asynchronous Log4J 2 loggers are enforced for the given configuration.
+     * <p>
+     * As asynchronous loggers only matter at runtime, enforcing them for all configurations only covers the runtime classpaths.
+     *
+     * @param configurationName the configuration name
+     * @return {@code true} if asynchronous loggers are enforced
+     */
+    public boolean isLog4J2AsyncEnforced(String configurationName) {
+        if (log4J2AsyncEnforcedConfigurations.contains(configurationName)) {
+            return true;
+        }
+        if (log4J2AsyncEnforced && (configurationName.equals("runtimeClasspath") || configurationName.endsWith("RuntimeClasspath"))) {
+            return true;
+        }
+        return inheritsFor(configurationName, Log4J2Implementation.CAPABILITY_ID) && inherited.isLog4J2AsyncEnforced(configurationName);
+    }
+
+    public void select(String capabilityId, String group, String name, String because) {
+        selections.put(capabilityId, new CapabilitySelection(group, name, because));
+    }
+
+    public void select(String configurationName, String capabilityId, String group, String name, String because) {
+        configurationSelections.computeIfAbsent(configurationName, k -> new HashMap<>()).put(capabilityId, new CapabilitySelection(group, name, because));
+    }
+
+    /**
+     * Sets the selections to fall back to, which are only looked at when these selections, for the configuration or for all of them, have no answer.
+     * <p>
+     * The inherited selections are not copied, so any selection made on this instance overrides them, even one made for all configurations
+     * over an inherited one made for a given configuration.
+     *
+     * @param other the selections to inherit
+     */
+    public void inherit(CapabilitySelections other) {
+        inherited = other;
+    }
+
+    /**
+     * Creates the single capabilities resolution action answering all conflicts of the given configuration.
+     *
+     * @param configurationName the configuration being resolved
+     * @return the capabilities resolution action
+     */
+    public Action<CapabilitiesResolution> resolutionFor(String configurationName) {
+        return resolutionFor(configurationName, null);
+    }
+
+    /**
+     * Creates the single capabilities resolution action answering all conflicts of the given configuration, notifying the listener of each of them.
+     *
+     * @param configurationName the configuration being resolved
+     * @param listener the conflict listener, or {@code null}
+     * @return the capabilities resolution action
+     */
+    public Action<CapabilitiesResolution> resolutionFor(String configurationName, CapabilityConflictListener listener) {
+        return new CapabilitiesResolutionDispatcher(this, configurationName, listener);
+    }
+
+    CapabilitySelection selectionFor(String configurationName, String capabilityId) {
+        CapabilitySelection selection = ownSelectionFor(configurationName, capabilityId);
+        if (selection == null && inherited != null) {
+            return inherited.selectionFor(configurationName, capabilityId);
+        }
+        return selection;
+    }
+
+    private CapabilitySelection ownSelectionFor(String configurationName, String capabilityId) {
+        Map<String, CapabilitySelection> forConfiguration = configurationSelections.get(configurationName);
+        if (forConfiguration != null) {
+            CapabilitySelection selection = forConfiguration.get(capabilityId);
+            if (selection != null) {
+                return selection;
+            }
+        }
+        return selections.get(capabilityId);
+    }
+
+    /**
+     * Returns whether the inherited enforcements apply, which is when these selections do not choose the module of the given capability themselves.
+     */
+    private boolean inheritsFor(String configurationName, String capabilityId) {
+        return inherited != null && ownSelectionFor(configurationName, capabilityId) == null;
+    }
+
+    static final class CapabilitySelection {
+        final String group;
+        final String name;
+        final String because;
+
+        CapabilitySelection(String group, String name, String because) {
+            this.group = group;
+            this.name = name;
+            this.because = because;
+        }
+
+        boolean matches(String group, String name) {
+            return this.group.equals(group) && this.name.equals(name);
+        }
+    }
+}
@@ -1,476 +1,413 @@
 package dev.jacomet.gradle.plugins.logging.extension;
 
+import dev.jacomet.gradle.plugins.logging.Log4J2AsyncRules;
+import dev.jacomet.gradle.plugins.logging.LoggingAlignment;
 import dev.jacomet.gradle.plugins.logging.LoggingCapabilitiesPlugin;
-import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
 import dev.jacomet.gradle.plugins.logging.actions.Slf4JEnforcementSubstitutionsUsing;
 import dev.jacomet.gradle.plugins.logging.actions.Slf4JEnforcementSubstitutionsWith;
-import dev.jacomet.gradle.plugins.logging.rules.*;
+import dev.jacomet.gradle.plugins.logging.instrumentation.CapabilityConflictListener;
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2AsyncDisruptorRule;
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule;
 import org.gradle.api.Action;
-import org.gradle.api.artifacts.CapabilitiesResolution;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ExternalDependency;
-import org.gradle.api.artifacts.component.ComponentIdentifier;
-import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.ResolvableDependencies;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
 import org.gradle.util.GradleVersion;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Project extension that enables expressing preference over potential logging capabilities conflicts.
  */
-public class LoggingCapabilitiesExtension {
+public class LoggingCapabilitiesExtension extends AbstractLoggingCapabilitiesExtension {
+    private static final String LOG4J2_ASYNC_CONFIGURATION = "loggingCapabilitiesLog4J2Async";
+
     private final ConfigurationContainer configurations;
     private final DependencyHandler dependencies;
-    private final Runnable alignmentActivation;
+    private CapabilityConflictListener conflictListener;
+    private boolean resolutionHookInstalled;
+    private Configuration log4J2AsyncConfiguration;
+    private int maxBridgeHops = 1;
+    private boolean failOnExcessiveBridgeHops;
+    private boolean bridgeHopsThresholdConfigured;
+    private boolean pruneUnusedBridges;
+    private boolean pinLoggingProviders;
+    private boolean routeJavaUtilLogging;
+    private boolean generateNativeImageMetadata;
+    private boolean archiveLoggingClasses;
+    private final Map<String, String> publishedLoggingModules = new LinkedHashMap<>();
 
-    public LoggingCapabilitiesExtension(ConfigurationContainer configurations, DependencyHandler dependencies, Runnable alignmentActivation) {
+    /**
+     * Creates the project extension.
+     *
+     * @param configurations the project configurations
+     * @param dependencies the project dependency handler
+     * @param alignment the project alignment, or {@code null} when alignment is configured for the whole build by the settings plugin
+     * @param log4J2AsyncRules the project asynchronous Log4J 2 rules, or {@code null} when rules are registered for the whole build by the settings plugin
+     */
+    public LoggingCapabilitiesExtension(ConfigurationContainer configurations, DependencyHandler dependencies, LoggingAlignment alignment, Log4J2AsyncRules log4J2AsyncRules) {
+        super(alignment, log4J2AsyncRules);
         this.configurations = configurations;
         this.dependencies = dependencies;
-        this.alignmentActivation = alignmentActivation;
     }
 
     /**
-     * Selects the provided module as the Slf4J binding to use.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Inherits the build wide preferences, which the preferences expressed on this extension override.
      *
-     * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
+     * @param buildSelections the selections made in the settings extension
      */
-    public void selectSlf4JBinding(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J binding";
-        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
-            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId), because);
-        } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency) || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency)) {
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
+    public void inherit(CapabilitySelections buildSelections) {
+        selections.inherit(buildSelections);
+        if (!selections.isEmpty()) {
+            selectionsChanged();
+        }
+        if (selections.isLog4J2AsyncEnforced()) {
+            extendLog4J2AsyncConfiguration();
         }
     }
 
-    /**
-     * Selects the provided module as the Slf4J binding to use for the resolution of the given configuration.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
-     *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the Slf4J binding module as a dependency or {@code group:name:version} notation
-     */
-    public void selectSlf4JBinding(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J binding";
-        if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-            // Slf4j binding towards log4j2, so we need to make sure Log4j-core is selected
-            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, validateNotation(LoggingModuleIdentifiers.LOG4J_CORE.moduleId), because);
-       } else if (LoggingModuleIdentifiers.LOGBACK_CLASSIC.matches(dependency) || LoggingModuleIdentifiers.SLF4J_SIMPLE.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J binding");
-        }
+    @Override
+    public void enforceLog4J2Async() {
+        super.enforceLog4J2Async();
+        extendLog4J2AsyncConfiguration();
+    }
+
+    @Override
+    public void enforceLog4J2Async(String configurationName) {
+        super.enforceLog4J2Async(configurationName);
+        extendLog4J2AsyncConfiguration();
     }
 
     /**
-     * Selects the provided module as the Log4J2 implementation to use.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Sets the listener notified of the conflicts answered in this project, used by the plugin for instrumentation.
      *
-     * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
+     * @param conflictListener the conflict listener, or {@code null}
      */
-    public void selectLog4J2Implementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J2 implementation";
-        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
-            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
-        }
+    public void recordConflictsWith(CapabilityConflictListener conflictListener) {
+        this.conflictListener = conflictListener;
     }
 
     /**
-     * Selects the provided module as the Log4J2 implementation to use for the resolution of the given configuration.
+     * Reports a warning when a logging API of a runtime classpath reaches its backend through more than the given number of bridges.
      * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Configuring a threshold makes the {@code check} task depend on the route check.
+     * Without one, the route check only runs when requested, and warns about routes crossing more than one bridge.
      *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the Log4J 2 implementation as a dependency or {@code group:name:version} notation
+     * @param maxHops the maximum number of bridges a route can cross
      */
-    public void selectLog4J2Implementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J2 implementation";
-        if (LoggingModuleIdentifiers.LOG4J_CORE.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J2 implementation");
-        }
+    public void warnOnBridgeHopsAbove(int maxHops) {
+        setBridgeHopsThreshold(maxHops, false);
     }
 
     /**
-     * Selects the provided module as the Log4J 1.2 implementation to use.
+     * Fails the route check when a logging API of a runtime classpath reaches its backend through more than the given number of bridges.
      * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Configuring a threshold makes the {@code check} task depend on the route check.
      *
-     * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
+     * @param maxHops the maximum number of bridges a route can cross
      */
-    public void selectLog4J12Implementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J implementation";
-        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J implementation");
-        }
+    public void failOnBridgeHopsAbove(int maxHops) {
+        setBridgeHopsThreshold(maxHops, true);
     }
 
     /**
-     * Selects the provided module as the Log4J 1.2 implementation to use for the resolution of the given configuration.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Returns the maximum number of bridges a route can cross.
      *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the Log4J 1.2 implementation module as a dependency or {@code group:name:version} notation
+     * @return the maximum number of hops
      */
-    public void selectLog4J12Implementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Log4J implementation";
-        if (LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J12API.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForLog4J.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_LOG4J12.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Log4J implementation");
-        }
+    public int getMaxBridgeHops() {
+        return maxBridgeHops;
     }
 
     /**
-     * Selects the provided module as the java util logging delegation to use.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Returns whether routes crossing more than {@link #getMaxBridgeHops()} bridges make the route check fail.
      *
-     * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
+     * @return {@code true} to fail, {@code false} to warn
      */
-    public void selectJulDelegation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JUL delegation";
-        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
-            selectCapabilityConflict(Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JUL delegation");
-        }
+    public boolean isFailOnExcessiveBridgeHops() {
+        return failOnExcessiveBridgeHops;
     }
 
     /**
-     * Selects the provided module as the java util logging delegation to use for the resolution of the given configuration.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Returns whether a bridge hops threshold was configured, in which case the {@code check} task depends on the route check.
      *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the JUL delegation module as a dependency or {@code group:name:version} notation
+     * @return {@code true} if {@link #warnOnBridgeHopsAbove(int)} or {@link #failOnBridgeHopsAbove(int)} was called
      */
-    public void selectJulDelegation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JUL delegation";
-        if (LoggingModuleIdentifiers.JUL_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JDK14.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsJUL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JUL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JvsLog4J2ForJUL.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JUL delegation");
-        }
+    public boolean isBridgeHopsThresholdConfigured() {
+        return bridgeHopsThresholdConfigured;
     }
 
     /**
-     * Selects the provided module as the commons-logging implementation to use.
+     * Drops the logging bridges that route an API nothing references from the classpath of the test and exec tasks.
      * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
-     *
-     * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
+     * The classes of the project and of its runtime dependencies are scanned for references to {@code java.util.logging},
+     * {@code org.apache.commons.logging}, {@code org.apache.log4j} and {@code org.apache.logging.log4j}.
      */
-    public void selectJCLImplementation(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JCL implementation";
-        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
-            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
-            ExternalDependency commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.asVersionZero());
-            selectCapabilityConflict(CommonsLoggingImplementationRule.CAPABILITY_ID, commonsLogging, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JCL implementation");
-        }
+    public void pruneUnusedBridges() {
+        this.pruneUnusedBridges = true;
     }
 
     /**
-     * Selects the provided module as the commons-logging implementation to use for the resolution of the given configuration.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Returns whether unused logging bridges are dropped from the classpath of the test and exec tasks.
      *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the commons-logging implementation module as a dependency or {@code group:name:version} notation
+     * @return {@code true} if unused bridges are pruned
      */
-    public void selectJCLImplementation(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected JCL implementation";
-        if (LoggingModuleIdentifiers.JCL_OVER_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.COMMONS_LOGGING.matches(dependency)) {
-            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.SLF4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JVsJCL.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_JCL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JVsLog4J2ForJCL.CAPABILITY_ID, dependency, because);
-            ExternalDependency commonsLogging = validateNotation(LoggingModuleIdentifiers.COMMONS_LOGGING.asVersionZero());
-            selectCapabilityConflict(configurationName, CommonsLoggingImplementationRule.CAPABILITY_ID, commonsLogging, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid JCL implementation");
-        }
+    public boolean isPruneUnusedBridges() {
+        return pruneUnusedBridges;
     }
 
     /**
-     * Selects the provided module as the Slf4J / Log4J 2 interaction to use.
+     * Pins the logging providers of the runtime classpaths, so that the logging libraries skip provider discovery at startup.
      * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
-     *
-     * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
+     * The test and exec tasks get the {@code slf4j.provider}, {@code log4j2.loggerContextFactory} and {@code java.util.logging.manager}
+     * system properties matching their classpath, and a {@code log4j2.component.properties} resource is generated for the main source set.
+     * A property is only set when a single provider of its kind is on the classpath.
      */
-    public void selectSlf4JLog4J2Interaction(Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
-        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(Slf4JImplementation.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
-        }
+    public void pinLoggingProviders() {
+        this.pinLoggingProviders = true;
     }
 
     /**
-     * Selects the provided module as the Slf4J / Log4J 2 interaction to use for the resolution of the given configuration.
-     * <p>
-     * This also resolves all other potential conflicts with the passed in module in favor of it.
+     * Returns whether the logging providers of the runtime classpaths are pinned.
      *
-     * @param configurationName the configuration to be setup
-     * @param dependencyNotation the Slf4J / Log4J 2 interaction module as a dependency or {@code group:name:version} notation
+     * @return {@code true} if providers are pinned
      */
-    public void selectSlf4JLog4J2Interaction(String configurationName, Object dependencyNotation) {
-        ExternalDependency dependency = validateNotation(dependencyNotation);
-        String because = "Logging capabilities plugin selected Slf4J Log4J 2 interaction";
-        if (LoggingModuleIdentifiers.LOG4J_TO_SLF4J.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Log4J2Implementation.CAPABILITY_ID, dependency, because);
-        } else if (LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.matches(dependency) || LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL.matches(dependency)) {
-            selectCapabilityConflict(configurationName, Slf4JImplementation.CAPABILITY_ID, dependency, because);
-            selectCapabilityConflict(configurationName, Log4J2vsSlf4J.CAPABILITY_ID, dependency, because);
-        } else {
-            throw new IllegalArgumentException("Provided dependency '" + dependency + "' is not a valid Slf4J / Log4J 2 interaction");
-        }
+    public boolean isPinLoggingProviders() {
+        return pinLoggingProviders;
     }
 
     /**
-     * Selects logback as the Slf4J binding and makes sure all other supported logging frameworks end up in logback as well.
+     * Routes {@code java.util.logging} to the delegation module of the runtime classpaths, {@code jul-to-slf4j} or {@code log4j-jul}, in the test and exec tasks.
      * <p>
-     * While having logback as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in logback because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     * With {@code log4j-jul}, the {@code java.util.logging.manager} system property installs the Log4J 2 log manager.
+     * With {@code jul-to-slf4j}, the {@code java.util.logging.config.class} system property names a configuration class, added to the main resources,
+     * which installs the {@code SLF4JBridgeHandler} and, when the backend is logback, a {@code LevelChangePropagator}.
      */
-    public void enforceLogback() {
-        selectSlf4JBinding(LoggingModuleIdentifiers.LOGBACK_CLASSIC.asVersionZero());
-        enforceSlf4JImplementation();
+    public void routeJavaUtilLogging() {
+        this.routeJavaUtilLogging = true;
     }
 
     /**
-     * Selects logback as the Slf4J binding and makes sure all other supported logging frameworks end up in logback as well for the resolution of the given configuration.
-     * <p>
-     * While having logback as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in logback because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     * Returns whether {@code java.util.logging} is routed to the delegation module of the runtime classpaths in the test and exec tasks.
      *
-     * @param configurationName the configuration to be setup
+     * @return {@code true} if {@code java.util.logging} is routed
      */
-    public void enforceLogback(String configurationName) {
-        selectSlf4JBinding(configurationName, LoggingModuleIdentifiers.LOGBACK_CLASSIC.asVersionZero());
-        enforceSlf4JImplementation(configurationName);
+    public boolean isRouteJavaUtilLogging() {
+        return routeJavaUtilLogging;
     }
 
     /**
-     * Selects {@code slf4j-simple} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well.
+     * Adds the GraalVM native image metadata of the logging modules of the runtime classpath to the main resources.
      * <p>
-     * While having {@code slf4j-simple} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in {@code slf4j-simple} because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     * The reflection and resource configurations, which include the {@code META-INF/services} files of the providers,
+     * are generated under {@code META-INF/native-image} for the backend and the bridges the runtime classpath resolves to.
      */
-    public void enforceSlf4JSimple() {
-        selectSlf4JBinding(LoggingModuleIdentifiers.SLF4J_SIMPLE.asVersionZero());
-        enforceSlf4JImplementation();
+    public void generateNativeImageMetadata() {
+        this.generateNativeImageMetadata = true;
     }
 
     /**
-     * Selects {@code slf4j-simple} as the Slf4J binding and makes sure all other supported logging frameworks end up in it as well for the resolution of the given configuration.
-     * <p>
-     * While having {@code slf4j-simple} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in {@code slf4j-simple} because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j-jcl} will be substituted with {@code jcl-over-slf4j}.
+     * Returns whether the GraalVM native image metadata of the logging modules is added to the main resources.
      *
-     * @param configurationName the configuration to be setup
+     * @return {@code true} if the metadata is generated
      */
-    public void enforceSlf4JSimple(String configurationName) {
-        selectSlf4JBinding(configurationName, LoggingModuleIdentifiers.SLF4J_SIMPLE.asVersionZero());
-        enforceSlf4JImplementation(configurationName);
+    public boolean isGenerateNativeImageMetadata() {
+        return generateNativeImageMetadata;
     }
 
     /**
-     * Selects {@code log4j-slf4j-impl} as the Slf4J binding and makes sure all other supported logging frameworks end up in Log4J 2 as well.
+     * Makes the exec tasks use an application class data sharing archive of the logging stack of their classpath.
      * <p>
-     * While having {@code log4j-slf4j-impl} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in Log4J 2 because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j} will be configured to end up in Log4J 2 as well.
+     * Each task gets its own archive, holding the classes loaded while initializing the backend through each logging API of its classpath.
+     * It requires Java 11 or above, and is generated with, and only usable by, the {@code java} executable of the task.
+     * Test tasks are not supported, as the class path of a test worker starts with a jar of Gradle.
      */
-    public void enforceLog4J2() {
-        selectLog4J2Implementation( LoggingModuleIdentifiers.LOG4J_CORE.asVersionZero());
-        selectSlf4JLog4J2Interaction(LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.asVersionZero());
-        selectJulDelegation(LoggingModuleIdentifiers.LOG4J_JUL.asVersionZero());
-        selectJCLImplementation(LoggingModuleIdentifiers.LOG4J_JCL.asVersionZero());
-        selectLog4J12Implementation(LoggingModuleIdentifiers.LOG4J12API.asVersionZero());
-
+    public void archiveLoggingClasses() {
+        this.archiveLoggingClasses = true;
     }
 
     /**
-     * Selects {@code log4j-slf4j-impl} as the Slf4J binding and makes sure all other supported logging frameworks end up in Log4J 2 as well for the resolution of the given configuration.
-     * <p>
-     * While having {@code log4j-slf4j-impl} as a dependency is required for this to work, substitution is used for enforcing other selections that could cause missed events in Log4J 2 because there are no conflicts.
-     * For example, {@code commons-logging} and {@code log4j} will be configured to end up in Log4J 2 as well.
+     * Returns whether the exec tasks use a class data sharing archive of the logging stack.
      *
-     * @param configurationName the configuration to be setup
+     * @return {@code true} if the archive is used
      */
-    public void enforceLog4J2(String configurationName) {
-        selectLog4J2Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_CORE.asVersionZero());
-        selectSlf4JLog4J2Interaction(configurationName, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL.asVersionZero());
-        selectJulDelegation(configurationName, LoggingModuleIdentifiers.LOG4J_JUL.asVersionZero());
-        selectJCLImplementation(configurationName, LoggingModuleIdentifiers.LOG4J_JCL.asVersionZero());
-        selectLog4J12Implementation(configurationName, LoggingModuleIdentifiers.LOG4J12API.asVersionZero());
+    public boolean isArchiveLoggingClasses() {
+        return archiveLoggingClasses;
     }
 
     /**
-     * Enables the alignment feature.
+     * Publishes the {@code dev.jacomet.logging} capabilities of the given logging module on the variants of this library,
+     * for a library that stands in for that module, like one bundling or repackaging it.
      * <p>
-     * The feature is enabled by default for Gradle 6.2 and beyond.
-     * <p>
-     * For Gradle 6.0 and 6.1, the feature is disabled due to a bug that may prevent all conflicts from being properly detected.
-     * So enabling alignment for these versions should be handled carefully.
+     * The capabilities end up in the published Gradle module metadata, so that consuming builds detect the conflicts between this library
+     * and the module, or its alternatives, without a rule for this library.
+     * Versioned capabilities get the version of the module, which the notation must therefore include, as the consuming builds compare it
+     * with the version of the module itself.
+     *
+     * @param dependencyNotation the logging module as a dependency or {@code group:name:version} notation
      */
-    public void enableAlignment() {
-        alignmentActivation.run();
-    }
-
-    private void enforceSlf4JImplementation() {
-        selectLog4J12Implementation(LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.asVersionZero());
-        selectJulDelegation(LoggingModuleIdentifiers.JUL_TO_SLF4J.asVersionZero());
-        selectJCLImplementation(LoggingModuleIdentifiers.JCL_OVER_SLF4J.asVersionZero());
-        selectSlf4JLog4J2Interaction(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
-        selectLog4J2Implementation(LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
-
-        configurations.all(getSlf4JEnforcementSubstitutions());
+    public void publishLoggingCapabilitiesOf(Object dependencyNotation) {
+        Dependency dependency = dependencies.create(dependencyNotation);
+        ModuleIdentifier module = validateNotation(dependency);
+        String moduleId = module.getGroup() + ":" + module.getName();
+        if (!LoggingModuleCapabilitiesRule.getModuleIds().contains(moduleId)) {
+            throw new IllegalArgumentException("Provided dependency '" + moduleId + "' is not a logging module known by the plugin");
+        }
+        String version = dependency.getVersion();
+        if (version == null || version.isEmpty()) {
+            throw new IllegalArgumentException("Provided dependency '" + moduleId + "' must have the version of the module the library stands in for");
+        }
+        publishedLoggingModules.put(moduleId, version);
     }
 
-    private void enforceSlf4JImplementation(String configurationName) {
-        selectLog4J12Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_OVER_SLF4J.asVersionZero());
-        selectJulDelegation(configurationName, LoggingModuleIdentifiers.JUL_TO_SLF4J.asVersionZero());
-        selectJCLImplementation(configurationName, LoggingModuleIdentifiers.JCL_OVER_SLF4J.asVersionZero());
-        selectSlf4JLog4J2Interaction(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
-        selectLog4J2Implementation(configurationName, LoggingModuleIdentifiers.LOG4J_TO_SLF4J.asVersionZero());
-
-        configurations.matching(conf -> conf.getName().equals(configurationName)).all(getSlf4JEnforcementSubstitutions());
+    /**
+     * Returns the logging modules whose capabilities are published on the variants of this library, with the version they stand in for.
+     *
+     * @return the versions, by module identifier as {@code group:name}
+     */
+    public Map<String, String> getPublishedLoggingModules() {
+        return Collections.unmodifiableMap(publishedLoggingModules);
     }
 
-    private Action<Configuration> getSlf4JEnforcementSubstitutions() {
-        if (GradleVersion.current().compareTo(LoggingCapabilitiesPlugin.GRADLE_7_0) > 0) {
-            return new Slf4JEnforcementSubstitutionsUsing();
+    private void setBridgeHopsThreshold(int maxHops, boolean fail) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("Provided maximum number of bridge hops '" + maxHops + "' must not be negative");
         }
-        return new Slf4JEnforcementSubstitutionsWith();
+        this.maxBridgeHops = maxHops;
+        this.failOnExcessiveBridgeHops = fail;
+        this.bridgeHopsThresholdConfigured = true;
     }
 
-    private ExternalDependency validateNotation(Object dependencyNotation) {
+    @Override
+    protected ModuleIdentifier validateNotation(Object dependencyNotation) {
         Dependency dependency = dependencies.create(dependencyNotation);
         if (dependency instanceof ExternalDependency) {
-            return (ExternalDependency) dependency;
+            return new SelectedModule(dependency.getGroup(), dependency.getName());
         } else {
             throw new IllegalArgumentException("Provided notation '" + dependencyNotation + "' cannot be converted to an ExternalDependency");
         }
     }
 
-    private void selectCapabilityConflict(String configuration, String capabilityId, ExternalDependency target, String because) {
-        configurations.matching(conf -> conf.getName().equals(configuration)).all(conf -> conf.getResolutionStrategy().capabilitiesResolution(getCapabilitiesResolutionAction(capabilityId, target, because)));
+    /**
+     * Returns whether logback is enforced for the given configuration.
+     *
+     * @param configurationName the configuration name
+     * @return {@code true} if {@link #enforceLogback()} or {@link #enforceLogback(String)} applies to the configuration
+     */
+    public boolean isLogbackEnforced(String configurationName) {
+        return selections.isLogbackEnforced(configurationName);
+    }
+
+    /**
+     * Returns whether asynchronous Log4J 2 loggers are enforced for the given configuration.
+     *
+     * @param configurationName the configuration name
+     * @return {@code true} if {@link #enforceLog4J2Async()} applies to the configuration
+     */
+    public boolean isLog4J2AsyncEnforced(String configurationName) {
+        return selections.isLog4J2AsyncEnforced(configurationName);
+    }
+
+    /**
+     * Configures the selections on configurations only when they get resolved.
+     * <p>
+     * Using {@code configureEach} does not realize configurations, and configurations that are never resolved,
+     * like consumable ones, are never touched.
+     */
+    @Override
+    protected void selectionsChanged() {
+        if (resolutionHookInstalled) {
+            return;
+        }
+        resolutionHookInstalled = true;
+        CapabilitySelections selections = this.selections;
+        CapabilityConflictListener conflictListener = this.conflictListener;
+        configurations.configureEach(conf -> conf.getIncoming().beforeResolve(new ResolutionHook(conf, selections, conflictListener)));
+    }
+
+    /**
+     * Makes the configurations enforcing asynchronous Log4J 2 loggers extend the one holding the LMAX Disruptor dependency.
+     * <p>
+     * The hierarchy of a configuration cannot change once it is about to be resolved, so this is done as configurations get configured,
+     * by a single hook for the ones existing now and the ones created later.
+     * Later enforcements only revisit the existing configurations they enforce asynchronous loggers for, as the hook already ran for them.
+     */
+    private void extendLog4J2AsyncConfiguration() {
+        CapabilitySelections selections = this.selections;
+        if (log4J2AsyncConfiguration == null) {
+            Configuration disruptor = createLog4J2AsyncConfiguration();
+            log4J2AsyncConfiguration = disruptor;
+            configurations.configureEach(conf -> extendIfLog4J2AsyncEnforced(conf, disruptor, selections));
+            return;
+        }
+        for (String name : new ArrayList<>(configurations.getNames())) {
+            if (selections.isLog4J2AsyncEnforced(name)) {
+                extendIfLog4J2AsyncEnforced(configurations.getByName(name), log4J2AsyncConfiguration, selections);
+            }
+        }
     }
 
-    private void selectCapabilityConflict(String capabilityId, ExternalDependency target, String because) {
-        configurations.all(conf -> conf.getResolutionStrategy().capabilitiesResolution(getCapabilitiesResolutionAction(capabilityId, target, because)));
+    private static void extendIfLog4J2AsyncEnforced(Configuration conf, Configuration disruptor, CapabilitySelections selections) {
+        if (conf != disruptor && selections.isLog4J2AsyncEnforced(conf.getName()) && !conf.getExtendsFrom().contains(disruptor)) {
+            conf.extendsFrom(disruptor);
+        }
     }
 
-    private Action<CapabilitiesResolution> getCapabilitiesResolutionAction(String capabilityId, ExternalDependency target, String because) {
-        return resolution -> resolution.withCapability(capabilityId, details -> {
-            details.getCandidates().stream().filter(candidate -> {
-                ComponentIdentifier id = candidate.getId();
-                if (!(id instanceof ModuleComponentIdentifier)) {
-                    return false;
-                }
-                ModuleComponentIdentifier moduleId = (ModuleComponentIdentifier) id;
-                return moduleId.getGroup().equals(target.getGroup())
-                        && moduleId.getModule().equals(target.getName());
-            }).findFirst().ifPresent(candidate -> details.select(candidate).because(because));
+    /**
+     * Creates the configuration holding the LMAX Disruptor dependency of asynchronous Log4J 2 loggers.
+     * Its actual version comes from the constraint {@link Log4J2AsyncDisruptorRule} adds to {@code log4j-core}.
+     */
+    private Configuration createLog4J2AsyncConfiguration() {
+        return configurations.create(LOG4J2_ASYNC_CONFIGURATION, conf -> {
+            conf.setDescription("LMAX Disruptor dependency of the asynchronous Log4J 2 loggers enforced by the logging capabilities plugin.");
+            conf.setCanBeResolved(false);
+            conf.setCanBeConsumed(false);
+            ExternalModuleDependency disruptor = (ExternalModuleDependency) dependencies.create(Log4J2AsyncDisruptorRule.DISRUPTOR);
+            disruptor.version(version -> version.prefer(Log4J2AsyncDisruptorRule.DISRUPTOR_3));
+            disruptor.because("Logging capabilities plugin enforced asynchronous Log4J 2 loggers");
+            conf.getDependencies().add(disruptor);
         });
     }
 
+    private static Action<Configuration> getSlf4JEnforcementSubstitutions(boolean noOp) {
+        if (GradleVersion.current().compareTo(LoggingCapabilitiesPlugin.GRADLE_7_0) > 0) {
+            return new Slf4JEnforcementSubstitutionsUsing(noOp);
+        }
+        return new Slf4JEnforcementSubstitutionsWith(noOp);
+    }
+
+    /**
+     * Hook applying the selections to a configuration about to be resolved.
+     * <p>
+     * It only references the configuration, the selections and the conflict listener, and not the extension or any project state,
+     * so that it is compatible with the configuration cache.
+     */
+    private static class ResolutionHook implements Action<ResolvableDependencies> {
+        private final Configuration configuration;
+        private final CapabilitySelections selections;
+        private final CapabilityConflictListener conflictListener;
+
+        private ResolutionHook(Configuration configuration, CapabilitySelections selections, CapabilityConflictListener conflictListener) {
+            this.configuration = configuration;
+            this.selections = selections;
+            this.conflictListener = conflictListener;
+        }
+
+        @Override
+        public void execute(ResolvableDependencies incoming) {
+            configuration.getResolutionStrategy().capabilitiesResolution(selections.resolutionFor(configuration.getName(), conflictListener));
+            if (selections.isSlf4JEnforced(configuration.getName())) {
+                getSlf4JEnforcementSubstitutions(selections.isNoOpEnforced(configuration.getName())).execute(configuration);
+            }
+        }
+    }
 }
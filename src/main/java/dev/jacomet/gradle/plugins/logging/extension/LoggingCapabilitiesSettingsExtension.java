@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension;
+
+import dev.jacomet.gradle.plugins.logging.Log4J2AsyncRules;
+import dev.jacomet.gradle.plugins.logging.LoggingAlignment;
+import org.gradle.api.artifacts.ModuleIdentifier;
+
+/**
+ * Settings extension that enables expressing build wide preference over potential logging capabilities conflicts.
+ * <p>
+ * All projects inherit these preferences, and can override them in their own {@link LoggingCapabilitiesExtension}.
+ */
+public class LoggingCapabilitiesSettingsExtension extends AbstractLoggingCapabilitiesExtension {
+
+    public LoggingCapabilitiesSettingsExtension(LoggingAlignment alignment, Log4J2AsyncRules log4J2AsyncRules) {
+        super(alignment, log4J2AsyncRules);
+    }
+
+    /**
+     * Returns the build wide selections, for projects to inherit.
+     *
+     * @return the selections
+     */
+    public CapabilitySelections buildSelections() {
+        return selections;
+    }
+
+    /**
+     * Only {@code group:name} and {@code group:name:version} notations are supported, as there are no dependency handler in settings.
+     */
+    @Override
+    protected ModuleIdentifier validateNotation(Object dependencyNotation) {
+        if (dependencyNotation instanceof CharSequence) {
+            String[] parts = dependencyNotation.toString().split(":");
+            if ((parts.length == 2 || parts.length == 3) && !parts[0].isEmpty() && !parts[1].isEmpty()) {
+                return new SelectedModule(parts[0], parts[1]);
+            }
+        }
+        throw new IllegalArgumentException("Provided notation '" + dependencyNotation + "' is not a valid 'group:name:version' notation");
+    }
+
+    @Override
+    protected void selectionsChanged() {
+        // Selections are applied by the projects inheriting them
+    }
+}
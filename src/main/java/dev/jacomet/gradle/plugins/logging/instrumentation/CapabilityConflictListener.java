@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+/**
+ * Notified of every logging capability conflict answered by the plugin.
+ */
+public interface CapabilityConflictListener {
+
+    /**
+     * Called once a conflict has been looked up in the selections.
+     *
+     * @param configurationName the configuration being resolved
+     * @param capabilityId the capability in conflict, as {@code group:name}
+     * @param selected the selected module, as {@code group:name}, or {@code null} if no selection matched a candidate
+     * @param because the reason of the selection, or {@code null} if no selection matched a candidate
+     * @param durationNanos the time spent answering the conflict
+     */
+    void conflictResolved(String configurationName, String capabilityId, String selected, String because, long durationNanos);
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentSelector;
+
+/**
+ * Emits Java Flight Recorder events around the hot paths of the plugin: rules, capability conflict answers and substitutions.
+ * <p>
+ * Events are only created when JFR is available in the running JVM, and only filled in and committed while a recording has them enabled,
+ * independently of the statistics of {@link RuleExecutions}.
+ * This class never references the JFR API itself, so that it loads on JVMs without JFR.
+ */
+public final class FlightRecorderEvents {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Starts the event of a component metadata rule execution.
+     *
+     * @return the started event, to pass to {@link #commitRule(Object, Class, ModuleVersionIdentifier)}, or {@code null} if not recorded
+     */
+    public static Object beginRule() {
+        return AVAILABLE ? JfrEvents.beginRule() : null;
+    }
+
+    public static void commitRule(Object event, Class<?> rule, ModuleVersionIdentifier module) {
+        if (event != null) {
+            JfrEvents.commitRule(event, rule, module);
+        }
+    }
+
+    /**
+     * Starts the event of a capability conflict answer.
+     *
+     * @return the started event, to pass to {@link #commitCapabilityResolution(Object, String, String, String, String)}, or {@code null} if not recorded
+     */
+    public static Object beginCapabilityResolution() {
+        return AVAILABLE ? JfrEvents.beginCapabilityResolution() : null;
+    }
+
+    public static void commitCapabilityResolution(Object event, String configurationName, String capabilityId, String selectedGroup, String selectedName) {
+        if (event != null) {
+            JfrEvents.commitCapabilityResolution(event, configurationName, capabilityId, selectedGroup, selectedName);
+        }
+    }
+
+    /**
+     * Records the registration of a substitution of a logging module.
+     *
+     * @param configurationName the configuration the substitution is registered on
+     * @param moduleId the substituted module, as {@code group:name}
+     * @param target the module it is substituted with
+     */
+    public static void substitutionRegistered(String configurationName, String moduleId, ComponentSelector target) {
+        if (AVAILABLE) {
+            JfrEvents.substitutionRegistered(configurationName, moduleId, target);
+        }
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
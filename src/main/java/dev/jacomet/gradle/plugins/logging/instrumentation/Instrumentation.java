@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.util.GradleVersion;
+
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Opt-in instrumentation of the plugin, enabled with the {@value #STATISTICS_PROPERTY} Gradle property.
+ * <p>
+ * Statistics are written to {@value #REPORT_PATH}, relative to the build directory of the root project.
+ * With the {@value #BUILD_SCAN_PROPERTY} Gradle property, a summary is also added as build scan custom values.
+ */
+public final class Instrumentation {
+    public static final String STATISTICS_PROPERTY = "dev.jacomet.logging-capabilities.statistics";
+    public static final String BUILD_SCAN_PROPERTY = "dev.jacomet.logging-capabilities.statistics.build-scan";
+    public static final String REPORT_PATH = "reports/logging-capabilities/statistics.json";
+
+    private static final Logger LOGGER = Logging.getLogger(Instrumentation.class);
+    private static final String SERVICE_NAME = "loggingCapabilitiesStatistics";
+    private static final GradleVersion GRADLE_6_1 = GradleVersion.version("6.1");
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Registers the statistics build service, if instrumentation is enabled.
+     *
+     * @param project the project the plugin is applied to
+     * @return the listener recording the conflicts of the project, or {@code null} if instrumentation is disabled
+     */
+    public static CapabilityConflictListener configure(Project project) {
+        if (!isEnabled(project, STATISTICS_PROPERTY)) {
+            return null;
+        }
+        if (GradleVersion.current().compareTo(GRADLE_6_1) < 0) {
+            LOGGER.warn("Logging capabilities statistics require Gradle 6.1 or above");
+            return null;
+        }
+        Provider<LoggingCapabilitiesStatistics> statistics = project.getGradle().getSharedServices().registerIfAbsent(SERVICE_NAME, LoggingCapabilitiesStatistics.class, spec -> {
+            spec.getParameters().getReportFile().set(project.getRootProject().getLayout().getBuildDirectory().file(REPORT_PATH));
+        });
+        project.getObjects().newInstance(ListenerRegistration.class).registry.onTaskCompletion(statistics);
+        // Creates the service before anything gets resolved, so that it sees all rule executions
+        statistics.get();
+        if (project.getParent() == null && isEnabled(project, BUILD_SCAN_PROPERTY)) {
+            addBuildScanValues(project, statistics);
+        }
+        return new StatisticsRecorder(project.getPath(), statistics);
+    }
+
+    private static boolean isEnabled(Project project, String property) {
+        Object value = project.findProperty(property);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    /**
+     * Adds the statistics summary to the build scan when the build finishes, through reflection as the build scan plugin is optional.
+     */
+    private static void addBuildScanValues(Project project, Provider<LoggingCapabilitiesStatistics> statistics) {
+        Object buildScan = project.getExtensions().findByName("buildScan");
+        if (buildScan == null) {
+            LOGGER.warn("Logging capabilities statistics cannot be added to the build scan, as no build scan plugin is applied");
+            return;
+        }
+        try {
+            Method buildFinished = buildScan.getClass().getMethod("buildFinished", Action.class);
+            Method value = buildScan.getClass().getMethod("value", String.class, String.class);
+            Action<Object> addValues = result -> {
+                for (Map.Entry<String, String> entry : statistics.get().getSummary().entrySet()) {
+                    try {
+                        value.invoke(buildScan, entry.getKey(), entry.getValue());
+                    } catch (ReflectiveOperationException e) {
+                        LOGGER.warn("Unable to add logging capabilities statistics to the build scan", e);
+                        return;
+                    }
+                }
+            };
+            buildFinished.invoke(buildScan, addValues);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Unable to add logging capabilities statistics to the build scan", e);
+        }
+    }
+
+    static class ListenerRegistration {
+        private final BuildEventsListenerRegistry registry;
+
+        @Inject
+        public ListenerRegistration(BuildEventsListenerRegistry registry) {
+            this.registry = registry;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentSelector;
+
+/**
+ * The JFR events, only loaded once {@link FlightRecorderEvents} has checked JFR is available.
+ */
+final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    static Object beginRule() {
+        RuleExecutionEvent event = new RuleExecutionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitRule(Object started, Class<?> rule, ModuleVersionIdentifier module) {
+        RuleExecutionEvent event = (RuleExecutionEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.rule = rule.getSimpleName();
+            event.module = module.getGroup() + ":" + module.getName() + ":" + module.getVersion();
+            event.commit();
+        }
+    }
+
+    static Object beginCapabilityResolution() {
+        CapabilityResolutionEvent event = new CapabilityResolutionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitCapabilityResolution(Object started, String configurationName, String capabilityId, String selectedGroup, String selectedName) {
+        CapabilityResolutionEvent event = (CapabilityResolutionEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.configuration = configurationName;
+            event.capability = capabilityId;
+            event.selected = selectedGroup == null ? null : selectedGroup + ":" + selectedName;
+            event.commit();
+        }
+    }
+
+    static void substitutionRegistered(String configurationName, String moduleId, ComponentSelector target) {
+        SubstitutionEvent event = new SubstitutionEvent();
+        if (event.shouldCommit()) {
+            event.configuration = configurationName;
+            event.module = moduleId;
+            event.target = target.getDisplayName();
+            event.commit();
+        }
+    }
+
+    @Name("dev.jacomet.logging.RuleExecution")
+    @Label("Logging Rule Execution")
+    @Description("Execution of a logging capabilities component metadata rule")
+    @Category({"Gradle", "Logging Capabilities"})
+    @StackTrace(false)
+    static final class RuleExecutionEvent extends Event {
+        @Label("Rule")
+        String rule;
+
+        @Label("Module")
+        String module;
+    }
+
+    @Name("dev.jacomet.logging.CapabilityResolution")
+    @Label("Logging Capability Resolution")
+    @Description("Answer to a logging capability conflict")
+    @Category({"Gradle", "Logging Capabilities"})
+    @StackTrace(false)
+    static final class CapabilityResolutionEvent extends Event {
+        @Label("Configuration")
+        String configuration;
+
+        @Label("Capability")
+        String capability;
+
+        @Label("Selected Module")
+        String selected;
+    }
+
+    @Name("dev.jacomet.logging.Substitution")
+    @Label("Logging Module Substitution")
+    @Description("Registration of a substitution enforcing Slf4J")
+    @Category({"Gradle", "Logging Capabilities"})
+    @StackTrace(false)
+    static final class SubstitutionEvent extends Event {
+        @Label("Configuration")
+        String configuration;
+
+        @Label("Module")
+        String module;
+
+        @Label("Target")
+        String target;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build service collecting, for a single build, the rule executions and the logging capability conflicts answered for each configuration.
+ * <p>
+ * The statistics are written as JSON when the build completes.
+ */
+public abstract class LoggingCapabilitiesStatistics implements BuildService<LoggingCapabilitiesStatistics.Params>, OperationCompletionListener, AutoCloseable {
+
+    public interface Params extends BuildServiceParameters {
+        RegularFileProperty getReportFile();
+    }
+
+    private final Map<String, ConfigurationStatistics> configurations = new TreeMap<>();
+
+    public LoggingCapabilitiesStatistics() {
+        RuleExecutions.start();
+    }
+
+    /**
+     * Records a conflict answered while resolving a configuration.
+     *
+     * @param configurationPath the path of the configuration, including its project path
+     * @param capabilityId the capability in conflict
+     * @param selected the selected module, or {@code null}
+     * @param because the reason of the selection, or {@code null}
+     * @param durationNanos the time spent answering the conflict
+     */
+    public synchronized void conflictResolved(String configurationPath, String capabilityId, String selected, String because, long durationNanos) {
+        ConfigurationStatistics statistics = configurations.computeIfAbsent(configurationPath, k -> new ConfigurationStatistics());
+        statistics.durationNanos += durationNanos;
+        statistics.conflicts.add(new Conflict(capabilityId, selected, because));
+    }
+
+    /**
+     * Returns the number of executions of each rule since the build started.
+     *
+     * @return the rule execution counts, keyed by rule name
+     */
+    public Map<String, Long> getRuleExecutions() {
+        return RuleExecutions.snapshot();
+    }
+
+    /**
+     * Returns a summary of the statistics, suitable for build scan custom values.
+     *
+     * @return the summary values, keyed by name
+     */
+    public synchronized Map<String, String> getSummary() {
+        long conflicts = 0;
+        long durationNanos = 0;
+        for (ConfigurationStatistics statistics : configurations.values()) {
+            conflicts += statistics.conflicts.size();
+            durationNanos += statistics.durationNanos;
+        }
+        long ruleExecutions = 0;
+        for (long count : getRuleExecutions().values()) {
+            ruleExecutions += count;
+        }
+        Map<String, String> summary = new LinkedHashMap<>();
+        summary.put("Logging capabilities rule executions", String.valueOf(ruleExecutions));
+        summary.put("Logging capabilities conflicts", String.valueOf(conflicts));
+        summary.put("Logging capabilities conflict resolution (ms)", String.valueOf(TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+        return summary;
+    }
+
+    @Override
+    public void onFinish(FinishEvent event) {
+        // Only registered as a listener so that the service is closed, and the report written, when the build completes
+    }
+
+    @Override
+    public synchronized void close() {
+        File report = getParameters().getReportFile().get().getAsFile();
+        try {
+            Files.createDirectories(report.getParentFile().toPath());
+            Files.write(report.toPath(), toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write the logging capabilities statistics to " + report, e);
+        } finally {
+            RuleExecutions.stop();
+        }
+    }
+
+    private String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"ruleExecutions\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Long> entry : getRuleExecutions().entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"configurations\": [");
+        separator = "\n";
+        for (Map.Entry<String, ConfigurationStatistics> entry : configurations.entrySet()) {
+            ConfigurationStatistics statistics = entry.getValue();
+            json.append(separator)
+                    .append("    {\n      \"path\": ").append(quote(entry.getKey()))
+                    .append(",\n      \"conflicts\": ").append(statistics.conflicts.size())
+                    .append(",\n      \"durationNanos\": ").append(statistics.durationNanos)
+                    .append(",\n      \"resolutions\": [");
+            String conflictSeparator = "\n";
+            for (Conflict conflict : statistics.conflicts) {
+                json.append(conflictSeparator)
+                        .append("        { \"capability\": ").append(quote(conflict.capabilityId))
+                        .append(", \"selected\": ").append(quote(conflict.selected))
+                        .append(", \"because\": ").append(quote(conflict.because))
+                        .append(" }");
+                conflictSeparator = ",\n";
+            }
+            json.append("\n      ]\n    }");
+            separator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static final class ConfigurationStatistics {
+        private final List<Conflict> conflicts = new ArrayList<>();
+        private long durationNanos;
+    }
+
+    private static final class Conflict {
+        private final String capabilityId;
+        private final String selected;
+        private final String because;
+
+        private Conflict(String capabilityId, String selected, String because) {
+            this.capabilityId = capabilityId;
+            this.selected = selected;
+            this.because = because;
+        }
+    }
+}
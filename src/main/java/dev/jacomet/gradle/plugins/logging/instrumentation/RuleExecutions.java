@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the executions of each component metadata rule, while the statistics of a build are being recorded.
+ * <p>
+ * Rules are instantiated by Gradle and cannot reference a build service, so the counters are static.
+ * They are only updated between {@link #start()} and {@link #stop()}, which the statistics build service calls when it is created and closed,
+ * so that rules cost nothing more when statistics are disabled, and counts do not mix the builds of a daemon.
+ * Cached rule results are not executions, so they are not counted.
+ */
+public final class RuleExecutions {
+    private static final Map<Class<?>, LongAdder> EXECUTIONS = new ConcurrentHashMap<>();
+    private static volatile boolean recording;
+
+    private RuleExecutions() {
+    }
+
+    /**
+     * Resets the counters and starts recording, for a new build.
+     */
+    public static void start() {
+        EXECUTIONS.clear();
+        recording = true;
+    }
+
+    /**
+     * Stops recording, once the statistics of the build are written.
+     */
+    public static void stop() {
+        recording = false;
+        EXECUTIONS.clear();
+    }
+
+    /**
+     * Returns whether the statistics of the current build are being recorded, which also enables the Flight Recorder events.
+     *
+     * @return {@code true} when recording
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static void record(Class<?> rule) {
+        if (recording) {
+            EXECUTIONS.computeIfAbsent(rule, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Returns the number of executions since recording started, keyed by rule simple name.
+     *
+     * @return the execution counts
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        EXECUTIONS.forEach((rule, count) -> snapshot.put(rule.getSimpleName(), count.sum()));
+        return snapshot;
+    }
+}
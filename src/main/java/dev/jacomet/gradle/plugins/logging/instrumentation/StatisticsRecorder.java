@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation;
+
+import org.gradle.api.provider.Provider;
+
+/**
+ * Forwards the conflicts answered in a project to the {@link LoggingCapabilitiesStatistics} build service.
+ */
+class StatisticsRecorder implements CapabilityConflictListener {
+    private final String projectPath;
+    private final Provider<LoggingCapabilitiesStatistics> statistics;
+
+    StatisticsRecorder(String projectPath, Provider<LoggingCapabilitiesStatistics> statistics) {
+        this.projectPath = projectPath;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void conflictResolved(String configurationName, String capabilityId, String selected, String because, long durationNanos) {
+        String configurationPath = projectPath.equals(":") ? ":" + configurationName : projectPath + ":" + configurationName;
+        statistics.get().conflictResolved(configurationPath, capabilityId, selected, because, durationNanos);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.publication;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.plugins.JavaPlugin;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Declares the {@code dev.jacomet.logging} capabilities of the logging modules a library stands in for on its {@code apiElements} and {@code runtimeElements} variants,
+ * as set with {@link LoggingCapabilitiesExtension#publishLoggingCapabilitiesOf(Object)}.
+ * <p>
+ * Gradle module metadata only describes the capabilities of the variants of the published component itself, so the capabilities of the dependencies of a library
+ * cannot be published with it: declaring them on the library would make it conflict with these very dependencies.
+ * <p>
+ * Versioned capabilities get the version of the module the library stands in for, while the implicit capability of the project, which must be kept,
+ * gets the version of the project, which must therefore be set.
+ */
+public final class LoggingCapabilitiesPublication {
+
+    private LoggingCapabilitiesPublication() {
+    }
+
+    /**
+     * Declares the capabilities once the project is evaluated, when its coordinates and the published modules are known.
+     * <p>
+     * Fails when the version of the project is {@value Project#DEFAULT_VERSION}, as its implicit capability would be published without a version.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which lists the published modules
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getPlugins().withType(JavaPlugin.class, plugin -> project.afterEvaluate(evaluated -> {
+            Map<String, String> modules = extension.getPublishedLoggingModules();
+            if (modules.isEmpty()) {
+                return;
+            }
+            String version = project.getVersion().toString();
+            if (Project.DEFAULT_VERSION.equals(version)) {
+                throw new GradleException("Cannot publish the logging capabilities of " + modules.keySet() + " as the version of " + project + " is not set");
+            }
+            for (String name : Arrays.asList(JavaPlugin.API_ELEMENTS_CONFIGURATION_NAME, JavaPlugin.RUNTIME_ELEMENTS_CONFIGURATION_NAME)) {
+                Configuration variant = project.getConfigurations().getByName(name);
+                // Declaring a capability replaces the implicit one of the project, which must be kept
+                variant.getOutgoing().capability(project.getGroup() + ":" + project.getName() + ":" + version);
+                for (Map.Entry<String, String> module : modules.entrySet()) {
+                    for (String capability : LoggingModuleCapabilitiesRule.getCapabilities(module.getKey(), module.getValue())) {
+                        variant.getOutgoing().capability(capability);
+                    }
+                }
+            }
+        }));
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes the route a logging event takes, from each logging API present on a classpath to the backend that handles it.
+ * <p>
+ * Every bridge crossed on the way is a hop, which adds a call chain and sometimes a re-formatting of the message.
+ */
+final class BridgeRoutes {
+
+    /**
+     * Logging APIs, the nodes of the route graph.
+     */
+    enum Api {
+        JUL("java.util.logging"),
+        JCL("Commons Logging"),
+        LOG4J("Log4J 1"),
+        SLF4J("Slf4J"),
+        LOG4J2("Log4J 2");
+
+        final String title;
+
+        Api(String title) {
+            this.title = title;
+        }
+    }
+
+    /**
+     * Bridges, the edges of the route graph, in order of precedence for a given API.
+     * <p>
+     * The capabilities make most bridges starting at the same API exclusive, so the order only matters for invalid setups.
+     * Commons Logging and {@code spring-jcl} discover their delegate at runtime, which is modelled by several conditional bridges.
+     */
+    private static final List<Bridge> BRIDGES = Collections.unmodifiableList(Arrays.asList(
+            new Bridge("org.slf4j:jul-to-slf4j", Api.JUL, Api.SLF4J),
+            new Bridge("org.apache.logging.log4j:log4j-jul", Api.JUL, Api.LOG4J2),
+            new Bridge("org.slf4j:jcl-over-slf4j", Api.JCL, Api.SLF4J),
+            new Bridge("org.apache.logging.log4j:log4j-jcl", Api.JCL, Api.LOG4J2),
+            new Bridge("org.springframework:spring-jcl", Api.JCL, Api.SLF4J, "org.apache.logging.log4j:log4j-to-slf4j"),
+            new Bridge("org.springframework:spring-jcl", Api.JCL, Api.LOG4J2, "org.apache.logging.log4j:log4j-api"),
+            new Bridge("org.springframework:spring-jcl", Api.JCL, Api.SLF4J, "org.slf4j:slf4j-api"),
+            new Bridge("org.springframework:spring-jcl", Api.JCL, Api.JUL, null),
+            new Bridge("commons-logging:commons-logging", Api.JCL, Api.LOG4J, "log4j:log4j"),
+            new Bridge("commons-logging:commons-logging", Api.JCL, Api.JUL, null),
+            new Bridge("org.slf4j:log4j-over-slf4j", Api.LOG4J, Api.SLF4J),
+            new Bridge("org.apache.logging.log4j:log4j-1.2-api", Api.LOG4J, Api.LOG4J2),
+            new Bridge("org.apache.logging.log4j:log4j-to-slf4j", Api.LOG4J2, Api.SLF4J),
+            new Bridge("org.apache.logging.log4j:log4j-to-jul", Api.LOG4J2, Api.JUL),
+            new Bridge("org.slf4j:slf4j-jdk14", Api.SLF4J, Api.JUL),
+            new Bridge("org.slf4j:slf4j-jdk-platform-logging", Api.SLF4J, Api.JUL),
+            new Bridge("org.slf4j:slf4j-jcl", Api.SLF4J, Api.JCL),
+            new Bridge("org.slf4j:slf4j-log4j12", Api.SLF4J, Api.LOG4J),
+            new Bridge("org.slf4j:slf4j-reload4j", Api.SLF4J, Api.LOG4J),
+            new Bridge("org.apache.logging.log4j:log4j-slf4j-impl", Api.SLF4J, Api.LOG4J2),
+            new Bridge("org.apache.logging.log4j:log4j-slf4j2-impl", Api.SLF4J, Api.LOG4J2),
+            new Bridge("org.apache.logging.log4j:log4j-slf4j18-impl", Api.SLF4J, Api.LOG4J2)
+    ));
+
+    private static final List<Backend> BACKENDS = Collections.unmodifiableList(Arrays.asList(
+            new Backend("ch.qos.logback:logback-classic", Api.SLF4J),
+            new Backend("org.slf4j:slf4j-simple", Api.SLF4J),
+            new Backend("org.slf4j:slf4j-nop", Api.SLF4J),
+            new Backend("org.apache.logging.log4j:log4j-core", Api.LOG4J2),
+            new Backend("log4j:log4j", Api.LOG4J),
+            new Backend("ch.qos.reload4j:reload4j", Api.LOG4J)
+    ));
+
+    private static final List<Source> SOURCES = Collections.unmodifiableList(Arrays.asList(
+            new Source(Api.SLF4J, "org.slf4j:slf4j-api"),
+            new Source(Api.LOG4J2, "org.apache.logging.log4j:log4j-api"),
+            new Source(Api.JCL, "commons-logging:commons-logging", "org.slf4j:jcl-over-slf4j", "org.springframework:spring-jcl"),
+            new Source(Api.LOG4J, "log4j:log4j", "ch.qos.reload4j:reload4j", "org.slf4j:log4j-over-slf4j", "org.apache.logging.log4j:log4j-1.2-api")
+    ));
+
+    private BridgeRoutes() {
+    }
+
+    /**
+     * Computes the route of each logging API present on a classpath.
+     * {@code java.util.logging} is always present, as part of the JDK, and is its own backend when it is not bridged.
+     *
+     * @param moduleIds the {@code group:name} identifiers of the logging modules on the classpath
+     * @return the routes, one per API present
+     */
+    static List<Route> analyze(Set<String> moduleIds) {
+        List<Route> routes = new ArrayList<>();
+        routes.add(routeFrom(Api.JUL, moduleIds));
+        for (Source source : SOURCES) {
+            for (String moduleId : source.moduleIds) {
+                if (moduleIds.contains(moduleId)) {
+                    routes.add(routeFrom(source.api, moduleIds));
+                    break;
+                }
+            }
+        }
+        return routes;
+    }
+
+    private static Route routeFrom(Api source, Set<String> moduleIds) {
+        Route route = new Route(source);
+        Set<Api> visited = EnumSet.of(source);
+        Api current = source;
+        while (true) {
+            Bridge bridge = bridgeFrom(current, moduleIds);
+            if (bridge == null) {
+                route.backend = backendOf(current, moduleIds);
+                return route;
+            }
+            route.bridges.add(bridge);
+            current = bridge.to;
+            if (!visited.add(current)) {
+                route.cyclic = true;
+                return route;
+            }
+        }
+    }
+
+    private static Bridge bridgeFrom(Api api, Set<String> moduleIds) {
+        for (Bridge bridge : BRIDGES) {
+            if (bridge.from == api && moduleIds.contains(bridge.moduleId) && (bridge.condition == null || moduleIds.contains(bridge.condition))) {
+                return bridge;
+            }
+        }
+        return null;
+    }
+
+    private static String backendOf(Api api, Set<String> moduleIds) {
+        for (Backend backend : BACKENDS) {
+            if (backend.api == api && moduleIds.contains(backend.moduleId)) {
+                return backend.moduleId;
+            }
+        }
+        return api == Api.JUL ? "JDK" : null;
+    }
+
+    /**
+     * Route from a logging API to its backend.
+     */
+    static final class Route {
+        final Api source;
+        final List<Bridge> bridges = new ArrayList<>();
+        String backend;
+        boolean cyclic;
+
+        private Route(Api source) {
+            this.source = source;
+        }
+
+        int getHops() {
+            return bridges.size();
+        }
+
+        String describe() {
+            StringBuilder description = new StringBuilder(source.title);
+            for (Bridge bridge : bridges) {
+                description.append(" -> ").append(bridge.to.title).append(" (").append(bridge.moduleId).append(')');
+            }
+            if (cyclic) {
+                description.append(", cycle");
+            } else if (backend == null) {
+                description.append(", no backend");
+            } else {
+                description.append(" -> ").append(backend);
+            }
+            return description.append(", ").append(getHops()).append(getHops() == 1 ? " hop" : " hops").toString();
+        }
+    }
+
+    static final class Bridge {
+        final String moduleId;
+        final Api from;
+        final Api to;
+        final String condition;
+
+        private Bridge(String moduleId, Api from, Api to) {
+            this(moduleId, from, to, null);
+        }
+
+        private Bridge(String moduleId, Api from, Api to, String condition) {
+            this.moduleId = moduleId;
+            this.from = from;
+            this.to = to;
+            this.condition = condition;
+        }
+    }
+
+    private static final class Backend {
+        private final String moduleId;
+        private final Api api;
+
+        private Backend(String moduleId, Api api) {
+            this.moduleId = moduleId;
+            this.api = api;
+        }
+    }
+
+    private static final class Source {
+        private final Api api;
+        private final List<String> moduleIds;
+
+        private Source(Api api, String... moduleIds) {
+            this.api = api;
+            this.moduleIds = Arrays.asList(moduleIds);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Aggregates the {@link LoggingCapabilitiesSummary summaries} of all the projects of the build into a single verdict.
+ * <p>
+ * The summaries are produced by a task in each project, so that the classpaths of all projects are resolved in parallel
+ * when parallel execution is enabled.
+ */
+public abstract class LoggingCapabilitiesCheck extends DefaultTask {
+
+    /**
+     * The summaries of the projects.
+     *
+     * @return the summary files
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getSummaries();
+
+    /**
+     * The file the verdict and the summary of each project are written to.
+     *
+     * @return the report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void check() throws IOException {
+        Set<String> lines = new TreeSet<>();
+        Set<String> projects = new TreeSet<>();
+        boolean failed = false;
+        for (File summary : getSummaries().getFiles()) {
+            for (String line : Files.readAllLines(summary.toPath(), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length < 4) {
+                    continue;
+                }
+                projects.add(fields[0]);
+                boolean classpathFailed = LoggingTopology.FAILED.equals(fields[2]);
+                failed |= classpathFailed;
+                lines.add(fields[0] + " " + fields[1] + ": " + (classpathFailed ? LoggingTopology.FAILED + ", " : "") + fields[3]);
+            }
+        }
+
+        String verdict = (failed ? LoggingTopology.FAILED : LoggingTopology.OK) + ", logging capabilities of " + projects.size() + (projects.size() == 1 ? " project" : " projects");
+        StringBuilder report = new StringBuilder(verdict).append('\n');
+        for (String line : lines) {
+            report.append("  ").append(line).append('\n');
+        }
+        File reportFile = getReportFile().get().getAsFile();
+        Files.createDirectories(reportFile.getParentFile().toPath());
+        Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (failed) {
+            throw new GradleException("Logging capability conflicts remain unresolved:\n" + report);
+        }
+        getLogger().lifecycle(report.toString());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the logging setup of the runtime classpaths of a project, for the build wide {@link LoggingCapabilitiesCheck}.
+ * <p>
+ * Each line of the summary holds the project path, the configuration name, the status and the backends or conflicts, separated by tabs.
+ */
+@CacheableTask
+public abstract class LoggingCapabilitiesSummary extends DefaultTask {
+
+    /**
+     * The path of the summarized project.
+     *
+     * @return the project path
+     */
+    @Input
+    public abstract Property<String> getProjectPath();
+
+    /**
+     * The summary of each runtime classpath, keyed on the configuration name.
+     *
+     * @return the classpath summaries
+     */
+    @Input
+    public abstract MapProperty<String, String> getClasspaths();
+
+    /**
+     * The file the summary is written to.
+     *
+     * @return the summary file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getSummaryFile();
+
+    @TaskAction
+    public void summarize() throws IOException {
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, String> classpath : new TreeMap<>(getClasspaths().get()).entrySet()) {
+            summary.append(getProjectPath().get()).append('\t').append(classpath.getKey()).append('\t').append(classpath.getValue()).append('\n');
+        }
+        File summaryFile = getSummaryFile().get().getAsFile();
+        Files.createDirectories(summaryFile.getParentFile().toPath());
+        Files.write(summaryFile.toPath(), summary.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
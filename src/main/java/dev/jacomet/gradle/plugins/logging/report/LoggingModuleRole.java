@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Role of a logging module in the logging topology of a classpath.
+ */
+public enum LoggingModuleRole {
+    API("Logging APIs"),
+    BRIDGE("Bridges"),
+    BACKEND("Backends");
+
+    private static final Map<String, LoggingModuleRole> ROLES = new HashMap<>();
+
+    static {
+        register(API, "org.slf4j:slf4j-api", "org.apache.logging.log4j:log4j-api", "commons-logging:commons-logging");
+
+        // Modules routing an API to another logging framework, including Slf4J bindings to other backends
+        register(BRIDGE,
+                "org.slf4j:jcl-over-slf4j", "org.slf4j:jul-to-slf4j", "org.slf4j:log4j-over-slf4j",
+                "org.slf4j:slf4j-log4j12", "org.slf4j:slf4j-reload4j", "org.slf4j:slf4j-jcl", "org.slf4j:slf4j-jdk14", "org.slf4j:slf4j-jdk-platform-logging",
+                "org.apache.logging.log4j:log4j-to-slf4j", "org.apache.logging.log4j:log4j-slf4j-impl", "org.apache.logging.log4j:log4j-slf4j2-impl",
+                "org.apache.logging.log4j:log4j-slf4j18-impl", "org.apache.logging.log4j:log4j-jcl", "org.apache.logging.log4j:log4j-jul",
+                "org.apache.logging.log4j:log4j-1.2-api", "org.apache.logging.log4j:log4j-to-jul", "org.springframework:spring-jcl");
+
+        register(BACKEND,
+                "ch.qos.logback:logback-classic", "org.apache.logging.log4j:log4j-core", "org.slf4j:slf4j-simple", "org.slf4j:slf4j-nop",
+                "log4j:log4j", "ch.qos.reload4j:reload4j");
+    }
+
+    final String title;
+
+    LoggingModuleRole(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Returns the role of the given module, or {@code null} if it is not a known logging module.
+     *
+     * @param group the module group
+     * @param name the module name
+     * @return the role of the module, or {@code null}
+     */
+    public static LoggingModuleRole of(String group, String name) {
+        return ROLES.get(group + ":" + name);
+    }
+
+    private static void register(LoggingModuleRole role, String... moduleIds) {
+        for (String moduleId : moduleIds) {
+            ROLES.put(moduleId, role);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports, for each configuration, the logging APIs, bridges and backends it resolves to,
+ * and the {@code dev.jacomet.logging} capability conflicts that were resolved and how.
+ * <p>
+ * The topologies are computed from the resolution result of the configurations, so that only dependency metadata is needed.
+ * The task only writes the report, so that it can be up-to-date or loaded from the build cache, and {@link DisplayLoggingReport} displays it.
+ */
+@CacheableTask
+public abstract class LoggingReport extends DefaultTask {
+
+    /**
+     * The logging topology of each reported configuration, keyed on the configuration name.
+     *
+     * @return the topologies
+     */
+    @Input
+    public abstract MapProperty<String, String> getTopologies();
+
+    /**
+     * The file the report is written to.
+     *
+     * @return the report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void report() throws IOException {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, String> topology : new TreeMap<>(getTopologies().get()).entrySet()) {
+            report.append("Configuration ").append(topology.getKey()).append('\n').append(topology.getValue()).append('\n');
+        }
+        File reportFile = getReportFile().get().getAsFile();
+        Files.createDirectories(reportFile.getParentFile().toPath());
+        Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolutionResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.language.base.plugins.LifecycleBasePlugin;
+import org.gradle.util.GradleVersion;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Registers the {@value #TASK_NAME}, {@value #GENERATE_TASK_NAME}, {@value #ROUTE_ANALYSIS_TASK_NAME} and {@value #ROUTE_CHECK_TASK_NAME} tasks of a project,
+ * and the build wide {@value #BUILD_CHECK_TASK_NAME} task in the root project.
+ */
+public final class LoggingReports {
+    public static final String TASK_NAME = "loggingReport";
+    public static final String GENERATE_TASK_NAME = "generateLoggingReport";
+    public static final String REPORT_PATH = "reports/logging-capabilities/logging-report.txt";
+    public static final String ROUTE_CHECK_TASK_NAME = "checkLoggingRoutes";
+    public static final String ROUTE_ANALYSIS_TASK_NAME = "analyzeLoggingRoutes";
+    public static final String ROUTES_PATH = "reports/logging-capabilities/logging-routes.txt";
+    public static final String ROUTE_VIOLATIONS_PATH = "reports/logging-capabilities/logging-route-violations.txt";
+    public static final String BUILD_CHECK_TASK_NAME = "checkLoggingCapabilities";
+    public static final String BUILD_CHECK_PATH = "reports/logging-capabilities/logging-capabilities-check.txt";
+
+    private static final String SUMMARY_TASK_NAME = "loggingCapabilitiesSummary";
+    private static final String SUMMARY_PATH = "reports/logging-capabilities/logging-capabilities-summary.txt";
+    private static final String SUMMARY_ELEMENTS = "loggingCapabilitiesSummaryElements";
+    private static final String SUMMARIES = "loggingCapabilitiesSummaries";
+    private static final String SUMMARY_ATTRIBUTE_VALUE = "dev.jacomet.logging-capabilities-summary";
+
+    private static final GradleVersion GRADLE_7_4 = GradleVersion.version("7.4");
+
+    private LoggingReports() {
+    }
+
+    /**
+     * Registers the report tasks, covering the resolvable configurations of the project, like the compile and runtime classpaths.
+     * The report is generated by a cacheable task, and displayed by the {@value #TASK_NAME} task.
+     * <p>
+     * Also registers the route analysis and check tasks, covering the runtime classpaths.
+     * The {@code check} task only depends on the route check once a bridge hops threshold is configured in the extension.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, holding the route check threshold
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        TaskProvider<LoggingReport> report = project.getTasks().register(GENERATE_TASK_NAME, LoggingReport.class, task -> {
+            task.setDescription("Generates the report of the logging libraries and the logging capability conflicts of the resolvable configurations.");
+            task.getReportFile().set(project.getLayout().getBuildDirectory().file(REPORT_PATH));
+            for (Configuration configuration : project.getConfigurations()) {
+                if (configuration.isCanBeResolved()) {
+                    task.getTopologies().put(configuration.getName(), rootComponent(project, configuration).map(LoggingTopology::describe));
+                }
+            }
+        });
+        project.getTasks().register(TASK_NAME, DisplayLoggingReport.class, task -> {
+            task.setGroup("help");
+            task.setDescription("Displays the logging libraries and the logging capability conflicts of the resolvable configurations.");
+            task.getReportFile().set(report.flatMap(LoggingReport::getReportFile));
+        });
+
+        TaskProvider<LoggingRouteAnalysis> routeAnalysis = project.getTasks().register(ROUTE_ANALYSIS_TASK_NAME, LoggingRouteAnalysis.class, task -> {
+            task.setDescription("Computes the number of bridges logging events cross before reaching their backend, on the runtime classpaths.");
+            task.getMaxBridgeHops().set(project.provider(extension::getMaxBridgeHops));
+            task.getReportFile().set(project.getLayout().getBuildDirectory().file(ROUTES_PATH));
+            task.getViolationsFile().set(project.getLayout().getBuildDirectory().file(ROUTE_VIOLATIONS_PATH));
+            for (Configuration configuration : project.getConfigurations()) {
+                if (isRuntimeClasspath(configuration)) {
+                    task.getLoggingModules().put(configuration.getName(), rootComponent(project, configuration).map(LoggingTopology::loggingModuleIds));
+                }
+            }
+        });
+        TaskProvider<LoggingRouteCheck> routeCheck = project.getTasks().register(ROUTE_CHECK_TASK_NAME, LoggingRouteCheck.class, task -> {
+            task.setGroup(LifecycleBasePlugin.VERIFICATION_GROUP);
+            task.setDescription("Checks the number of bridges logging events cross before reaching their backend, on the runtime classpaths.");
+            task.getViolationsFile().set(routeAnalysis.flatMap(LoggingRouteAnalysis::getViolationsFile));
+            task.getMaxBridgeHops().set(project.provider(extension::getMaxBridgeHops));
+            task.getFailOnExcessiveBridgeHops().set(project.provider(extension::isFailOnExcessiveBridgeHops));
+        });
+        // Once the project is evaluated, as the threshold is configured in the build script after the plugin is applied
+        project.afterEvaluate(evaluated -> {
+            if (extension.isBridgeHopsThresholdConfigured()) {
+                project.getPlugins().withType(LifecycleBasePlugin.class, plugin ->
+                        project.getTasks().named(LifecycleBasePlugin.CHECK_TASK_NAME).configure(check -> check.dependsOn(routeCheck)));
+            }
+        });
+
+        registerSummary(project);
+        if (project.getParent() == null) {
+            registerBuildCheck(project);
+        }
+    }
+
+    /**
+     * Registers the summary of the runtime classpaths of the project, and publishes it as a variant for the root project to consume.
+     */
+    private static void registerSummary(Project project) {
+        TaskProvider<LoggingCapabilitiesSummary> summary = project.getTasks().register(SUMMARY_TASK_NAME, LoggingCapabilitiesSummary.class, task -> {
+            task.setDescription("Summarizes the logging setup of the runtime classpaths, for the " + BUILD_CHECK_TASK_NAME + " task.");
+            task.getProjectPath().set(project.getPath());
+            task.getSummaryFile().set(project.getLayout().getBuildDirectory().file(SUMMARY_PATH));
+            for (Configuration configuration : project.getConfigurations()) {
+                if (isRuntimeClasspath(configuration)) {
+                    task.getClasspaths().put(configuration.getName(), rootComponent(project, configuration).map(LoggingTopology::summarize));
+                }
+            }
+        });
+        project.getConfigurations().create(SUMMARY_ELEMENTS, configuration -> {
+            configuration.setCanBeConsumed(true);
+            configuration.setCanBeResolved(false);
+            configuration.setVisible(false);
+            summaryAttributes(project, configuration);
+            configuration.getOutgoing().artifact(summary.flatMap(LoggingCapabilitiesSummary::getSummaryFile));
+        });
+    }
+
+    /**
+     * Registers the build wide check, which depends on the summary variant of every project of the build.
+     * <p>
+     * The summaries are resolved leniently, as projects the plugin is not applied to do not provide one.
+     * Each summary task resolves the classpaths of its own project, so they run in parallel when parallel execution is enabled.
+     */
+    private static void registerBuildCheck(Project project) {
+        Configuration summaries = project.getConfigurations().create(SUMMARIES, configuration -> {
+            configuration.setCanBeConsumed(false);
+            configuration.setCanBeResolved(true);
+            configuration.setVisible(false);
+            summaryAttributes(project, configuration);
+        });
+        for (Project buildProject : project.getAllprojects()) {
+            project.getDependencies().add(SUMMARIES, project.getDependencies().project(Collections.singletonMap("path", buildProject.getPath())));
+        }
+        project.getTasks().register(BUILD_CHECK_TASK_NAME, LoggingCapabilitiesCheck.class, task -> {
+            task.setGroup(LifecycleBasePlugin.VERIFICATION_GROUP);
+            task.setDescription("Checks the logging capabilities of the runtime classpaths of all the projects of the build.");
+            task.getSummaries().from(summaries.getIncoming().artifactView(view -> view.lenient(true)).getFiles());
+            task.getReportFile().set(project.getLayout().getBuildDirectory().file(BUILD_CHECK_PATH));
+        });
+    }
+
+    /**
+     * Sets both the category and the usage, as variants missing a requested attribute are compatible with any value.
+     */
+    private static void summaryAttributes(Project project, Configuration configuration) {
+        configuration.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, project.getObjects().named(Category.class, SUMMARY_ATTRIBUTE_VALUE));
+        configuration.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, SUMMARY_ATTRIBUTE_VALUE));
+    }
+
+    private static boolean isRuntimeClasspath(Configuration configuration) {
+        String name = configuration.getName();
+        return configuration.isCanBeResolved() && !configuration.isCanBeConsumed()
+                && (name.equals(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME) || name.endsWith("RuntimeClasspath"));
+    }
+
+    /**
+     * Returns the versions of the modules the configuration resolves to, computed from its resolution result only.
+     *
+     * @param project the project owning the configuration
+     * @param configuration the configuration
+     * @return the versions, keyed on the {@code group:name} identifiers of the modules
+     */
+    public static Provider<Map<String, String>> moduleVersions(Project project, Configuration configuration) {
+        return rootComponent(project, configuration).map(LoggingTopology::moduleVersions);
+    }
+
+    /**
+     * Returns the root of the resolution result of the configuration, which is lazily resolved.
+     * <p>
+     * Gradle 7.4 added {@code ResolutionResult.getRootComponent()}, which is compatible with the configuration cache.
+     * It is looked up reflectively, as the plugin is compiled against an older Gradle API.
+     *
+     * @param project the project owning the configuration
+     * @param configuration the configuration
+     * @return the root component provider
+     */
+    @SuppressWarnings("unchecked")
+    public static Provider<ResolvedComponentResult> rootComponent(Project project, Configuration configuration) {
+        if (GradleVersion.current().compareTo(GRADLE_7_4) >= 0) {
+            try {
+                Method getRootComponent = ResolutionResult.class.getMethod("getRootComponent");
+                return (Provider<ResolvedComponentResult>) getRootComponent.invoke(configuration.getIncoming().getResolutionResult());
+            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Unable to access the root component of configuration '" + configuration.getName() + "'", e);
+            }
+        }
+        return project.provider(() -> configuration.getIncoming().getResolutionResult().getRoot());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes the number of bridges a logging event crosses, from each logging API of a runtime classpath to its backend.
+ * <p>
+ * Routes going through more bridges than allowed, or looping between bridges, are written to a violations file,
+ * which {@link LoggingRouteCheck} reports as a warning or a failure, so that this task can be up-to-date or loaded from the build cache.
+ */
+@CacheableTask
+public abstract class LoggingRouteAnalysis extends DefaultTask {
+
+    /**
+     * The logging modules of each checked classpath, keyed on the configuration name,
+     * as comma separated {@code group:name} identifiers.
+     *
+     * @return the logging modules
+     */
+    @Input
+    public abstract MapProperty<String, String> getLoggingModules();
+
+    /**
+     * The maximum number of bridges a route can cross.
+     *
+     * @return the maximum number of hops
+     */
+    @Input
+    public abstract Property<Integer> getMaxBridgeHops();
+
+    /**
+     * The file the routes are written to.
+     *
+     * @return the report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * The file the routes exceeding {@link #getMaxBridgeHops()}, or looping, are written to, one per line.
+     *
+     * @return the violations file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getViolationsFile();
+
+    @TaskAction
+    public void analyze() throws IOException {
+        int maxHops = getMaxBridgeHops().get();
+        StringBuilder report = new StringBuilder();
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, String> classpath : new TreeMap<>(getLoggingModules().get()).entrySet()) {
+            report.append("Configuration ").append(classpath.getKey()).append('\n');
+            String modules = classpath.getValue();
+            for (BridgeRoutes.Route route : BridgeRoutes.analyze(new LinkedHashSet<>(modules.isEmpty() ? new ArrayList<>() : Arrays.asList(modules.split(","))))) {
+                report.append("  ").append(route.describe()).append('\n');
+                if (route.cyclic || route.getHops() > maxHops) {
+                    violations.add(classpath.getKey() + ": " + route.describe());
+                }
+            }
+            report.append('\n');
+        }
+        File reportFile = getReportFile().get().getAsFile();
+        Files.createDirectories(reportFile.getParentFile().toPath());
+        Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+        File violationsFile = getViolationsFile().get().getAsFile();
+        Files.createDirectories(violationsFile.getParentFile().toPath());
+        Files.write(violationsFile.toPath(), violations, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the routes found by {@link LoggingRouteAnalysis} that cross more bridges than allowed, or loop between bridges,
+ * and reports them as a warning or makes the task fail.
+ * <p>
+ * The task has no output, so it reports the violations of an up-to-date analysis on every build.
+ */
+public abstract class LoggingRouteCheck extends DefaultTask {
+
+    /**
+     * The routes exceeding the maximum number of hops, as written by {@link LoggingRouteAnalysis}.
+     *
+     * @return the violations file
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getViolationsFile();
+
+    /**
+     * The maximum number of bridges a route can cross, as used by the analysis.
+     *
+     * @return the maximum number of hops
+     */
+    @Input
+    public abstract Property<Integer> getMaxBridgeHops();
+
+    /**
+     * Whether routes exceeding {@link #getMaxBridgeHops()} make the task fail, instead of being reported as a warning.
+     *
+     * @return whether to fail on excessive hops
+     */
+    @Input
+    public abstract Property<Boolean> getFailOnExcessiveBridgeHops();
+
+    @TaskAction
+    public void check() throws IOException {
+        List<String> violations = new ArrayList<>();
+        for (String line : Files.readAllLines(getViolationsFile().get().getAsFile().toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                violations.add(line);
+            }
+        }
+        if (!violations.isEmpty()) {
+            int maxHops = getMaxBridgeHops().get();
+            String message = "Logging routes checked by " + getPath() + " cross more than " + maxHops + (maxHops == 1 ? " bridge" : " bridges") + " or loop:\n  "
+                    + String.join("\n  ", violations);
+            if (getFailOnExcessiveBridgeHops().get()) {
+                throw new GradleException(message);
+            }
+            getLogger().warn(message);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.report;
+
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ComponentSelectionCause;
+import org.gradle.api.artifacts.result.ComponentSelectionDescriptor;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Describes the logging modules of a resolved graph, and the logging capability conflicts that were resolved in it.
+ * <p>
+ * Only the metadata of the graph is used, no artifact is ever downloaded.
+ */
+final class LoggingTopology {
+    static final String OK = "OK";
+    static final String FAILED = "FAILED";
+
+    private static final Pattern LOGGING_CAPABILITY = Pattern.compile("dev\\.jacomet\\.logging:[\\w.-]+");
+
+    private LoggingTopology() {
+    }
+
+    /**
+     * Renders the topology of the graph starting at the given root.
+     *
+     * @param root the root of the resolved graph
+     * @return the description, with one module or conflict per line
+     */
+    static String describe(ResolvedComponentResult root) {
+        Map<LoggingModuleRole, Set<String>> modules = new EnumMap<>(LoggingModuleRole.class);
+        for (LoggingModuleRole role : LoggingModuleRole.values()) {
+            modules.put(role, new TreeSet<>());
+        }
+        Set<String> conflicts = new TreeSet<>();
+
+        forEachComponent(root, component -> {
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                LoggingModuleRole role = LoggingModuleRole.of(id.getGroup(), id.getModule());
+                if (role != null) {
+                    modules.get(role).add(id.getDisplayName());
+                }
+                for (ComponentSelectionDescriptor descriptor : component.getSelectionReason().getDescriptions()) {
+                    if (descriptor.getCause() == ComponentSelectionCause.CONFLICT_RESOLUTION) {
+                        Matcher capability = LOGGING_CAPABILITY.matcher(descriptor.getDescription());
+                        if (capability.find()) {
+                            conflicts.add(capability.group() + " -> " + id.getDisplayName() + " (" + descriptor.getDescription() + ")");
+                        }
+                    }
+                }
+            }
+        });
+
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<LoggingModuleRole, Set<String>> entry : modules.entrySet()) {
+            appendSection(description, entry.getKey().title, entry.getValue());
+        }
+        appendSection(description, "Logging capability conflicts", conflicts);
+        return description.toString();
+    }
+
+    /**
+     * Lists the logging modules of the graph starting at the given root.
+     *
+     * @param root the root of the resolved graph
+     * @return the {@code group:name} identifiers of the logging modules, comma separated and sorted
+     */
+    static String loggingModuleIds(ResolvedComponentResult root) {
+        Set<String> moduleIds = new TreeSet<>();
+        forEachComponent(root, component -> {
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                if (LoggingModuleRole.of(id.getGroup(), id.getModule()) != null) {
+                    moduleIds.add(id.getGroup() + ":" + id.getModule());
+                }
+            }
+        });
+        return String.join(",", moduleIds);
+    }
+
+    /**
+     * Summarizes the graph starting at the given root, in a single line.
+     * <p>
+     * Dependencies rejected because of a {@code dev.jacomet.logging} capability conflict make the graph {@value #FAILED},
+     * otherwise it is {@value #OK} and the summary lists the logging backends.
+     *
+     * @param root the root of the resolved graph
+     * @return the status, followed by a tab and the backends or the conflicts
+     */
+    static String summarize(ResolvedComponentResult root) {
+        Set<String> backends = new TreeSet<>();
+        Set<String> conflicts = new TreeSet<>();
+        forEachComponent(root, component -> {
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                if (LoggingModuleRole.of(id.getGroup(), id.getModule()) == LoggingModuleRole.BACKEND) {
+                    backends.add(id.getDisplayName());
+                }
+            }
+            for (DependencyResult dependency : component.getDependencies()) {
+                if (dependency instanceof UnresolvedDependencyResult) {
+                    for (Throwable failure = ((UnresolvedDependencyResult) dependency).getFailure(); failure != null; failure = failure.getCause()) {
+                        Matcher capability = LOGGING_CAPABILITY.matcher(String.valueOf(failure.getMessage()));
+                        if (capability.find()) {
+                            conflicts.add(dependency.getRequested().getDisplayName() + " rejected on " + capability.group());
+                            break;
+                        }
+                    }
+                }
+            }
+        });
+        if (!conflicts.isEmpty()) {
+            return FAILED + "\t" + String.join(", ", conflicts);
+        }
+        return OK + "\t" + (backends.isEmpty() ? "no backend" : String.join(", ", backends));
+    }
+
+    /**
+     * Returns the versions of the modules of the graph starting at the given root.
+     *
+     * @param root the root of the resolved graph
+     * @return the versions, keyed on the {@code group:name} identifiers of the modules
+     */
+    static Map<String, String> moduleVersions(ResolvedComponentResult root) {
+        Map<String, String> versions = new TreeMap<>();
+        forEachComponent(root, component -> {
+            if (component.getId() instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier id = (ModuleComponentIdentifier) component.getId();
+                versions.put(id.getGroup() + ":" + id.getModule(), id.getVersion());
+            }
+        });
+        return versions;
+    }
+
+    private static void forEachComponent(ResolvedComponentResult root, Consumer<ResolvedComponentResult> action) {
+        Set<ComponentIdentifier> seen = new HashSet<>();
+        Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        seen.add(root.getId());
+        while (!queue.isEmpty()) {
+            ResolvedComponentResult component = queue.poll();
+            action.accept(component);
+            for (DependencyResult dependency : component.getDependencies()) {
+                if (dependency instanceof ResolvedDependencyResult) {
+                    ResolvedComponentResult selected = ((ResolvedDependencyResult) dependency).getSelected();
+                    if (seen.add(selected.getId())) {
+                        queue.add(selected);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void appendSection(StringBuilder description, String title, Set<String> lines) {
+        description.append("  ").append(title).append(":\n");
+        if (lines.isEmpty()) {
+            description.append("    (none)\n");
+        }
+        for (String line : lines) {
+            description.append("    ").append(line).append('\n');
+        }
+    }
+}
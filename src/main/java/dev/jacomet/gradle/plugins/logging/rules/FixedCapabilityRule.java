@@ -15,7 +15,10 @@
  */
 package dev.jacomet.gradle.plugins.logging.rules;
 
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.instrumentation.RuleExecutions;
 import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
 import org.gradle.api.artifacts.ComponentMetadataRule;
 
 /**
@@ -23,7 +26,8 @@ import org.gradle.api.artifacts.ComponentMetadataRule;
  */
 abstract class FixedCapabilityRule implements ComponentMetadataRule {
     static final String CAPABILITY_GROUP = "dev.jacomet.logging";
-    
+    static final String CAPABILITY_VERSION = "1.0";
+
     private final String name;
 
     protected FixedCapabilityRule(String name) {
@@ -32,10 +36,14 @@ abstract class FixedCapabilityRule implements ComponentMetadataRule {
 
     @Override
     public void execute(ComponentMetadataContext context) {
-        context.getDetails().allVariants(variant -> {
+        Object event = FlightRecorderEvents.beginRule();
+        RuleExecutions.record(getClass());
+        ComponentMetadataDetails details = context.getDetails();
+        details.allVariants(variant -> {
             variant.withCapabilities(capabilities -> {
-                capabilities.addCapability("dev.jacomet.logging", name, "1.0");
+                capabilities.addCapability(CAPABILITY_GROUP, name, CAPABILITY_VERSION);
             });
         });
+        FlightRecorderEvents.commitRule(event, getClass(), details.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.rules;
+
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.instrumentation.RuleExecutions;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+
+/**
+ * Adds to {@code log4j-core} a constraint on the LMAX Disruptor version its asynchronous loggers are compatible with.
+ * <p>
+ * The rule is only registered once asynchronous loggers are enforced, and a constraint only applies when the Disruptor is part of the graph,
+ * like when added by {@code enforceLog4J2Async()}.
+ * {@code log4j-core} supports Disruptor 4 from 2.23.0, and Disruptor 3.4 before that, in which case Disruptor 4 is rejected,
+ * as it would otherwise win over the constraint when another dependency requires it.
+ */
+@CacheableRule
+public class Log4J2AsyncDisruptorRule implements ComponentMetadataRule {
+    public static final String DISRUPTOR = "com.lmax:disruptor";
+    public static final String DISRUPTOR_3 = "3.4.4";
+    public static final String DISRUPTOR_4 = "4.0.0";
+    static final String DISRUPTOR_4_AND_ABOVE = "[4.0,)";
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        Object event = FlightRecorderEvents.beginRule();
+        RuleExecutions.record(getClass());
+        ComponentMetadataDetails details = context.getDetails();
+        String disruptorVersion = disruptorVersionFor(details.getId().getVersion());
+        details.allVariants(variant -> variant.withDependencyConstraints(constraints -> constraints.add(DISRUPTOR, constraint -> {
+            constraint.version(version -> {
+                version.require(disruptorVersion);
+                if (DISRUPTOR_3.equals(disruptorVersion)) {
+                    version.reject(DISRUPTOR_4_AND_ABOVE);
+                }
+            });
+            constraint.because("Asynchronous loggers of log4j-core " + details.getId().getVersion() + " require Disruptor " + disruptorVersion);
+        })));
+        FlightRecorderEvents.commitRule(event, getClass(), details.getId());
+    }
+
+    static String disruptorVersionFor(String log4jVersion) {
+        String[] parts = log4jVersion.split("[.-]");
+        int major = parts.length > 0 ? leadingNumber(parts[0]) : 0;
+        int minor = parts.length > 1 ? leadingNumber(parts[1]) : 0;
+        return major > 2 || (major == 2 && minor >= 23) ? DISRUPTOR_4 : DISRUPTOR_3;
+    }
+
+    private static int leadingNumber(String part) {
+        int end = 0;
+        while (end < part.length() && Character.isDigit(part.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Integer.parseInt(part.substring(0, end));
+    }
+}
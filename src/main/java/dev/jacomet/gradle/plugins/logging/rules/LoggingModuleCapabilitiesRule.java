@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.rules;
+
+import dev.jacomet.gradle.plugins.logging.LoggingModuleIdentifiers;
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.instrumentation.RuleExecutions;
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single rule adding all the {@code dev.jacomet.logging} capabilities of a logging module to all its variants.
+ * <p>
+ * The capabilities are looked up in a table keyed on the module identifier, so that a module needing several capabilities,
+ * like {@code jcl-over-slf4j}, is handled in a single pass over its variants.
+ */
+@CacheableRule
+public class LoggingModuleCapabilitiesRule implements ComponentMetadataRule {
+
+    private static final Map<String, LoggingCapability[]> CAPABILITIES;
+    private static final Set<String> CAPABILITY_IDS;
+
+    static {
+        Map<String, LoggingCapability[]> capabilities = new LinkedHashMap<>();
+
+        // `log4j-slf4j-impl`, `log4j-slf4j2-impl` and `log4j-to-slf4j` are exclusive
+        // `log4j-core` and `log4j-to-slf4j` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_SLF4J_IMPL, versioned(Log4J2vsSlf4J.CAPABILITY_NAME), fixed(Slf4JImplementation.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_SLF4J2_IMPL, versioned(Log4J2vsSlf4J.CAPABILITY_NAME), fixed(Slf4JImplementation.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_TO_SLF4J, versioned(Log4J2vsSlf4J.CAPABILITY_NAME), versioned(Log4J2Implementation.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_CORE, versioned(Log4J2Implementation.CAPABILITY_NAME));
+
+        // Only one Slf4J binding can be on the classpath
+        register(capabilities, LoggingModuleIdentifiers.SLF4J_SIMPLE, fixed(Slf4JImplementation.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.SLF4J_NOP, fixed(Slf4JImplementation.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOGBACK_CLASSIC, fixed(Slf4JImplementation.CAPABILITY_NAME));
+        // `log4j-over-slf4j` and `slf4j-log4j12` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.SLF4J_LOG4J12, fixed(Slf4JImplementation.CAPABILITY_NAME), versioned(Slf4JvsLog4J.CAPABILITY_NAME));
+        // `jcl-over-slf4j` and `slf4j-jcl` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.SLF4J_JCL, fixed(Slf4JImplementation.CAPABILITY_NAME), versioned(Slf4JVsJCL.CAPABILITY_NAME));
+        // `jul-to-slf4j` and `slf4j-jdk14` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.SLF4J_JDK14, fixed(Slf4JImplementation.CAPABILITY_NAME), versioned(Slf4JvsJUL.CAPABILITY_NAME));
+
+        // `log4j-over-slf4j`, `log4j-1.2-api` and `log4j` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_OVER_SLF4J, versioned(Slf4JvsLog4J.CAPABILITY_NAME), fixed(Slf4JvsLog4J2ForLog4J.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J12API, fixed(Slf4JvsLog4J2ForLog4J.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J, fixed(Slf4JvsLog4J2ForLog4J.CAPABILITY_NAME));
+
+        // `jul-to-slf4j` and `log4j-jul` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.JUL_TO_SLF4J, versioned(Slf4JvsJUL.CAPABILITY_NAME), fixed(Slf4JvsLog4J2ForJUL.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_JUL, fixed(Slf4JvsLog4J2ForJUL.CAPABILITY_NAME));
+
+        // `commons-logging`, `jcl-over-slf4j` and `spring-jcl` are exclusive
+        // `jcl-over-slf4j` and `log4j-jcl` are exclusive
+        register(capabilities, LoggingModuleIdentifiers.COMMONS_LOGGING, fixed(CommonsLoggingImplementationRule.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.JCL_OVER_SLF4J, fixed(CommonsLoggingImplementationRule.CAPABILITY_NAME), versioned(Slf4JVsJCL.CAPABILITY_NAME), fixed(Slf4JVsLog4J2ForJCL.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.SPRING_JCL, fixed(CommonsLoggingImplementationRule.CAPABILITY_NAME));
+        register(capabilities, LoggingModuleIdentifiers.LOG4J_JCL, fixed(Slf4JVsLog4J2ForJCL.CAPABILITY_NAME));
+
+        CAPABILITIES = Collections.unmodifiableMap(capabilities);
+
+        Set<String> capabilityIds = new LinkedHashSet<>();
+        for (LoggingCapability[] moduleCapabilities : capabilities.values()) {
+            for (LoggingCapability capability : moduleCapabilities) {
+                capabilityIds.add(FixedCapabilityRule.CAPABILITY_GROUP + ":" + capability.name);
+            }
+        }
+        CAPABILITY_IDS = Collections.unmodifiableSet(capabilityIds);
+    }
+
+    /**
+     * Returns the identifiers, as {@code group:name}, of all the modules this rule needs to be registered for.
+     *
+     * @return the module identifiers
+     */
+    public static Set<String> getModuleIds() {
+        return CAPABILITIES.keySet();
+    }
+
+    /**
+     * Returns the identifiers, as {@code group:name}, of all the capabilities this rule adds.
+     *
+     * @return the capability identifiers
+     */
+    public static Set<String> getCapabilityIds() {
+        return CAPABILITY_IDS;
+    }
+
+    /**
+     * Returns the capabilities, as {@code group:name:version}, this rule adds to the given module at the given version.
+     *
+     * @param moduleId the module identifier, as {@code group:name}
+     * @param version the module version
+     * @return the capability notations, empty for a module this rule does not apply to
+     */
+    public static List<String> getCapabilities(String moduleId, String version) {
+        LoggingCapability[] capabilities = CAPABILITIES.get(moduleId);
+        if (capabilities == null) {
+            return Collections.emptyList();
+        }
+        List<String> notations = new ArrayList<>();
+        for (LoggingCapability capability : capabilities) {
+            notations.add(FixedCapabilityRule.CAPABILITY_GROUP + ":" + capability.name + ":" + (capability.versioned ? version : FixedCapabilityRule.CAPABILITY_VERSION));
+        }
+        return notations;
+    }
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        Object event = FlightRecorderEvents.beginRule();
+        RuleExecutions.record(getClass());
+        ComponentMetadataDetails details = context.getDetails();
+        ModuleVersionIdentifier id = details.getId();
+        LoggingCapability[] capabilities = CAPABILITIES.get(id.getGroup() + ":" + id.getName());
+        if (capabilities != null) {
+            String version = id.getVersion();
+            details.allVariants(variant -> {
+                variant.withCapabilities(variantCapabilities -> {
+                    for (LoggingCapability capability : capabilities) {
+                        variantCapabilities.addCapability(FixedCapabilityRule.CAPABILITY_GROUP, capability.name, capability.versioned ? version : FixedCapabilityRule.CAPABILITY_VERSION);
+                    }
+                });
+            });
+        }
+        FlightRecorderEvents.commitRule(event, getClass(), id);
+    }
+
+    private static void register(Map<String, LoggingCapability[]> capabilities, LoggingModuleIdentifiers module, LoggingCapability... moduleCapabilities) {
+        capabilities.put(module.moduleId, moduleCapabilities);
+    }
+
+    private static LoggingCapability fixed(String name) {
+        return new LoggingCapability(name, false);
+    }
+
+    private static LoggingCapability versioned(String name) {
+        return new LoggingCapability(name, true);
+    }
+
+    private static final class LoggingCapability {
+        private final String name;
+        private final boolean versioned;
+
+        private LoggingCapability(String name, boolean versioned) {
+            this.name = name;
+            this.versioned = versioned;
+        }
+    }
+}
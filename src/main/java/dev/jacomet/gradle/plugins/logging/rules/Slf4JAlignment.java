@@ -1,15 +1,39 @@
 package dev.jacomet.gradle.plugins.logging.rules;
 
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.instrumentation.RuleExecutions;
+import org.gradle.api.artifacts.CacheableRule;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
 import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
 
+import javax.inject.Inject;
+import java.util.Set;
+
+@CacheableRule
 public class Slf4JAlignment implements ComponentMetadataRule {
+    private final Set<String> skippedModules;
+
+    /**
+     * Creates the rule.
+     *
+     * @param skippedModules the modules, as {@code group:name}, already aligned by another registration of the rule
+     */
+    @Inject
+    public Slf4JAlignment(Set<String> skippedModules) {
+        this.skippedModules = skippedModules;
+    }
+
     @Override
     public void execute(ComponentMetadataContext context) {
+        Object event = FlightRecorderEvents.beginRule();
+        RuleExecutions.record(getClass());
         ComponentMetadataDetails details = context.getDetails();
-        if (details.getId().getGroup().startsWith("org.slf4j")) {
-            details.belongsTo("dev.jacomet.logging.align:slf4j:" + details.getId().getVersion());
+        ModuleVersionIdentifier id = details.getId();
+        if (id.getGroup().equals("org.slf4j") && !skippedModules.contains(id.getGroup() + ":" + id.getName())) {
+            details.belongsTo("dev.jacomet.logging.align:slf4j:" + id.getVersion());
         }
+        FlightRecorderEvents.commitRule(event, getClass(), id);
     }
 }
@@ -15,6 +15,8 @@
  */
 package dev.jacomet.gradle.plugins.logging.rules;
 
+import dev.jacomet.gradle.plugins.logging.instrumentation.FlightRecorderEvents;
+import dev.jacomet.gradle.plugins.logging.instrumentation.RuleExecutions;
 import org.gradle.api.artifacts.ComponentMetadataContext;
 import org.gradle.api.artifacts.ComponentMetadataDetails;
 import org.gradle.api.artifacts.ComponentMetadataRule;
@@ -31,6 +33,8 @@ abstract class VersionedCapabilityRule implements ComponentMetadataRule {
 
     @Override
     public void execute(ComponentMetadataContext context) {
+        Object event = FlightRecorderEvents.beginRule();
+        RuleExecutions.record(getClass());
         ComponentMetadataDetails details = context.getDetails();
         String version = details.getId().getVersion();
         details.allVariants( variant -> {
@@ -38,5 +42,6 @@ abstract class VersionedCapabilityRule implements ComponentMetadataRule {
                 capabilities.addCapability("dev.jacomet.logging", name, version);
             });
         });
+        FlightRecorderEvents.commitRule(event, getClass(), details.getId());
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.file.Directory;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.util.Arrays;
+
+/**
+ * Makes a JVM use the class data sharing archive generated by {@link GenerateLoggingCdsArchive}.
+ * <p>
+ * The archive is not an input, as it only changes how fast classes load and is specific to the JVM that generated it.
+ * With {@code -Xshare:auto}, a JVM that cannot use the archive runs without it.
+ */
+public class CdsArchiveArguments implements CommandLineArgumentProvider {
+    private final Provider<Directory> archiveDirectory;
+
+    public CdsArchiveArguments(Provider<Directory> archiveDirectory) {
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    /**
+     * The output directory of the archive generation task.
+     *
+     * @return the directory holding the archive
+     */
+    @Internal
+    public Provider<Directory> getArchiveDirectory() {
+        return archiveDirectory;
+    }
+
+    @Override
+    public Iterable<String> asArguments() {
+        return Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile=" + archiveDirectory.get().file(GenerateLoggingCdsArchive.ARCHIVE).getAsFile().getAbsolutePath());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.report.LoggingModuleRole;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Specs;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.TaskProvider;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Registers a {@code generate<Task>LoggingCdsArchive} task for each exec task of a project, and makes the task use the archive it generates
+ * when {@link LoggingCapabilitiesExtension#archiveLoggingClasses()} is enabled.
+ * <p>
+ * Each archive is generated from the classpath of its task, once filtered by the build script and the bridge pruning, so that it holds the jars
+ * and versions the task runs with, and with the {@code java} executable of the task, which is the only one that can use it.
+ * <p>
+ * Test tasks are left alone: the class path of a test worker starts with the worker jar of Gradle, so it never starts with the class path of the archive,
+ * and the JVM would silently run without it.
+ */
+public final class CdsArchiveGeneration {
+    public static final String OUTPUT_PATH = "logging-capabilities/cds";
+    // Modules of the logging stack without a role of their own, without which a backend cannot initialize
+    private static final Set<String> BACKEND_SUPPORT_MODULES = Collections.singleton("ch.qos.logback:logback-core");
+
+    private CdsArchiveGeneration() {
+    }
+
+    /**
+     * Registers the archive generation tasks once the project is evaluated, archiving the logging stack of the classpath of each exec task.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which enables the use of the archives
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            // Once the project is evaluated, as the use of the archives is enabled in the build script after the plugin is applied
+            project.afterEvaluate(evaluated -> {
+                if (!extension.isArchiveLoggingClasses()) {
+                    return;
+                }
+                FileCollection loggingJars = project.files(
+                        loggingJarsOf(project, JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME),
+                        loggingJarsOf(project, JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
+                for (String name : new ArrayList<>(project.getTasks().withType(JavaExec.class).getNames())) {
+                    register(project, project.getTasks().named(name, JavaExec.class), loggingJars);
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns the name of the task generating the archive of an exec task.
+     *
+     * @param taskName the name of the exec task
+     * @return the name of the archive generation task
+     */
+    public static String taskName(String taskName) {
+        return "generate" + Character.toUpperCase(taskName.charAt(0)) + taskName.substring(1) + "LoggingCdsArchive";
+    }
+
+    /**
+     * Moves the logging jars of the classpath of a task first, keeping their order and the order of the other entries:
+     * a JVM only uses an archive when its class path starts with the class path of the archive.
+     */
+    private static void register(Project project, TaskProvider<JavaExec> task, FileCollection loggingJars) {
+        LoggingJars isLoggingJar = new LoggingJars(loggingJars);
+        Provider<Directory> outputDirectory = project.getLayout().getBuildDirectory().dir(OUTPUT_PATH + "/" + task.getName());
+        TaskProvider<GenerateLoggingCdsArchive> generateArchive = project.getTasks().register(taskName(task.getName()), GenerateLoggingCdsArchive.class, generate -> {
+            generate.setDescription("Generates a class data sharing archive of the logging stack of the classpath of the '" + task.getName() + "' task.");
+            // The classpath of the task once reordered, whose logging jars are the ones of the original classpath, in the same order
+            generate.getClasspath().from((Callable<FileCollection>) () -> task.get().getClasspath().filter(isLoggingJar));
+            generate.getJavaExecutable().convention(project.provider(() -> javaExecutableOf(task.get())));
+            generate.getOutputDirectory().set(outputDirectory);
+        });
+        task.configure(configured -> {
+            FileCollection classpath = configured.getClasspath();
+            configured.setClasspath(project.files(classpath.filter(isLoggingJar), classpath.filter(Specs.negate(isLoggingJar))));
+            configured.dependsOn(generateArchive);
+            configured.getJvmArgumentProviders().add(new CdsArchiveArguments(outputDirectory));
+        });
+    }
+
+    /**
+     * Returns the executable of the task, which defaults to the one of the Java installation running Gradle.
+     */
+    private static String javaExecutableOf(JavaExec task) {
+        String executable = task.getExecutable();
+        return executable != null ? executable : new File(System.getProperty("java.home"), "bin/java").getAbsolutePath();
+    }
+
+    private static FileCollection loggingJarsOf(Project project, String classpathName) {
+        return project.getConfigurations().getByName(classpathName).getIncoming()
+                .artifactView(view -> view.componentFilter(CdsArchiveGeneration::isLoggingModule)).getFiles();
+    }
+
+    private static boolean isLoggingModule(ComponentIdentifier id) {
+        if (id instanceof ModuleComponentIdentifier) {
+            ModuleComponentIdentifier module = (ModuleComponentIdentifier) id;
+            return LoggingModuleRole.of(module.getGroup(), module.getModule()) != null
+                    || BACKEND_SUPPORT_MODULES.contains(module.getGroup() + ":" + module.getModule());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Writes the entry points the plugin runs in a separate JVM, like {@link LoggingWarmup}, to a jar of their own.
+ * <p>
+ * Such an entry point only references the JDK, so that the jar can be put on any runtime classpath without the plugin.
+ */
+final class ClassJars {
+    private ClassJars() {
+    }
+
+    static void write(File jar, Class<?> type) throws IOException {
+        String entryName = type.getName().replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+             InputStream in = type.getClassLoader().getResourceAsStream(entryName)) {
+            if (in == null) {
+                throw new IOException("Unable to find the '" + entryName + "' class file");
+            }
+            out.putNextEntry(new JarEntry(entryName));
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+    }
+}
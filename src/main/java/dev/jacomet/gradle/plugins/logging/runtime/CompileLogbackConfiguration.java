@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles the Logback XML configuration of a project into the serialized model Logback loads instead of interpreting the XML at startup.
+ * <p>
+ * The model is written as {@value #MODEL}, which Logback loads instead of its XML configuration when named by the {@code logback.scmoFile} system property.
+ * It is not added to the resources, as Logback looks for a {@value #MODEL} resource before any XML configuration, including {@code logback-test.xml}
+ * and the configurations of the projects depending on a library.
+ * Nothing is written without a configuration, or when the resolved {@code logback-classic} cannot load a serialized model.
+ */
+@CacheableTask
+public abstract class CompileLogbackConfiguration extends DefaultTask {
+    static final String MODEL = "logback.scmo";
+    static final String COMPILER_JAR = "logback-model-compiler.jar";
+
+    /**
+     * The Logback XML configuration, if the project has one.
+     *
+     * @return the configuration file
+     */
+    @Optional
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getConfigurationFile();
+
+    /**
+     * The version of {@code logback-classic} of the runtime classpath, if any.
+     *
+     * @return the resolved version
+     */
+    @Optional
+    @Input
+    public abstract Property<String> getLogbackVersion();
+
+    /**
+     * The classes and the runtime classpath of the project, which the classes the configuration references must be part of.
+     *
+     * @return the classpath
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * The directory of the compiled model.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @TaskAction
+    public void compile() throws IOException {
+        File model = getOutputDirectory().file(MODEL).get().getAsFile();
+        Files.deleteIfExists(model.toPath());
+        if (!getConfigurationFile().isPresent()) {
+            getLogger().info("No Logback configuration to compile");
+            return;
+        }
+        String logbackVersion = getLogbackVersion().getOrNull();
+        if (logbackVersion == null || !supportsSerializedModel(logbackVersion)) {
+            getLogger().info("Logback {} cannot load a serialized configuration model, it requires 1.3.9 or 1.4.9 and above", logbackVersion);
+            return;
+        }
+
+        File compilerJar = new File(getTemporaryDir(), COMPILER_JAR);
+        ClassJars.write(compilerJar, LogbackModelCompiler.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<String> paths = new ArrayList<>();
+        paths.add(compilerJar.getAbsolutePath());
+        for (File file : getClasspath()) {
+            paths.add(file.getAbsolutePath());
+        }
+        ExecResult result = getExecOperations().exec(spec -> {
+            spec.setExecutable(new File(System.getProperty("java.home"), "bin/java").getAbsolutePath());
+            spec.args("-cp", String.join(File.pathSeparator, paths), LogbackModelCompiler.class.getName());
+            spec.args(getConfigurationFile().get().getAsFile().getAbsolutePath(), model.getAbsolutePath());
+            spec.setWorkingDir(getTemporaryDir());
+            spec.setStandardOutput(output);
+            spec.setErrorOutput(output);
+            spec.setIgnoreExitValue(true);
+        });
+        if (result.getExitValue() != 0) {
+            throw new GradleException("Unable to compile the Logback configuration '" + getConfigurationFile().get().getAsFile() + "':\n" + output);
+        }
+        getLogger().info(output.toString());
+    }
+
+    /**
+     * Returns whether the given Logback version loads a serialized configuration model, which came with 1.3.9 and 1.4.9.
+     *
+     * @param logbackVersion the version of {@code logback-classic}
+     * @return {@code true} if a serialized model is loaded
+     */
+    static boolean supportsSerializedModel(String logbackVersion) {
+        if (ProviderPins.compare(logbackVersion, "1.4") >= 0) {
+            return ProviderPins.compare(logbackVersion, "1.4.9") >= 0;
+        }
+        return ProviderPins.compare(logbackVersion, "1.3.9") >= 0;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the class file of {@link JulToSlf4JConfiguration}, which the {@code java.util.logging.config.class} pin names.
+ * <p>
+ * The output directory is only added to the classpath of the test and exec tasks, and never to the resources, so that the class
+ * is neither packaged nor part of the module of a modular project.
+ */
+public abstract class GenerateJulToSlf4JConfiguration extends DefaultTask {
+
+    /**
+     * The directory of the generated class file.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        String entryName = JulToSlf4JConfiguration.class.getName().replace('.', '/') + ".class";
+        File classFile = new File(getOutputDirectory().get().getAsFile(), entryName);
+        try (InputStream in = JulToSlf4JConfiguration.class.getClassLoader().getResourceAsStream(entryName)) {
+            if (in == null) {
+                throw new IOException("Unable to find the '" + entryName + "' class file");
+            }
+            Files.createDirectories(classFile.getParentFile().toPath());
+            Files.copy(in, classFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates an application class data sharing archive of the logging stack of the classpath of an exec task.
+ * <p>
+ * A first JVM runs {@link LoggingWarmup} on the logging jars of the classpath, recording the classes it loads in {@value #CLASS_LIST}.
+ * A second JVM dumps these classes to {@value #ARCHIVE}. The archive can only be used by JVMs of the same build,
+ * whose class path starts with the class path of the archive: the logging jars of the classpath, in the same order.
+ * The warm-up jar is only on the class path of the first JVM, so that it is not needed by the JVMs using the archive.
+ * <p>
+ * The task is not cacheable, as the archive is specific to the JVM that generated it.
+ * For the same reason, and as its class path holds the absolute paths of the jars in the Gradle caches, the archive is not meant to be packaged.
+ */
+public abstract class GenerateLoggingCdsArchive extends DefaultTask {
+    static final String WARMUP_JAR = "logging-warmup.jar";
+    static final String CLASS_LIST = "logging.classlist";
+    static final String ARCHIVE = "logging.jsa";
+
+    /**
+     * The logging jars of the classpath of the task using the archive, in the order of that classpath.
+     * Only jars are archived, as directories cannot be part of an archive class path.
+     *
+     * @return the logging jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * The {@code java} executable generating the archive, which must be the one of the JVMs using it.
+     * It defaults to the executable of the exec task.
+     *
+     * @return the path of the executable
+     */
+    @Input
+    public abstract Property<String> getJavaExecutable();
+
+    /**
+     * The directory holding the warm-up jar, the class list and the archive.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File outputDirectory = getOutputDirectory().get().getAsFile();
+        File warmupJar = new File(outputDirectory, WARMUP_JAR);
+        ClassJars.write(warmupJar, LoggingWarmup.class);
+        List<String> paths = new ArrayList<>();
+        for (File file : archiveClasspath(getClasspath())) {
+            paths.add(file.getAbsolutePath());
+        }
+        String classpath = String.join(File.pathSeparator, paths);
+        File classList = new File(outputDirectory, CLASS_LIST);
+        File archive = new File(outputDirectory, ARCHIVE);
+
+        run("-Xshare:off", "-XX:DumpLoadedClassList=" + classList.getAbsolutePath(), "-cp", classpath + File.pathSeparator + warmupJar.getAbsolutePath(), LoggingWarmup.class.getName());
+        // The warm-up class is not on the class path of the archive
+        String warmupClass = LoggingWarmup.class.getName().replace('.', '/');
+        List<String> classes = new ArrayList<>();
+        for (String line : Files.readAllLines(classList.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.equals(warmupClass) && !line.startsWith(warmupClass + " ")) {
+                classes.add(line);
+            }
+        }
+        Files.write(classList.toPath(), classes, StandardCharsets.UTF_8);
+        run("-Xshare:dump", "-XX:SharedClassListFile=" + classList.getAbsolutePath(), "-XX:SharedArchiveFile=" + archive.getAbsolutePath(), "-cp", classpath);
+    }
+
+    /**
+     * Returns the class path of the archive: the jars of the classpath, in the same order.
+     *
+     * @param classpath the logging jars of the task classpath
+     * @return the archive class path
+     */
+    static List<File> archiveClasspath(Iterable<File> classpath) {
+        List<File> files = new ArrayList<>();
+        for (File file : classpath) {
+            if (file.isFile() && file.getName().endsWith(".jar")) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private void run(String... args) {
+        // The warm-up logs through every API, and the dump reports every class it skips
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExecResult result = getExecOperations().exec(spec -> {
+            spec.setExecutable(getJavaExecutable().get());
+            spec.args((Object[]) args);
+            spec.setStandardOutput(output);
+            spec.setErrorOutput(output);
+            spec.setIgnoreExitValue(true);
+        });
+        if (result.getExitValue() != 0) {
+            throw new GradleException("Unable to generate the logging class data sharing archive, '" + getJavaExecutable().get() + " " + String.join(" ", args) + "' failed:\n" + output);
+        }
+        getLogger().info(output.toString());
+    }
+}
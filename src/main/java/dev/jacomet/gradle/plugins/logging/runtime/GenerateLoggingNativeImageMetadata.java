@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+
+/**
+ * Generates the GraalVM native image reflection and resource configurations of the logging modules of the runtime classpath,
+ * under {@code META-INF/native-image}, where {@code native-image} picks them up from the classpath.
+ */
+@CacheableTask
+public abstract class GenerateLoggingNativeImageMetadata extends DefaultTask {
+
+    /**
+     * The identifiers, as {@code group:name}, of the logging modules of the runtime classpath.
+     *
+     * @return the module identifiers
+     */
+    @Input
+    public abstract SetProperty<String> getLoggingModules();
+
+    /**
+     * The name of the directory holding the configuration files, under {@code META-INF/native-image/dev.jacomet.logging-capabilities},
+     * which should be unique on the classpath of the image.
+     *
+     * @return the directory name
+     */
+    @Input
+    public abstract Property<String> getMetadataName();
+
+    /**
+     * The generated resources directory.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File outputDirectory = getOutputDirectory().get().getAsFile();
+        File metadataDirectory = new File(outputDirectory, "META-INF/native-image/dev.jacomet.logging-capabilities/" + getMetadataName().get());
+        Files.createDirectories(metadataDirectory.toPath());
+        Set<String> modules = getLoggingModules().get();
+        Files.write(new File(metadataDirectory, "reflect-config.json").toPath(), NativeImageMetadata.reflectConfig(modules).getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(metadataDirectory, "resource-config.json").toPath(), NativeImageMetadata.resourceConfig(modules).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Generates the resources pinning the logging providers of the runtime classpath.
+ * <p>
+ * Only Log4J 2 reads its properties from a resource, {@value #LOG4J2_COMPONENT_PROPERTIES}, which gets all the Log4J 2 pins and settings.
+ * The properties of the project's own {@value #LOG4J2_COMPONENT_PROPERTIES} are merged in, as the generated resource replaces it.
+ * The Slf4J and {@code java.util.logging} pins are only system properties, passed to the test and exec tasks.
+ */
+@CacheableTask
+public abstract class GenerateLoggingProviderPins extends DefaultTask {
+    static final String LOG4J2_COMPONENT_PROPERTIES = "log4j2.component.properties";
+
+    /**
+     * The provider pins, as computed by {@link ProviderPins#of(Map)}, and the settings of {@link ProviderPins#log4J2Async(Map)} and {@link ProviderPins#julRouting(Map)}.
+     *
+     * @return the pins
+     */
+    @Input
+    public abstract MapProperty<String, String> getPins();
+
+    /**
+     * The {@value #LOG4J2_COMPONENT_PROPERTIES} files of the project resources, which may not exist.
+     * The pins and settings win over their properties, and the first file wins over the next ones.
+     *
+     * @return the project files
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getProjectComponentProperties();
+
+    /**
+     * The generated resources directory.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File outputDirectory = getOutputDirectory().get().getAsFile();
+        File componentProperties = new File(outputDirectory, LOG4J2_COMPONENT_PROPERTIES);
+        Files.deleteIfExists(componentProperties.toPath());
+        Map<String, String> properties = new TreeMap<>();
+        for (File projectFile : getProjectComponentProperties().getFiles()) {
+            if (projectFile.isFile()) {
+                Properties projectProperties = new Properties();
+                try (InputStream in = Files.newInputStream(projectFile.toPath())) {
+                    projectProperties.load(in);
+                }
+                for (String name : projectProperties.stringPropertyNames()) {
+                    properties.putIfAbsent(name, projectProperties.getProperty(name));
+                }
+            }
+        }
+        for (Map.Entry<String, String> pin : getPins().get().entrySet()) {
+            if (pin.getKey().startsWith("log4j2.") || pin.getKey().startsWith("Log4j")) {
+                String projectValue = properties.put(pin.getKey(), pin.getValue());
+                if (projectValue != null && !projectValue.equals(pin.getValue())) {
+                    getLogger().info("Overriding {}={} of the project {} with {}", pin.getKey(), projectValue, LOG4J2_COMPONENT_PROPERTIES, pin.getValue());
+                }
+            }
+        }
+        if (properties.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("# Generated by the logging capabilities plugin");
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            lines.add(escape(property.getKey(), true) + "=" + escape(property.getValue(), false));
+        }
+        Files.createDirectories(outputDirectory.toPath());
+        Files.write(componentProperties.toPath(), lines, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Escapes a key or value the way {@link Properties#store(java.io.OutputStream, String)} does, without its timestamp comment.
+     */
+    private static String escape(String text, boolean key) {
+        StringBuilder escaped = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case ' ':
+                    escaped.append(key || i == 0 ? "\\ " : " ");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\f':
+                    escaped.append("\\f");
+                    break;
+                case '\\':
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    escaped.append('\\').append(c);
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        escaped.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+}
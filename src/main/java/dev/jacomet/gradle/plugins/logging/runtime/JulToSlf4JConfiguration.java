@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.util.List;
+
+/**
+ * {@code java.util.logging} configuration class routing all its events to Slf4J, set up by {@link ProviderPins#julRouting(java.util.Map)}.
+ * <p>
+ * When the Slf4J backend is logback, a {@code LevelChangePropagator} is added first, so that the {@code java.util.logging} levels follow the logback ones
+ * and events of disabled levels are dropped before being formatted and forwarded through the bridge.
+ * The root handlers are then replaced with the {@code SLF4JBridgeHandler}.
+ * <p>
+ * Slf4J and logback are only accessed reflectively, as this class ends up on the classpath of the test and exec tasks, without the plugin.
+ * Its class file is written by {@link GenerateJulToSlf4JConfiguration}.
+ */
+public class JulToSlf4JConfiguration {
+
+    /**
+     * Configures {@code java.util.logging}, which instantiates this class when it is named by the {@code java.util.logging.config.class} system property.
+     */
+    public JulToSlf4JConfiguration() {
+        try {
+            propagateLogbackLevels();
+            Class<?> bridge = Class.forName("org.slf4j.bridge.SLF4JBridgeHandler");
+            bridge.getMethod("removeHandlersForRootLogger").invoke(null);
+            bridge.getMethod("install").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to route java.util.logging to Slf4J", e);
+        }
+    }
+
+    private static void propagateLogbackLevels() throws ReflectiveOperationException {
+        Class<?> contextType;
+        try {
+            contextType = Class.forName("ch.qos.logback.classic.LoggerContext");
+        } catch (ClassNotFoundException e) {
+            return;
+        }
+        Object context = Class.forName("org.slf4j.LoggerFactory").getMethod("getILoggerFactory").invoke(null);
+        if (!contextType.isInstance(context)) {
+            return;
+        }
+        Class<?> propagatorType = Class.forName("ch.qos.logback.classic.jul.LevelChangePropagator");
+        for (Object listener : (List<?>) contextType.getMethod("getCopyOfListenerList").invoke(context)) {
+            if (propagatorType.isInstance(listener)) {
+                // Already configured in the logback configuration
+                return;
+            }
+        }
+        Object propagator = propagatorType.getConstructor().newInstance();
+        propagatorType.getMethod("setContext", Class.forName("ch.qos.logback.core.Context")).invoke(propagator, context);
+        propagatorType.getMethod("setResetJUL", boolean.class).invoke(propagator, true);
+        propagatorType.getMethod("start").invoke(propagator);
+        contextType.getMethod("addListener", Class.forName("ch.qos.logback.classic.spi.LoggerContextListener")).invoke(context, propagator);
+    }
+}
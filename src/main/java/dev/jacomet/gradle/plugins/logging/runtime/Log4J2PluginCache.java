@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads, merges and writes Log4J 2 plugin caches, the {@value #PATH} files generated by the Log4J 2 annotation processor.
+ * <p>
+ * The format is the one of {@code org.apache.logging.log4j.core.config.plugins.processor.PluginCache}: the number of categories,
+ * then for each category its name and its number of plugins, then for each plugin its key, class name, name, printable and defer flags.
+ * Like Log4J 2 when it loads several caches, the first plugin registered for a key wins.
+ */
+final class Log4J2PluginCache {
+    static final String PATH = "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat";
+
+    private final Map<String, Map<String, Plugin>> categories = new TreeMap<>();
+
+    /**
+     * Adds the plugins of a cache, keeping the already known plugins on key clashes.
+     *
+     * @param cache the cache content
+     */
+    void merge(InputStream cache) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(cache));
+        int categoryCount = in.readInt();
+        for (int i = 0; i < categoryCount; i++) {
+            Map<String, Plugin> plugins = categories.computeIfAbsent(in.readUTF().toLowerCase(Locale.ROOT), category -> new TreeMap<>());
+            int pluginCount = in.readInt();
+            for (int j = 0; j < pluginCount; j++) {
+                Plugin plugin = new Plugin(in.readUTF(), in.readUTF(), in.readUTF(), in.readBoolean(), in.readBoolean());
+                plugins.putIfAbsent(plugin.key, plugin);
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, Plugin> plugins : categories.values()) {
+            size += plugins.size();
+        }
+        return size;
+    }
+
+    void write(OutputStream cache) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(cache));
+        out.writeInt(categories.size());
+        for (Map.Entry<String, Map<String, Plugin>> category : categories.entrySet()) {
+            out.writeUTF(category.getKey());
+            out.writeInt(category.getValue().size());
+            for (Plugin plugin : category.getValue().values()) {
+                out.writeUTF(plugin.key);
+                out.writeUTF(plugin.className);
+                out.writeUTF(plugin.name);
+                out.writeBoolean(plugin.printable);
+                out.writeBoolean(plugin.defer);
+            }
+        }
+        out.flush();
+    }
+
+    private static final class Plugin {
+        private final String key;
+        private final String className;
+        private final String name;
+        private final boolean printable;
+        private final boolean defer;
+
+        private Plugin(String key, String className, String name, boolean printable, boolean defer) {
+            this.key = key;
+            this.className = className;
+            this.name = name;
+            this.printable = printable;
+            this.defer = defer;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.SourceSetOutput;
+
+/**
+ * Registers the {@value #TASK_NAME} task of a project, merging the Log4J 2 plugin caches of the project and of its runtime classpath.
+ */
+public final class Log4J2PluginsMerging {
+    public static final String TASK_NAME = "mergeLog4J2Plugins";
+    public static final String OUTPUT_PATH = "generated/resources/log4j2-plugins";
+
+    private static final Attribute<String> ARTIFACT_TYPE = Attribute.of("artifactType", String.class);
+    private static final String PLUGINS_TYPE = "log4j2-plugins";
+
+    private Log4J2PluginsMerging() {
+    }
+
+    /**
+     * Registers the plugin cache extraction transform, and the merge task once the Java plugin is applied.
+     * <p>
+     * The caches of the main source set come first, so that the plugins of the project win over the ones of its dependencies.
+     * Projects of the build the runtime classpath depends on are included, as they commonly hold custom appenders.
+     *
+     * @param project the project the plugin is applied to
+     */
+    public static void register(Project project) {
+        project.getDependencies().registerTransform(Log4J2PluginsTransform.class, spec -> {
+            spec.getFrom().attribute(ARTIFACT_TYPE, "jar");
+            spec.getTo().attribute(ARTIFACT_TYPE, PLUGINS_TYPE);
+        });
+        project.getPlugins().withType(JavaPlugin.class, plugin -> project.getTasks().register(TASK_NAME, MergeLog4J2Plugins.class, task -> {
+            task.setDescription("Merges the Log4J 2 plugin caches of the project and of its runtime classpath, for fat jars.");
+            SourceSetOutput main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput();
+            task.getPluginCaches().from(main);
+            Configuration runtimeClasspath = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+            task.getPluginCaches().from(runtimeClasspath.getIncoming().artifactView(view -> view.attributes(attributes -> attributes.attribute(ARTIFACT_TYPE, PLUGINS_TYPE))).getFiles());
+            task.getOutputDirectory().set(project.getLayout().getBuildDirectory().dir(OUTPUT_PATH));
+        }));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts the Log4J 2 plugin cache of a jar, producing no output for jars without one.
+ * <p>
+ * Transforms are cached by Gradle per jar content, so the merge task only reads the caches of the jars that have one.
+ */
+@CacheableTransform
+public abstract class Log4J2PluginsTransform implements TransformAction<TransformParameters.None> {
+
+    /**
+     * Suffix appended to the jar file name to name the transform output.
+     */
+    public static final String SUFFIX = ".log4j2-plugins";
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        if (!jar.isFile()) {
+            return;
+        }
+        try (ZipFile zip = new ZipFile(jar)) {
+            ZipEntry cache = zip.getEntry(Log4J2PluginCache.PATH);
+            if (cache == null) {
+                return;
+            }
+            try (InputStream in = zip.getInputStream(cache)) {
+                Files.copy(in, outputs.file(jar.getName() + SUFFIX).toPath());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to extract the Log4J 2 plugin cache of '" + jar + "'", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.report.LoggingReports;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.Directory;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+
+import java.io.File;
+
+/**
+ * Registers the {@value #TASK_NAME} task of a project, and makes the exec tasks load the model it compiles
+ * when {@link LoggingCapabilitiesExtension#enforceLogback()} applies to the runtime classpath.
+ * <p>
+ * The model is not added to the main resources, so that it neither shadows the {@code logback-test.xml} of the tests
+ * nor ships in a library, where it would replace the configuration of its consumers.
+ */
+public final class LogbackConfigurationCompilation {
+    public static final String TASK_NAME = "compileLogbackConfiguration";
+    public static final String OUTPUT_PATH = "logging-capabilities/logback-model";
+
+    private static final String CONFIGURATION_FILE = "logback.xml";
+    private static final String LOGBACK_CLASSIC = "ch.qos.logback:logback-classic";
+
+    private LogbackConfigurationCompilation() {
+    }
+
+    /**
+     * Registers the compilation task once the Java plugin is applied.
+     * <p>
+     * The configuration is the {@value #CONFIGURATION_FILE} file of the main resources, compiled against the runtime classpath.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which tells whether logback is enforced
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            Configuration runtimeClasspath = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+            Provider<Directory> outputDirectory = project.getLayout().getBuildDirectory().dir(OUTPUT_PATH);
+            TaskProvider<CompileLogbackConfiguration> compileConfiguration = project.getTasks().register(TASK_NAME, CompileLogbackConfiguration.class, task -> {
+                task.setDescription("Compiles the Logback configuration of the main resources into a serialized model.");
+                task.getConfigurationFile().set(project.getLayout().file(project.provider(() -> findConfigurationFile(main.getResources().getSrcDirs()))));
+                task.getLogbackVersion().set(LoggingReports.moduleVersions(project, runtimeClasspath).map(versions -> versions.get(LOGBACK_CLASSIC)));
+                task.getClasspath().from(main.getOutput().getClassesDirs(), runtimeClasspath);
+                task.getOutputDirectory().set(outputDirectory);
+            });
+
+            // Once the project is evaluated, as logback is enforced in the build script after the plugin is applied
+            project.afterEvaluate(evaluated -> {
+                if (!extension.isLogbackEnforced(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME)) {
+                    return;
+                }
+                project.getTasks().withType(JavaExec.class).configureEach(exec -> {
+                    exec.dependsOn(compileConfiguration);
+                    exec.getJvmArgumentProviders().add(new LogbackModelArguments(outputDirectory));
+                });
+            });
+        });
+    }
+
+    private static File findConfigurationFile(Iterable<File> resourceDirectories) {
+        for (File directory : resourceDirectories) {
+            File configurationFile = new File(directory, CONFIGURATION_FILE);
+            if (configurationFile.isFile()) {
+                return configurationFile;
+            }
+        }
+        return null;
+    }
+}
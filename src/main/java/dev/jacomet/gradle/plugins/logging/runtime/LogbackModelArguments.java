@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.file.Directory;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * Makes a JVM load the compiled Logback configuration model, through the {@value #MODEL_FILE_PROPERTY} system property.
+ * <p>
+ * Nothing is passed when no model was compiled, so that Logback falls back to its XML configuration.
+ */
+public class LogbackModelArguments implements CommandLineArgumentProvider {
+    static final String MODEL_FILE_PROPERTY = "logback.scmoFile";
+
+    private final Provider<Directory> modelDirectory;
+
+    public LogbackModelArguments(Provider<Directory> modelDirectory) {
+        this.modelDirectory = modelDirectory;
+    }
+
+    /**
+     * The output directory of the compilation task.
+     *
+     * @return the directory holding the model
+     */
+    @Internal
+    public Provider<Directory> getModelDirectory() {
+        return modelDirectory;
+    }
+
+    @Override
+    public Iterable<String> asArguments() {
+        File model = modelDirectory.get().file(CompileLogbackConfiguration.MODEL).getAsFile();
+        if (!model.isFile()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList("-D" + MODEL_FILE_PROPERTY + "=" + model.getAbsolutePath());
+    }
+}
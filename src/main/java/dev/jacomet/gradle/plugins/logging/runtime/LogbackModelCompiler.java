@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.xml.sax.InputSource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Entry point of the JVM compiling a Logback XML configuration into its serialized model, run by {@link CompileLogbackConfiguration}.
+ * <p>
+ * The Joran configurator only records the SAX events of the configuration and builds the model from them, without processing it,
+ * so that no appender is created or started at build time: the model is processed by the JVMs loading it, like the XML configuration would be.
+ * Logback is only accessed reflectively, as this class must run on any runtime classpath.
+ */
+public final class LogbackModelCompiler {
+
+    private LogbackModelCompiler() {
+    }
+
+    /**
+     * Compiles the configuration.
+     *
+     * @param args the path of the XML configuration, and the path of the serialized model to write
+     * @throws Exception if the configuration cannot be compiled
+     */
+    public static void main(String[] args) throws Exception {
+        File configuration = new File(args[0]);
+        File model = new File(args[1]);
+
+        Class<?> contextType = Class.forName("ch.qos.logback.classic.LoggerContext");
+        Object context = contextType.getConstructor().newInstance();
+        Class<?> configuratorType = Class.forName("ch.qos.logback.classic.joran.JoranConfigurator");
+        Object configurator = configuratorType.getConstructor().newInstance();
+        configuratorType.getMethod("setContext", Class.forName("ch.qos.logback.core.Context")).invoke(configurator, context);
+
+        Object recorder;
+        try (InputStream in = Files.newInputStream(configuration.toPath())) {
+            InputSource source = new InputSource(in);
+            source.setSystemId(configuration.toURI().toString());
+            recorder = configuratorType.getMethod("populateSaxEventRecorder", InputSource.class).invoke(configurator, source);
+        }
+        List<?> saxEvents = (List<?>) recorder.getClass().getMethod("getSaxEventList").invoke(recorder);
+        Object top = configuratorType.getMethod("buildModelFromSaxEventList", List.class).invoke(configurator, saxEvents);
+        if (top == null) {
+            throw new IllegalStateException("Logback did not build a model from '" + configuration + "'");
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(model))) {
+            out.writeObject(top);
+        }
+    }
+}
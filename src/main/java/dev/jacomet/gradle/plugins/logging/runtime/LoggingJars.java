@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.specs.Spec;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * Filter keeping the jars of the logging modules of the runtime classpaths, which {@link GenerateLoggingCdsArchive} archives, from a task classpath.
+ * <p>
+ * The logging jars are only resolved when the classpath is first filtered.
+ */
+final class LoggingJars implements Spec<File> {
+    private final FileCollection loggingJars;
+    private transient Set<File> files;
+
+    LoggingJars(FileCollection loggingJars) {
+        this.loggingJars = loggingJars;
+    }
+
+    @Override
+    public boolean isSatisfiedBy(File file) {
+        if (files == null) {
+            files = loggingJars.getFiles();
+        }
+        return files.contains(file);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.report.LoggingReports;
+import dev.jacomet.gradle.plugins.logging.scan.UnusedLoggingBridges;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.testing.Test;
+import org.gradle.language.jvm.tasks.ProcessResources;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Registers the {@value #TASK_NAME} task of a project, and pins the logging providers of the test and exec tasks
+ * when {@link LoggingCapabilitiesExtension#pinLoggingProviders()} is enabled.
+ * <p>
+ * The Log4J 2 asynchronous loggers settings are passed the same way when {@link LoggingCapabilitiesExtension#enforceLog4J2Async()} applies,
+ * and the {@code java.util.logging} routing when {@link LoggingCapabilitiesExtension#routeJavaUtilLogging()} is enabled.
+ * The routing registers the {@value #JUL_TASK_NAME} task, whose output is only added to the classpath of the test and exec tasks.
+ */
+public final class LoggingProviderPinning {
+    public static final String TASK_NAME = "generateLoggingProviderPins";
+    public static final String OUTPUT_PATH = "generated/resources/logging-provider-pins";
+    public static final String JUL_TASK_NAME = "generateJulToSlf4JConfiguration";
+    public static final String JUL_OUTPUT_PATH = "logging-capabilities/jul";
+
+    private LoggingProviderPinning() {
+    }
+
+    /**
+     * Registers the generation task once the Java plugin is applied.
+     * <p>
+     * The pins of the main resources are computed from the runtime classpath, the ones of the test tasks from the test runtime classpath.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which enables pinning, asynchronous loggers and {@code java.util.logging} routing
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            TaskProvider<GenerateLoggingProviderPins> generatePins = project.getTasks().register(TASK_NAME, GenerateLoggingProviderPins.class, task -> {
+                task.setDescription("Generates the resources pinning the logging providers of the runtime classpath.");
+                task.getOutputDirectory().set(project.getLayout().getBuildDirectory().dir(OUTPUT_PATH));
+            });
+
+            // Once the project is evaluated, as pinning, asynchronous loggers and routing are enabled in the build script after the plugin is applied
+            project.afterEvaluate(evaluated -> {
+                boolean pin = extension.isPinLoggingProviders();
+                boolean jul = extension.isRouteJavaUtilLogging();
+                boolean runtimeAsync = extension.isLog4J2AsyncEnforced(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+                boolean testAsync = extension.isLog4J2AsyncEnforced(JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+                Provider<Map<String, String>> runtimePins = pinsOf(project, JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME, pin, runtimeAsync, jul);
+                Provider<Map<String, String>> testPins = pinsOf(project, JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME, pin, testAsync, jul);
+                generatePins.configure(task -> task.getPins().set(runtimePins));
+                if (pin || runtimeAsync) {
+                    // The generated log4j2.component.properties replaces the one of the project, whose properties it merges
+                    SourceSet main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+                    generatePins.configure(task -> task.getProjectComponentProperties().from(project.files((Callable<List<File>>) () -> componentPropertiesOf(main))));
+                    main.getResources().exclude(GenerateLoggingProviderPins.LOG4J2_COMPONENT_PROPERTIES);
+                    project.getTasks().named(main.getProcessResourcesTaskName(), ProcessResources.class, task -> task.from(generatePins));
+                }
+                if (pin || runtimeAsync || jul) {
+                    project.getTasks().withType(JavaExec.class).configureEach(exec -> exec.getJvmArgumentProviders().add(new ProviderPinsArguments(runtimePins)));
+                }
+                if (pin || testAsync || jul) {
+                    project.getTasks().withType(Test.class).configureEach(test -> test.getJvmArgumentProviders().add(new ProviderPinsArguments(testPins)));
+                }
+                if (jul) {
+                    registerJulConfiguration(project);
+                }
+            });
+        });
+    }
+
+    private static void registerJulConfiguration(Project project) {
+        TaskProvider<GenerateJulToSlf4JConfiguration> generateJul = project.getTasks().register(JUL_TASK_NAME, GenerateJulToSlf4JConfiguration.class, task -> {
+            task.setDescription("Generates the java.util.logging configuration class routing to Slf4J.");
+            task.getOutputDirectory().set(project.getLayout().getBuildDirectory().dir(JUL_OUTPUT_PATH));
+        });
+        // Appended to the classpath of the JVMs only, so that the class is neither packaged nor part of a module of the project
+        project.getTasks().withType(JavaExec.class).configureEach(exec -> exec.setClasspath(exec.getClasspath().plus(project.files(generateJul))));
+        project.getTasks().withType(Test.class).configureEach(test -> test.setClasspath(test.getClasspath().plus(project.files(generateJul))));
+        // The java.util.logging configuration class calls the jul-to-slf4j bridge, which must not be pruned
+        project.getTasks().withType(UnusedLoggingBridges.class).configureEach(task -> task.getClasses().from(generateJul));
+    }
+
+    private static List<File> componentPropertiesOf(SourceSet sourceSet) {
+        List<File> files = new ArrayList<>();
+        for (File resourcesDir : sourceSet.getResources().getSrcDirs()) {
+            files.add(new File(resourcesDir, GenerateLoggingProviderPins.LOG4J2_COMPONENT_PROPERTIES));
+        }
+        return files;
+    }
+
+    private static Provider<Map<String, String>> pinsOf(Project project, String classpathName, boolean pin, boolean async, boolean jul) {
+        return LoggingReports.moduleVersions(project, project.getConfigurations().getByName(classpathName)).map(versions -> {
+            Map<String, String> pins = new TreeMap<>();
+            if (pin) {
+                pins.putAll(ProviderPins.of(versions));
+            }
+            if (async) {
+                pins.putAll(ProviderPins.log4J2Async(versions));
+            }
+            if (jul) {
+                pins.putAll(ProviderPins.julRouting(versions));
+            }
+            return pins;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.lang.reflect.Method;
+
+/**
+ * Entry point of the JVM recording the classes of the logging stack, run by {@link GenerateLoggingCdsArchive}.
+ * <p>
+ * It gets a logger and logs an event through each logging API of the classpath, so that the backend gets initialized and the bridges
+ * routing these APIs get loaded. The APIs are only accessed reflectively, as this class must run on any runtime classpath.
+ */
+public final class LoggingWarmup {
+    private static final String LOGGER_NAME = "dev.jacomet.logging.warmup";
+    private static final String MESSAGE = "Logging class data sharing warm-up";
+
+    private LoggingWarmup() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        java.util.logging.Logger.getLogger(LOGGER_NAME).info(MESSAGE);
+        log("org.slf4j.LoggerFactory", "getLogger", "info", String.class);
+        log("org.apache.commons.logging.LogFactory", "getLog", "info", Object.class);
+        log("org.apache.log4j.Logger", "getLogger", "info", Object.class);
+        log("org.apache.logging.log4j.LogManager", "getLogger", "info", String.class);
+    }
+
+    private static void log(String factoryName, String getLogger, String level, Class<?> messageType) throws Exception {
+        Class<?> factory;
+        try {
+            factory = Class.forName(factoryName);
+        } catch (ClassNotFoundException e) {
+            return;
+        }
+        Object logger = factory.getMethod(getLogger, String.class).invoke(null, LOGGER_NAME);
+        Method log = logger.getClass().getMethod(level, messageType);
+        log.setAccessible(true);
+        log.invoke(logger, MESSAGE);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * Merges the Log4J 2 plugin caches of the project and of its runtime classpath into a single {@value Log4J2PluginCache#PATH}.
+ * <p>
+ * The caches of dependencies are extracted by {@link Log4J2PluginsTransform}, so that jars are only opened once.
+ * Caches are merged in classpath order, the first plugin registered for a key winning, like in Log4J 2.
+ */
+@CacheableTask
+public abstract class MergeLog4J2Plugins extends DefaultTask {
+
+    /**
+     * The plugin caches to merge, in classpath order: class or resource directories, in which the cache is looked up,
+     * and cache files, as produced by {@link Log4J2PluginsTransform}.
+     *
+     * @return the plugin caches
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getPluginCaches();
+
+    /**
+     * The directory the merged cache is written to, at {@value Log4J2PluginCache#PATH}, ready to be added to a jar.
+     *
+     * @return the output directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void merge() throws IOException {
+        Log4J2PluginCache merged = new Log4J2PluginCache();
+        int caches = 0;
+        for (File file : getPluginCaches()) {
+            File cache = file.isDirectory() ? new File(file, Log4J2PluginCache.PATH) : file;
+            if (cache.isFile()) {
+                try (InputStream in = Files.newInputStream(cache.toPath())) {
+                    merged.merge(in);
+                }
+                caches++;
+            }
+        }
+        File mergedCache = getOutputDirectory().file(Log4J2PluginCache.PATH).get().getAsFile();
+        Files.deleteIfExists(mergedCache.toPath());
+        if (caches == 0) {
+            return;
+        }
+        Files.createDirectories(mergedCache.getParentFile().toPath());
+        try (OutputStream out = Files.newOutputStream(mergedCache.toPath())) {
+            merged.write(out);
+        }
+        getLogger().info("Merged {} Log4J 2 plugins from {} caches", merged.size(), caches);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The GraalVM native image metadata the logging backends and bridges need: the classes they instantiate or inspect reflectively,
+ * and the resources they load, including their {@code META-INF/services} files.
+ * <p>
+ * Backends configured from a file, like Logback and Log4J 2, get all the members of their common components registered,
+ * as their configuration instantiates them and calls their setters, or fills their builder fields, reflectively.
+ */
+final class NativeImageMetadata {
+    private static final String SLF4J_PROVIDER_SERVICE = "META-INF/services/org.slf4j.spi.SLF4JServiceProvider";
+    private static final String LOG4J2_PROVIDER_SERVICE = "META-INF/services/org.apache.logging.log4j.spi.Provider";
+    private static final String JCL_FACTORY_SERVICE = "META-INF/services/org.apache.commons.logging.LogFactory";
+
+    private static final Map<String, NativeImageMetadata> MODULES = new LinkedHashMap<>();
+
+    static {
+        module("ch.qos.logback:logback-classic")
+                .members("ch.qos.logback.classic.spi.LogbackServiceProvider",
+                        "ch.qos.logback.classic.PatternLayout", "ch.qos.logback.classic.encoder.PatternLayoutEncoder",
+                        "ch.qos.logback.classic.AsyncAppender", "ch.qos.logback.classic.filter.ThresholdFilter",
+                        "ch.qos.logback.classic.jul.LevelChangePropagator",
+                        "ch.qos.logback.core.ConsoleAppender", "ch.qos.logback.core.FileAppender",
+                        "ch.qos.logback.core.rolling.RollingFileAppender", "ch.qos.logback.core.rolling.TimeBasedRollingPolicy",
+                        "ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy", "ch.qos.logback.core.rolling.FixedWindowRollingPolicy",
+                        "ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy", "ch.qos.logback.core.util.FileSize",
+                        "ch.qos.logback.core.util.Duration",
+                        "ch.qos.logback.classic.pattern.DateConverter", "ch.qos.logback.classic.pattern.RelativeTimeConverter",
+                        "ch.qos.logback.classic.pattern.LevelConverter", "ch.qos.logback.classic.pattern.ThreadConverter",
+                        "ch.qos.logback.classic.pattern.LoggerConverter", "ch.qos.logback.classic.pattern.MessageConverter",
+                        "ch.qos.logback.classic.pattern.MDCConverter", "ch.qos.logback.classic.pattern.LineSeparatorConverter",
+                        "ch.qos.logback.classic.pattern.ThrowableProxyConverter", "ch.qos.logback.classic.pattern.ExtendedThrowableProxyConverter",
+                        "ch.qos.logback.classic.pattern.ClassOfCallerConverter", "ch.qos.logback.classic.pattern.MethodOfCallerConverter",
+                        "ch.qos.logback.classic.pattern.LineOfCallerConverter")
+                .resources("logback.xml", "logback-test.xml", SLF4J_PROVIDER_SERVICE, "META-INF/services/ch.qos.logback.classic.spi.Configurator");
+        module("org.slf4j:slf4j-simple")
+                .members("org.slf4j.simple.SimpleServiceProvider")
+                .resources("simplelogger.properties", SLF4J_PROVIDER_SERVICE);
+        module("org.slf4j:slf4j-nop")
+                .members("org.slf4j.nop.NOPServiceProvider")
+                .resources(SLF4J_PROVIDER_SERVICE);
+        module("org.apache.logging.log4j:log4j-core")
+                .members("org.apache.logging.log4j.core.impl.Log4jProvider", "org.apache.logging.log4j.core.impl.Log4jContextFactory",
+                        "org.apache.logging.log4j.core.selector.ClassLoaderContextSelector",
+                        "org.apache.logging.log4j.core.config.xml.XmlConfigurationFactory",
+                        "org.apache.logging.log4j.core.config.properties.PropertiesConfigurationFactory",
+                        "org.apache.logging.log4j.core.config.AppendersPlugin", "org.apache.logging.log4j.core.config.LoggersPlugin",
+                        "org.apache.logging.log4j.core.config.PropertiesPlugin", "org.apache.logging.log4j.core.config.Property",
+                        "org.apache.logging.log4j.core.config.AppenderRef", "org.apache.logging.log4j.core.config.LoggerConfig",
+                        "org.apache.logging.log4j.core.config.LoggerConfig$RootLogger",
+                        "org.apache.logging.log4j.core.appender.ConsoleAppender", "org.apache.logging.log4j.core.appender.ConsoleAppender$Builder",
+                        "org.apache.logging.log4j.core.appender.FileAppender", "org.apache.logging.log4j.core.appender.FileAppender$Builder",
+                        "org.apache.logging.log4j.core.appender.RollingFileAppender", "org.apache.logging.log4j.core.appender.RollingFileAppender$Builder",
+                        "org.apache.logging.log4j.core.appender.rolling.TimeBasedTriggeringPolicy",
+                        "org.apache.logging.log4j.core.appender.rolling.SizeBasedTriggeringPolicy",
+                        "org.apache.logging.log4j.core.appender.rolling.DefaultRolloverStrategy",
+                        "org.apache.logging.log4j.core.layout.PatternLayout", "org.apache.logging.log4j.core.layout.PatternLayout$Builder",
+                        "org.apache.logging.log4j.core.pattern.DatePatternConverter", "org.apache.logging.log4j.core.pattern.LevelPatternConverter",
+                        "org.apache.logging.log4j.core.pattern.ThreadNamePatternConverter", "org.apache.logging.log4j.core.pattern.LoggerPatternConverter",
+                        "org.apache.logging.log4j.core.pattern.MessagePatternConverter", "org.apache.logging.log4j.core.pattern.LineSeparatorPatternConverter",
+                        "org.apache.logging.log4j.core.pattern.ThrowablePatternConverter",
+                        "org.apache.logging.log4j.core.pattern.ExtendedThrowablePatternConverter")
+                .resources(Log4J2PluginCache.PATH, "log4j2.xml", "log4j2-test.xml", "log4j2.properties", "log4j2-test.properties",
+                        "log4j2.component.properties", "META-INF/log4j-provider.properties", LOG4J2_PROVIDER_SERVICE);
+
+        module("org.slf4j:jul-to-slf4j")
+                .members("org.slf4j.bridge.SLF4JBridgeHandler");
+        module("org.slf4j:jcl-over-slf4j")
+                .members("org.apache.commons.logging.impl.SLF4JLogFactory")
+                .resources("commons-logging.properties", JCL_FACTORY_SERVICE);
+        module("org.apache.logging.log4j:log4j-jul")
+                .members("org.apache.logging.log4j.jul.LogManager");
+        module("org.apache.logging.log4j:log4j-jcl")
+                .members("org.apache.logging.log4j.jcl.LogFactoryImpl")
+                .resources("commons-logging.properties", JCL_FACTORY_SERVICE);
+        module("org.apache.logging.log4j:log4j-to-slf4j")
+                .members("org.apache.logging.slf4j.SLF4JProvider", "org.apache.logging.slf4j.SLF4JLoggerContextFactory")
+                .resources("META-INF/log4j-provider.properties", LOG4J2_PROVIDER_SERVICE);
+        module("org.apache.logging.log4j:log4j-slf4j2-impl")
+                .members("org.apache.logging.slf4j.SLF4JServiceProvider")
+                .resources(SLF4J_PROVIDER_SERVICE);
+        // Only looks up the available APIs by name
+        module("org.springframework:spring-jcl")
+                .names("org.apache.logging.log4j.spi.ExtendedLogger", "org.slf4j.spi.LocationAwareLogger", "org.slf4j.Logger");
+    }
+
+    private final List<String> members = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> resources = new ArrayList<>();
+
+    private static NativeImageMetadata module(String moduleId) {
+        NativeImageMetadata metadata = new NativeImageMetadata();
+        MODULES.put(moduleId, metadata);
+        return metadata;
+    }
+
+    private NativeImageMetadata members(String... classNames) {
+        members.addAll(Arrays.asList(classNames));
+        return this;
+    }
+
+    private NativeImageMetadata names(String... classNames) {
+        names.addAll(Arrays.asList(classNames));
+        return this;
+    }
+
+    private NativeImageMetadata resources(String... paths) {
+        resources.addAll(Arrays.asList(paths));
+        return this;
+    }
+
+    /**
+     * Returns the identifiers, as {@code group:name}, of the modules metadata is known for.
+     *
+     * @return the module identifiers
+     */
+    static Set<String> getModuleIds() {
+        return Collections.unmodifiableSet(MODULES.keySet());
+    }
+
+    /**
+     * Returns the {@code reflect-config.json} content for the given modules.
+     *
+     * @param moduleIds the module identifiers, as {@code group:name}
+     * @return the reflection configuration
+     */
+    static String reflectConfig(Collection<String> moduleIds) {
+        // Sorted, and members win over names, so that the output is stable whatever the modules
+        Map<String, Boolean> classes = new TreeMap<>();
+        for (String moduleId : moduleIds) {
+            NativeImageMetadata metadata = MODULES.get(moduleId);
+            if (metadata != null) {
+                metadata.names.forEach(name -> classes.putIfAbsent(name, false));
+                metadata.members.forEach(name -> classes.put(name, true));
+            }
+        }
+        StringBuilder json = new StringBuilder("[");
+        String separator = "\n";
+        for (Map.Entry<String, Boolean> type : classes.entrySet()) {
+            json.append(separator).append("  {\"name\": \"").append(type.getKey()).append('"');
+            if (type.getValue()) {
+                json.append(", \"allDeclaredConstructors\": true, \"allDeclaredMethods\": true, \"allDeclaredFields\": true, \"allPublicMethods\": true");
+            }
+            json.append('}');
+            separator = ",\n";
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    /**
+     * Returns the {@code resource-config.json} content for the given modules.
+     *
+     * @param moduleIds the module identifiers, as {@code group:name}
+     * @return the resource configuration
+     */
+    static String resourceConfig(Collection<String> moduleIds) {
+        Set<String> paths = new TreeSet<>();
+        for (String moduleId : moduleIds) {
+            NativeImageMetadata metadata = MODULES.get(moduleId);
+            if (metadata != null) {
+                paths.addAll(metadata.resources);
+            }
+        }
+        StringBuilder json = new StringBuilder("{\n  \"resources\": {\n    \"includes\": [");
+        String separator = "\n";
+        for (String path : paths) {
+            json.append(separator).append("      {\"pattern\": \"\\\\Q").append(path).append("\\\\E\"}");
+            separator = ",\n";
+        }
+        return json.append("\n    ]\n  },\n  \"bundles\": []\n}\n").toString();
+    }
+}
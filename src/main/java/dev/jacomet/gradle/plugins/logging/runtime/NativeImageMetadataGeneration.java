@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.report.LoggingReports;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Registers the {@value #TASK_NAME} task of a project, and adds its output to the main resources
+ * when {@link LoggingCapabilitiesExtension#generateNativeImageMetadata()} is enabled.
+ */
+public final class NativeImageMetadataGeneration {
+    public static final String TASK_NAME = "generateLoggingNativeImageMetadata";
+    public static final String OUTPUT_PATH = "generated/resources/logging-native-image";
+
+    private NativeImageMetadataGeneration() {
+    }
+
+    /**
+     * Registers the generation task once the Java plugin is applied.
+     * <p>
+     * The metadata covers the logging modules the runtime classpath resolves to, so it follows the {@code select*} and {@code enforce*} choices.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which enables the generation
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            TaskProvider<GenerateLoggingNativeImageMetadata> generateMetadata = project.getTasks().register(TASK_NAME, GenerateLoggingNativeImageMetadata.class, task -> {
+                task.setDescription("Generates the GraalVM native image metadata of the logging modules of the runtime classpath.");
+                task.getLoggingModules().set(LoggingReports.moduleVersions(project, project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME)).map(versions -> {
+                    Set<String> modules = new TreeSet<>(versions.keySet());
+                    modules.retainAll(NativeImageMetadata.getModuleIds());
+                    return modules;
+                }));
+                task.getMetadataName().set(project.getPath().equals(":") ? project.getName() : project.getPath().substring(1).replace(':', '-'));
+                task.getOutputDirectory().set(project.getLayout().getBuildDirectory().dir(OUTPUT_PATH));
+            });
+
+            // Once the project is evaluated, as the generation is enabled in the build script after the plugin is applied
+            project.afterEvaluate(evaluated -> {
+                if (extension.isGenerateNativeImageMetadata()) {
+                    SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+                    sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME).getResources().srcDir(generateMetadata);
+                }
+            });
+        });
+    }
+}
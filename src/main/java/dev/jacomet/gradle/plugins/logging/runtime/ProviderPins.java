@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes the system properties pinning the logging providers of a resolved classpath,
+ * so that logging libraries do not have to discover them at startup.
+ * <ul>
+ *     <li>{@value #SLF4J_PROVIDER} names the Slf4J 2 provider, supported by {@code slf4j-api} 2.0.9 and above,</li>
+ *     <li>{@value #LOG4J2_CONTEXT_FACTORY} names the Log4J 2 logger context factory,</li>
+ *     <li>{@value #JUL_MANAGER} installs the Log4J 2 log manager when {@code log4j-jul} is present.</li>
+ * </ul>
+ */
+public final class ProviderPins {
+    public static final String SLF4J_PROVIDER = "slf4j.provider";
+    public static final String LOG4J2_CONTEXT_FACTORY = "log4j2.loggerContextFactory";
+    public static final String JUL_MANAGER = "java.util.logging.manager";
+    public static final String JUL_CONFIG_CLASS = "java.util.logging.config.class";
+
+    private static final String SLF4J_API = "org.slf4j:slf4j-api";
+    private static final String SLF4J_PROVIDER_PROPERTY_VERSION = "2.0.9";
+    private static final String LOG4J_API = "org.apache.logging.log4j:log4j-api";
+    private static final String LOG4J_JUL = "org.apache.logging.log4j:log4j-jul";
+    private static final String JUL_TO_SLF4J = "org.slf4j:jul-to-slf4j";
+    private static final String LOG4J2_JUL_MANAGER = "org.apache.logging.log4j.jul.LogManager";
+    private static final String LOG4J_CORE = "org.apache.logging.log4j:log4j-core";
+    private static final String ASYNC_CONTEXT_SELECTOR = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector";
+
+    private static final List<Provider> SLF4J_PROVIDERS = new ArrayList<>();
+    private static final List<Provider> LOG4J2_CONTEXT_FACTORIES = new ArrayList<>();
+
+    static {
+        SLF4J_PROVIDERS.add(new Provider("ch.qos.logback:logback-classic", "1.3", "ch.qos.logback.classic.spi.LogbackServiceProvider"));
+        SLF4J_PROVIDERS.add(new Provider("org.slf4j:slf4j-simple", "2.0", "org.slf4j.simple.SimpleServiceProvider"));
+        SLF4J_PROVIDERS.add(new Provider("org.slf4j:slf4j-nop", "2.0", "org.slf4j.nop.NOPServiceProvider"));
+        SLF4J_PROVIDERS.add(new Provider("org.slf4j:slf4j-jdk14", "2.0", "org.slf4j.jul.JULServiceProvider"));
+        SLF4J_PROVIDERS.add(new Provider("org.slf4j:slf4j-reload4j", "2.0", "org.slf4j.reload4j.Reload4jServiceProvider"));
+        SLF4J_PROVIDERS.add(new Provider("org.apache.logging.log4j:log4j-slf4j2-impl", "2.0", "org.apache.logging.slf4j.SLF4JServiceProvider"));
+
+        LOG4J2_CONTEXT_FACTORIES.add(new Provider("org.apache.logging.log4j:log4j-core", "2.0", "org.apache.logging.log4j.core.impl.Log4jContextFactory"));
+        LOG4J2_CONTEXT_FACTORIES.add(new Provider("org.apache.logging.log4j:log4j-to-slf4j", "2.0", "org.apache.logging.slf4j.SLF4JLoggerContextFactory"));
+        LOG4J2_CONTEXT_FACTORIES.add(new Provider("org.apache.logging.log4j:log4j-to-jul", "2.20.0", "org.apache.logging.log4j.tojul.JULLoggerContextFactory"));
+    }
+
+    private ProviderPins() {
+    }
+
+    /**
+     * Returns the system properties pinning the providers of a classpath.
+     * <p>
+     * A property is only set when exactly one provider of its kind is present, otherwise discovery is left to the logging library.
+     *
+     * @param moduleVersions the versions of the modules of the classpath, keyed on their {@code group:name} identifiers
+     * @return the system properties, sorted by name
+     */
+    public static Map<String, String> of(Map<String, String> moduleVersions) {
+        Map<String, String> pins = new TreeMap<>();
+        String slf4jApi = moduleVersions.get(SLF4J_API);
+        if (slf4jApi != null && compare(slf4jApi, SLF4J_PROVIDER_PROPERTY_VERSION) >= 0) {
+            putSingle(pins, SLF4J_PROVIDER, SLF4J_PROVIDERS, moduleVersions);
+        }
+        if (moduleVersions.containsKey(LOG4J_API)) {
+            putSingle(pins, LOG4J2_CONTEXT_FACTORY, LOG4J2_CONTEXT_FACTORIES, moduleVersions);
+        }
+        if (moduleVersions.containsKey(LOG4J_JUL)) {
+            pins.put(JUL_MANAGER, LOG4J2_JUL_MANAGER);
+        }
+        return pins;
+    }
+
+    /**
+     * Returns the system properties making all Log4J 2 loggers asynchronous, with the garbage free settings enabled.
+     * <p>
+     * Log4J 2.10 renamed its properties, so the names are the ones the resolved {@code log4j-core} understands.
+     *
+     * @param moduleVersions the versions of the modules of the classpath, keyed on their {@code group:name} identifiers
+     * @return the system properties, sorted by name, or none without {@code log4j-core}
+     */
+    public static Map<String, String> log4J2Async(Map<String, String> moduleVersions) {
+        Map<String, String> properties = new TreeMap<>();
+        String log4jCore = moduleVersions.get(LOG4J_CORE);
+        if (log4jCore == null) {
+            return properties;
+        }
+        boolean normalizedNames = compare(log4jCore, "2.10") >= 0;
+        properties.put(normalizedNames ? "log4j2.contextSelector" : "Log4jContextSelector", ASYNC_CONTEXT_SELECTOR);
+        properties.put(normalizedNames ? "log4j2.enableThreadlocals" : "log4j2.enable.threadlocals", "true");
+        properties.put(normalizedNames ? "log4j2.enableDirectEncoders" : "log4j2.enable.direct.encoders", "true");
+        properties.put(normalizedNames ? "log4j2.garbagefreeThreadContextMap" : "log4j2.garbagefree.threadContextMap", "true");
+        return properties;
+    }
+
+    /**
+     * Returns the system properties routing {@code java.util.logging} to the delegation module of the classpath.
+     * <p>
+     * With {@code log4j-jul}, the Log4J 2 log manager replaces the JDK one. With {@code jul-to-slf4j}, {@link JulToSlf4JConfiguration}
+     * installs the bridge handler and, with logback, propagates the logback levels.
+     *
+     * @param moduleVersions the versions of the modules of the classpath, keyed on their {@code group:name} identifiers
+     * @return the system properties, sorted by name, or none without delegation module
+     */
+    public static Map<String, String> julRouting(Map<String, String> moduleVersions) {
+        Map<String, String> properties = new TreeMap<>();
+        if (moduleVersions.containsKey(LOG4J_JUL)) {
+            properties.put(JUL_MANAGER, LOG4J2_JUL_MANAGER);
+        } else if (moduleVersions.containsKey(JUL_TO_SLF4J)) {
+            properties.put(JUL_CONFIG_CLASS, JulToSlf4JConfiguration.class.getName());
+        }
+        return properties;
+    }
+
+    private static void putSingle(Map<String, String> pins, String property, List<Provider> providers, Map<String, String> moduleVersions) {
+        Map<String, String> present = new LinkedHashMap<>();
+        for (Provider provider : providers) {
+            String version = moduleVersions.get(provider.moduleId);
+            if (version != null && compare(version, provider.firstVersion) >= 0) {
+                present.put(provider.moduleId, provider.className);
+            }
+        }
+        if (present.size() == 1) {
+            pins.put(property, present.values().iterator().next());
+        }
+    }
+
+    /**
+     * Compares the numeric parts of two versions, ignoring qualifiers.
+     */
+    static int compare(String version, String other) {
+        String[] parts = version.split("[.-]");
+        String[] otherParts = other.split("[.-]");
+        for (int i = 0; i < Math.max(parts.length, otherParts.length); i++) {
+            int part = i < parts.length ? numeric(parts[i]) : 0;
+            int otherPart = i < otherParts.length ? numeric(otherParts[i]) : 0;
+            if (part != otherPart) {
+                return Integer.compare(part, otherPart);
+            }
+        }
+        return 0;
+    }
+
+    private static int numeric(String part) {
+        int end = 0;
+        while (end < part.length() && Character.isDigit(part.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Integer.parseInt(part.substring(0, end));
+    }
+
+    private static final class Provider {
+        private final String moduleId;
+        private final String firstVersion;
+        private final String className;
+
+        private Provider(String moduleId, String firstVersion, String className) {
+            this.moduleId = moduleId;
+            this.firstVersion = firstVersion;
+            this.className = className;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime;
+
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Passes the provider pins of a classpath to a JVM as system properties.
+ */
+public class ProviderPinsArguments implements CommandLineArgumentProvider {
+    private final Provider<Map<String, String>> pins;
+
+    public ProviderPinsArguments(Provider<Map<String, String>> pins) {
+        this.pins = pins;
+    }
+
+    /**
+     * The provider pins, as computed by {@link ProviderPins#of(Map)}.
+     *
+     * @return the pins
+     */
+    @Input
+    public Provider<Map<String, String>> getPins() {
+        return pins;
+    }
+
+    @Override
+    public Iterable<String> asArguments() {
+        List<String> arguments = new ArrayList<>();
+        for (Map.Entry<String, String> pin : pins.get().entrySet()) {
+            arguments.add("-D" + pin.getKey() + "=" + pin.getValue());
+        }
+        return arguments;
+    }
+}
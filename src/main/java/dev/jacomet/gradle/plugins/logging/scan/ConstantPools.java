@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds the {@link LoggingApi logging APIs} referenced by classes, from the UTF-8 entries of their constant pools.
+ * <p>
+ * Class references, descriptors and string constants all end up in UTF-8 entries, so the rest of the class file is skipped.
+ */
+final class ConstantPools {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private ConstantPools() {
+    }
+
+    /**
+     * Collects the logging APIs referenced by the classes of a jar.
+     *
+     * @param jar the jar to scan
+     * @param apis the set to add the referenced APIs to
+     * @throws IOException if the jar cannot be read
+     */
+    static void scanJar(File jar, Set<LoggingApi> apis) throws IOException {
+        try (ZipFile zip = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements() && apis.size() < LoggingApi.values().length) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                    try (InputStream classFile = zip.getInputStream(entry)) {
+                        scanClass(classFile, apis);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the logging APIs referenced by the classes of a directory.
+     *
+     * @param directory the class directory to scan
+     * @param apis the set to add the referenced APIs to
+     * @throws IOException if a class cannot be read
+     */
+    static void scanDirectory(File directory, Set<LoggingApi> apis) throws IOException {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                try (InputStream classFile = Files.newInputStream(file)) {
+                    scanClass(classFile, apis);
+                }
+            }
+        }
+    }
+
+    static void scanClass(InputStream classFile, Set<LoggingApi> apis) throws IOException {
+        DataInputStream input = new DataInputStream(classFile);
+        if (input.readInt() != MAGIC) {
+            return;
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+        int count = input.readUnsignedShort();
+        // Also used to skip the other constants, which are at most 8 bytes long
+        byte[] buffer = new byte[256];
+        for (int index = 1; index < count; index++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    int length = input.readUnsignedShort();
+                    if (buffer.length < length) {
+                        buffer = new byte[length];
+                    }
+                    input.readFully(buffer, 0, length);
+                    collect(buffer, length, apis);
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    input.readFully(buffer, 0, 2);
+                    break;
+                case 15: // MethodHandle
+                    input.readFully(buffer, 0, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    input.readFully(buffer, 0, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    input.readFully(buffer, 0, 8);
+                    // Takes two entries
+                    index++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    private static void collect(byte[] utf8, int length, Set<LoggingApi> apis) {
+        for (LoggingApi api : LoggingApi.values()) {
+            if (!apis.contains(api) && (contains(utf8, length, api.internalPrefix) || contains(utf8, length, api.binaryPrefix))) {
+                apis.add(api);
+            }
+        }
+    }
+
+    private static boolean contains(byte[] utf8, int length, byte[] prefix) {
+        outer:
+        for (int start = 0; start <= length - prefix.length; start++) {
+            for (int i = 0; i < prefix.length; i++) {
+                if (utf8[start + i] != prefix[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Logging APIs that bridges route to another logging framework, with the bridges only needed when code references the API.
+ * <p>
+ * The packages of the bridges themselves are listed as well, as code can also call a bridge directly, like {@code SLF4JBridgeHandler.install()}.
+ * The bridges whose classes are in the package of the API they route, like {@code jcl-over-slf4j}, are covered by the API.
+ */
+public enum LoggingApi {
+    JUL("java.util.logging", "jul-to-slf4j", "log4j-jul"),
+    JCL("org.apache.commons.logging", "jcl-over-slf4j", "log4j-jcl"),
+    LOG4J("org.apache.log4j", "log4j-over-slf4j", "log4j-1.2-api"),
+    LOG4J2("org.apache.logging.log4j", "log4j-to-slf4j"),
+    SLF4J_BRIDGE("org.slf4j.bridge", "jul-to-slf4j"),
+    LOG4J2_JUL("org.apache.logging.log4j.jul", "log4j-jul"),
+    LOG4J2_JCL("org.apache.logging.log4j.jcl", "log4j-jcl"),
+    LOG4J2_TO_SLF4J("org.apache.logging.slf4j", "log4j-to-slf4j");
+
+    final String packageName;
+    final List<String> bridges;
+    final byte[] internalPrefix;
+    final byte[] binaryPrefix;
+
+    LoggingApi(String packageName, String... bridges) {
+        this.packageName = packageName;
+        this.bridges = Collections.unmodifiableList(Arrays.asList(bridges));
+        // Class references and descriptors use the internal form, reflective lookups the binary one
+        this.internalPrefix = (packageName.replace('.', '/') + "/").getBytes(StandardCharsets.UTF_8);
+        this.binaryPrefix = (packageName + ".").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the packages whose references keep a bridge jar, from its file name: the API it routes and its own package, if distinct.
+     *
+     * @param jarName the file name of the bridge jar
+     * @return the packages, empty if the jar is not a known bridge
+     */
+    static Set<LoggingApi> keeping(String jarName) {
+        Set<LoggingApi> apis = EnumSet.noneOf(LoggingApi.class);
+        for (LoggingApi api : values()) {
+            for (String bridge : api.bridges) {
+                if (jarName.startsWith(bridge + "-")) {
+                    apis.add(api);
+                }
+            }
+        }
+        return apis;
+    }
+}
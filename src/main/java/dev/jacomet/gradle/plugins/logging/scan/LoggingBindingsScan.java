@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reports the jars of a classpath that act as a logging binding, including the ones embedding a binding, like uber-jars.
+ * <p>
+ * The jars are scanned by {@link LoggingMarkersTransform}, this task fails when several jars provide the same kind of binding.
+ * Jars are identified by their component, as jars of different modules can have the same file name.
+ */
+@CacheableTask
+public abstract class LoggingBindingsScan extends DefaultTask {
+
+    /**
+     * The logging markers of the jars of the classpath, as produced by {@link LoggingMarkersTransform}.
+     *
+     * @return the marker files
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getMarkers();
+
+    /**
+     * The identifiers of the components the markers come from, keyed on the absolute path of the marker files.
+     * <p>
+     * The paths depend on the machine, so only the identifiers are an input, see {@link #getComponents()}.
+     *
+     * @return the component identifiers of each marker file
+     */
+    @Internal
+    public abstract MapProperty<String, List<String>> getMarkerComponents();
+
+    /**
+     * The identifiers of the components of the scanned jars.
+     *
+     * @return the sorted component identifiers
+     */
+    @Input
+    public Provider<List<String>> getComponents() {
+        return getMarkerComponents().map(components -> {
+            List<String> ids = new ArrayList<>();
+            components.values().forEach(ids::addAll);
+            Collections.sort(ids);
+            return ids;
+        });
+    }
+
+    /**
+     * The file the bindings are written to.
+     *
+     * @return the report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void scan() throws IOException {
+        Map<LoggingMarker, Set<String>> jars = new EnumMap<>(LoggingMarker.class);
+        for (LoggingMarker marker : LoggingMarker.values()) {
+            jars.put(marker, new TreeSet<>());
+        }
+        Map<String, List<String>> markerComponents = getMarkerComponents().get();
+        for (File markers : getMarkers().getFiles()) {
+            String jarName = markers.getName().substring(0, markers.getName().length() - LoggingMarkersTransform.SUFFIX.length());
+            List<String> components = markerComponents.getOrDefault(markers.getAbsolutePath(), Collections.singletonList("unknown component"));
+            for (String marker : Files.readAllLines(markers.toPath(), StandardCharsets.UTF_8)) {
+                if (!marker.isEmpty()) {
+                    for (String component : components) {
+                        jars.get(LoggingMarker.valueOf(marker)).add(jarName + " (" + component + ")");
+                    }
+                }
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        List<String> duplicates = new ArrayList<>();
+        for (Map.Entry<LoggingMarker, Set<String>> entry : jars.entrySet()) {
+            report.append(entry.getKey().title).append(":\n");
+            if (entry.getValue().isEmpty()) {
+                report.append("  (none)\n");
+            }
+            for (String jar : entry.getValue()) {
+                report.append("  ").append(jar).append('\n');
+            }
+            if (entry.getValue().size() > 1) {
+                duplicates.add(entry.getKey().title + " in " + String.join(", ", entry.getValue()));
+            }
+        }
+        File reportFile = getReportFile().get().getAsFile();
+        Files.createDirectories(reportFile.getParentFile().toPath());
+        Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (!duplicates.isEmpty()) {
+            throw new GradleException("Several jars provide the same logging binding:\n  " + String.join("\n  ", duplicates));
+        }
+    }
+}
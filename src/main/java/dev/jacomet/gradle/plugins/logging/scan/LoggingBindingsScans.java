@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.plugins.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registers the {@value #TASK_NAME} task of a project, scanning the jars of the runtime classpath for embedded logging bindings.
+ */
+public final class LoggingBindingsScans {
+    public static final String TASK_NAME = "scanLoggingBindings";
+    public static final String REPORT_PATH = "reports/logging-capabilities/logging-bindings.txt";
+
+    private static final Attribute<String> ARTIFACT_TYPE = Attribute.of("artifactType", String.class);
+    private static final String MARKERS_TYPE = "logging-markers";
+
+    private LoggingBindingsScans() {
+    }
+
+    /**
+     * Registers the jar scanning transform, and the scan task of the runtime classpath once the Java plugin is applied.
+     *
+     * @param project the project the plugin is applied to
+     */
+    public static void register(Project project) {
+        project.getDependencies().registerTransform(LoggingMarkersTransform.class, spec -> {
+            spec.getFrom().attribute(ARTIFACT_TYPE, "jar");
+            spec.getTo().attribute(ARTIFACT_TYPE, MARKERS_TYPE);
+        });
+        project.getPlugins().withType(JavaPlugin.class, plugin -> project.getTasks().register(TASK_NAME, LoggingBindingsScan.class, task -> {
+            task.setGroup("help");
+            task.setDescription("Scans the jars of the runtime classpath for logging bindings, including embedded ones.");
+            ArtifactCollection markers = markersOf(project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME));
+            task.getMarkers().from(markers.getArtifactFiles());
+            task.getMarkerComponents().set(project.provider(() -> componentsOf(markers)));
+            task.getReportFile().set(project.getLayout().getBuildDirectory().file(REPORT_PATH));
+        }));
+    }
+
+    /**
+     * Returns the logging markers of the external jars of the given classpath.
+     * <p>
+     * Jars of the build itself are left out, as they would need to be built first.
+     *
+     * @param classpath the classpath to scan
+     * @return the marker artifacts, one per jar
+     */
+    public static ArtifactCollection markersOf(Configuration classpath) {
+        return classpath.getIncoming().artifactView(view -> {
+            view.attributes(attributes -> attributes.attribute(ARTIFACT_TYPE, MARKERS_TYPE));
+            view.componentFilter(id -> id instanceof ModuleComponentIdentifier);
+        }).getArtifacts();
+    }
+
+    /**
+     * Returns the identifiers of the components of the marker artifacts, keyed on the path of their files.
+     * <p>
+     * A transform only sees the jar it is given, so the component of each marker file is taken from the artifacts of the view instead.
+     * Identical jars of different components share their marker file.
+     */
+    private static Map<String, List<String>> componentsOf(ArtifactCollection markers) {
+        Map<String, List<String>> components = new LinkedHashMap<>();
+        for (ResolvedArtifactResult artifact : markers.getArtifacts()) {
+            components.computeIfAbsent(artifact.getFile().getAbsolutePath(), k -> new ArrayList<>()).add(artifact.getId().getComponentIdentifier().getDisplayName());
+        }
+        return components;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import dev.jacomet.gradle.plugins.logging.extension.LoggingCapabilitiesExtension;
+import dev.jacomet.gradle.plugins.logging.report.LoggingModuleRole;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.testing.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registers the {@value #TASK_NAME} and {@value #TEST_TASK_NAME} tasks of a project, and drops the bridges they find from the exec and test classpaths
+ * when {@link LoggingCapabilitiesExtension#pruneUnusedBridges()} is enabled.
+ * <p>
+ * Only the classpaths of the tasks are pruned: the runtime classpath itself, and therefore the jar, the distributions or a fat jar built from it,
+ * keep every bridge, as the configuration cannot depend on the outcome of a task.
+ */
+public final class LoggingBridgesPruning {
+    public static final String TASK_NAME = "findUnusedLoggingBridges";
+    public static final String TEST_TASK_NAME = "findUnusedTestLoggingBridges";
+    public static final String UNUSED_BRIDGES_PATH = "logging-capabilities/unused-logging-bridges.txt";
+    public static final String UNUSED_TEST_BRIDGES_PATH = "logging-capabilities/unused-test-logging-bridges.txt";
+
+    private static final Attribute<String> ARTIFACT_TYPE = Attribute.of("artifactType", String.class);
+    private static final String REFERENCES_TYPE = "logging-references";
+
+    private LoggingBridgesPruning() {
+    }
+
+    /**
+     * Registers the constant pool scanning transform, and the bridge analyses once the Java plugin is applied.
+     * <p>
+     * The exec tasks are pruned from the analysis of the main classes and the runtime classpath, and the test tasks from the one of the main and test classes
+     * and the test runtime classpath, so that running the application does not compile the tests.
+     *
+     * @param project the project the plugin is applied to
+     * @param extension the project extension, which enables pruning
+     */
+    public static void register(Project project, LoggingCapabilitiesExtension extension) {
+        project.getDependencies().registerTransform(LoggingReferencesTransform.class, spec -> {
+            spec.getFrom().attribute(ARTIFACT_TYPE, "jar");
+            spec.getTo().attribute(ARTIFACT_TYPE, REFERENCES_TYPE);
+        });
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            TaskProvider<UnusedLoggingBridges> unusedBridges = registerAnalysis(project, TASK_NAME, "runtime classpath", JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME,
+                    Collections.singletonList(SourceSet.MAIN_SOURCE_SET_NAME), UNUSED_BRIDGES_PATH);
+            TaskProvider<UnusedLoggingBridges> unusedTestBridges = registerAnalysis(project, TEST_TASK_NAME, "test runtime classpath", JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME,
+                    Arrays.asList(SourceSet.MAIN_SOURCE_SET_NAME, SourceSet.TEST_SOURCE_SET_NAME), UNUSED_TEST_BRIDGES_PATH);
+
+            // Once the project is evaluated, so that the filter wraps the classpath the build script gave to the tasks
+            project.afterEvaluate(evaluated -> {
+                if (!extension.isPruneUnusedBridges()) {
+                    return;
+                }
+                Provider<RegularFile> unusedBridgesFile = unusedBridges.flatMap(UnusedLoggingBridges::getUnusedBridgesFile);
+                Provider<RegularFile> unusedTestBridgesFile = unusedTestBridges.flatMap(UnusedLoggingBridges::getUnusedBridgesFile);
+                project.getTasks().withType(Test.class).configureEach(test -> {
+                    test.dependsOn(unusedTestBridges);
+                    test.setClasspath(test.getClasspath().filter(new PrunedLoggingBridges(unusedTestBridgesFile)));
+                });
+                project.getTasks().withType(JavaExec.class).configureEach(exec -> {
+                    exec.dependsOn(unusedBridges);
+                    exec.setClasspath(exec.getClasspath().filter(new PrunedLoggingBridges(unusedBridgesFile)));
+                });
+            });
+        });
+    }
+
+    private static TaskProvider<UnusedLoggingBridges> registerAnalysis(Project project, String taskName, String classpathDescription, String classpathName,
+                                                                       List<String> sourceSetNames, String outputPath) {
+        return project.getTasks().register(taskName, UnusedLoggingBridges.class, task -> {
+            task.setDescription("Finds the logging bridges of the " + classpathDescription + " routing an API that nothing references.");
+            Configuration classpath = project.getConfigurations().getByName(classpathName);
+            task.getReferences().from(classpath.getIncoming().artifactView(view -> {
+                view.attributes(attributes -> attributes.attribute(ARTIFACT_TYPE, REFERENCES_TYPE));
+                view.componentFilter(id -> !isLoggingModule(id));
+            }).getFiles());
+            task.getBridges().from(classpath.getIncoming().artifactView(view -> view.componentFilter(LoggingBridgesPruning::isBridge)).getFiles());
+            SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+            for (String sourceSetName : sourceSetNames) {
+                task.getClasses().from(sourceSets.getByName(sourceSetName).getOutput().getClassesDirs());
+            }
+            task.getUnusedBridgesFile().set(project.getLayout().getBuildDirectory().file(outputPath));
+        });
+    }
+
+    private static boolean isLoggingModule(ComponentIdentifier id) {
+        if (id instanceof ModuleComponentIdentifier) {
+            ModuleComponentIdentifier module = (ModuleComponentIdentifier) id;
+            return LoggingModuleRole.of(module.getGroup(), module.getModule()) != null;
+        }
+        return false;
+    }
+
+    private static boolean isBridge(ComponentIdentifier id) {
+        if (id instanceof ModuleComponentIdentifier) {
+            String name = ((ModuleComponentIdentifier) id).getModule();
+            for (LoggingApi api : LoggingApi.values()) {
+                if (api.bridges.contains(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
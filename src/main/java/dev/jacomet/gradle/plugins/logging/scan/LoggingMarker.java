@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Jar entries that make a jar act as a logging binding, whether it is a logging module or embeds one.
+ */
+public enum LoggingMarker {
+    SLF4J_BINDING("Slf4J 1 binding", "org/slf4j/impl/StaticLoggerBinder.class"),
+    SLF4J_PROVIDER("Slf4J 2 provider", "META-INF/services/org.slf4j.spi.SLF4JServiceProvider"),
+    LOG4J2_PROVIDER("Log4J 2 provider", "META-INF/log4j-provider.properties", "META-INF/services/org.apache.logging.log4j.spi.Provider");
+
+    final String title;
+    final byte[][] entryNames;
+
+    LoggingMarker(String title, String... entryNames) {
+        this.title = title;
+        this.entryNames = new byte[entryNames.length][];
+        for (int i = 0; i < entryNames.length; i++) {
+            // Marker entry names are plain ASCII, so their UTF-8 encoding can be compared byte for byte with the zip entry names
+            this.entryNames[i] = entryNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
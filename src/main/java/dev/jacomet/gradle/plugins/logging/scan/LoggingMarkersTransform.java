@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transforms a jar into the list of its {@link LoggingMarker logging markers}, one marker name per line.
+ * <p>
+ * Transforms are cached by Gradle per jar content, so a given jar is only ever scanned once, and run in parallel.
+ */
+@CacheableTransform
+public abstract class LoggingMarkersTransform implements TransformAction<TransformParameters.None> {
+
+    /**
+     * Suffix appended to the jar file name to name the transform output.
+     */
+    public static final String SUFFIX = ".logging-markers";
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        if (!jar.isFile()) {
+            return;
+        }
+        List<String> markers = new ArrayList<>();
+        try {
+            for (LoggingMarker marker : ZipCentralDirectory.scan(jar)) {
+                markers.add(marker.name());
+            }
+            Files.write(outputs.file(jar.getName() + SUFFIX).toPath(), markers, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to scan '" + jar + "' for logging bindings", e);
+        }
+    }
+}
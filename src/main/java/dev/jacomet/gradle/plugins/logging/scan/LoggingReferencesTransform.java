@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transforms a jar into the list of the {@link LoggingApi logging APIs} its classes reference, one API name per line.
+ * <p>
+ * Like {@link LoggingMarkersTransform}, it is cached by Gradle per jar content.
+ */
+@CacheableTransform
+public abstract class LoggingReferencesTransform implements TransformAction<TransformParameters.None> {
+
+    /**
+     * Suffix appended to the jar file name to name the transform output.
+     */
+    public static final String SUFFIX = ".logging-references";
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        if (!jar.isFile()) {
+            return;
+        }
+        Set<LoggingApi> apis = EnumSet.noneOf(LoggingApi.class);
+        try {
+            ConstantPools.scanJar(jar, apis);
+            List<String> lines = new ArrayList<>();
+            for (LoggingApi api : apis) {
+                lines.add(api.name());
+            }
+            Files.write(outputs.file(jar.getName() + SUFFIX).toPath(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to scan '" + jar + "' for logging API references", e);
+        }
+    }
+}
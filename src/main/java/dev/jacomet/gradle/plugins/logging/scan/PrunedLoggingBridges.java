@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Filter dropping the unused bridge jars found by {@link UnusedLoggingBridges} from a classpath.
+ * <p>
+ * The list of unused bridges is only read when the classpath is first filtered, once the task producing it has run.
+ */
+final class PrunedLoggingBridges implements Spec<File> {
+    private final Provider<RegularFile> unusedBridgesFile;
+    private transient Set<String> unusedBridges;
+
+    PrunedLoggingBridges(Provider<RegularFile> unusedBridgesFile) {
+        this.unusedBridgesFile = unusedBridgesFile;
+    }
+
+    @Override
+    public boolean isSatisfiedBy(File file) {
+        if (unusedBridges == null) {
+            try {
+                unusedBridges = UnusedLoggingBridges.read(unusedBridgesFile.get().getAsFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read the unused logging bridges from '" + unusedBridgesFile + "'", e);
+            }
+        }
+        return !unusedBridges.contains(file.getName());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the logging bridges of a runtime classpath that route an API nothing references, and whose own classes nothing references either.
+ * <p>
+ * The API references of dependencies are produced by {@link LoggingReferencesTransform}, the classes of the project are scanned directly.
+ * The output lists the file names of the unused bridge jars, one per line, for {@link PrunedLoggingBridges} to drop them.
+ */
+@CacheableTask
+public abstract class UnusedLoggingBridges extends DefaultTask {
+
+    /**
+     * The logging API references of the dependencies, as produced by {@link LoggingReferencesTransform}.
+     *
+     * @return the reference files
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getReferences();
+
+    /**
+     * The class directories of the project.
+     *
+     * @return the class directories
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getClasses();
+
+    /**
+     * The bridge jars of the runtime classpath.
+     *
+     * @return the bridge jars
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getBridges();
+
+    /**
+     * The file listing the unused bridge jars.
+     *
+     * @return the output file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getUnusedBridgesFile();
+
+    @TaskAction
+    public void findUnusedBridges() throws IOException {
+        Set<LoggingApi> referenced = EnumSet.noneOf(LoggingApi.class);
+        for (File references : getReferences().getFiles()) {
+            for (String api : Files.readAllLines(references.toPath(), StandardCharsets.UTF_8)) {
+                if (!api.isEmpty()) {
+                    referenced.add(LoggingApi.valueOf(api));
+                }
+            }
+        }
+        for (File classes : getClasses().getFiles()) {
+            ConstantPools.scanDirectory(classes, referenced);
+        }
+
+        Set<String> unused = new TreeSet<>();
+        for (File bridge : getBridges().getFiles()) {
+            Set<LoggingApi> keeping = LoggingApi.keeping(bridge.getName());
+            if (!keeping.isEmpty() && Collections.disjoint(keeping, referenced)) {
+                unused.add(bridge.getName());
+                getLogger().info("Pruning {}, as nothing references {}", bridge.getName(), keeping.stream().map(api -> api.packageName).collect(Collectors.joining(" or ")));
+            }
+        }
+        File unusedBridgesFile = getUnusedBridgesFile().get().getAsFile();
+        Files.createDirectories(unusedBridgesFile.getParentFile().toPath());
+        Files.write(unusedBridgesFile.toPath(), (Iterable<String>) unused, StandardCharsets.UTF_8);
+    }
+
+    static Set<String> read(File unusedBridgesFile) throws IOException {
+        List<String> lines = Files.readAllLines(unusedBridgesFile.toPath(), StandardCharsets.UTF_8);
+        return new TreeSet<>(lines);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Looks up the {@link LoggingMarker logging markers} of a jar, by reading its central directory only.
+ * <p>
+ * The end of the file and the central directory are read into heap buffers, and entry names are compared in place,
+ * so that no entry is inflated and no string is created per entry.
+ * They are not memory mapped, as a mapping outlives the channel and keeps the jar locked on Windows until it is garbage collected.
+ */
+final class ZipCentralDirectory {
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_SIZE = 56;
+    private static final int ENTRY_SIGNATURE = 0x02014b50;
+    private static final int ENTRY_HEADER_SIZE = 46;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    private ZipCentralDirectory() {
+    }
+
+    /**
+     * Returns the logging markers present in the given jar.
+     *
+     * @param jar the jar to scan
+     * @return the markers found
+     * @throws IOException if the jar cannot be read or is not a valid zip file
+     */
+    static Set<LoggingMarker> scan(File jar) throws IOException {
+        Set<LoggingMarker> markers = EnumSet.noneOf(LoggingMarker.class);
+        try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < END_SIZE) {
+                throw new IOException("File '" + jar + "' is not a zip file");
+            }
+            long tailStart = Math.max(0, size - END_SIZE - MAX_COMMENT_SIZE);
+            ByteBuffer tail = read(channel, tailStart, size - tailStart);
+            int end = findEnd(tail);
+            if (end < 0) {
+                throw new IOException("File '" + jar + "' is not a zip file");
+            }
+            long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+            long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+            if (directorySize == ZIP64_MARKER || directoryOffset == ZIP64_MARKER) {
+                int locator = end - ZIP64_LOCATOR_SIZE;
+                if (locator < 0 || tail.getInt(locator) != ZIP64_LOCATOR_SIGNATURE) {
+                    throw new IOException("File '" + jar + "' has no zip64 end of central directory locator");
+                }
+                ByteBuffer zip64End = read(channel, tail.getLong(locator + 8), ZIP64_END_SIZE);
+                if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+                    throw new IOException("File '" + jar + "' has an invalid zip64 end of central directory");
+                }
+                directorySize = zip64End.getLong(40);
+                directoryOffset = zip64End.getLong(48);
+            }
+            if (directoryOffset + directorySize > size || directorySize > Integer.MAX_VALUE) {
+                throw new IOException("File '" + jar + "' has an invalid central directory");
+            }
+            scanEntries(read(channel, directoryOffset, directorySize), markers);
+        }
+        return markers;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Looks for the end of central directory record, backwards as it is followed by a variable length comment.
+     */
+    private static int findEnd(ByteBuffer tail) {
+        for (int position = tail.limit() - END_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static void scanEntries(ByteBuffer directory, Set<LoggingMarker> markers) {
+        int position = 0;
+        while (position + ENTRY_HEADER_SIZE <= directory.limit() && directory.getInt(position) == ENTRY_SIGNATURE) {
+            int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            int nameStart = position + ENTRY_HEADER_SIZE;
+            for (LoggingMarker marker : LoggingMarker.values()) {
+                for (byte[] entryName : marker.entryNames) {
+                    if (matches(directory, nameStart, nameLength, entryName)) {
+                        markers.add(marker);
+                    }
+                }
+            }
+            position = nameStart + nameLength + extraLength + commentLength;
+        }
+    }
+
+    private static boolean matches(ByteBuffer directory, int nameStart, int nameLength, byte[] entryName) {
+        if (nameLength != entryName.length || nameStart + nameLength > directory.limit()) {
+            return false;
+        }
+        // Compares from the end, where entry names sharing a directory differ
+        for (int i = nameLength - 1; i >= 0; i--) {
+            if (directory.get(nameStart + i) != entryName[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging
+
+import dev.jacomet.gradle.plugins.logging.rules.Log4J2Alignment
+import dev.jacomet.gradle.plugins.logging.rules.Slf4JAlignment
+import org.gradle.api.Action
+import org.gradle.api.ActionConfiguration
+import org.gradle.api.artifacts.dsl.ComponentMetadataHandler
+import spock.lang.Specification
+
+class LoggingAlignmentTest extends Specification {
+    def handler = Mock(ComponentMetadataHandler)
+    def alignment = new LoggingAlignment({ action -> action.execute(handler) })
+
+    def "activation registers rules for known modules only"() {
+        when:
+        alignment.activate()
+
+        then:
+        1 * handler.withModule("org.slf4j:slf4j-api", Slf4JAlignment, _)
+        1 * handler.withModule("org.apache.logging.log4j:log4j-core", Log4J2Alignment, _)
+        0 * handler.all(_, _)
+    }
+
+    def "added module is registered once alignment is active"() {
+        when:
+        alignment.alignModule("org.slf4j", "slf4j-migrator")
+
+        then:
+        0 * handler._
+
+        when:
+        alignment.activate()
+
+        then:
+        1 * handler.withModule("org.slf4j:slf4j-migrator", Slf4JAlignment, _)
+    }
+
+    def "can align all components"() {
+        given:
+        alignment.activate()
+        def skippedModules = []
+
+        when:
+        alignment.alignAllComponents()
+
+        then:
+        1 * handler.all(Slf4JAlignment, _) >> { Class rule, Action<ActionConfiguration> action -> action.execute(configurationCollecting(skippedModules)) }
+        1 * handler.all(Log4J2Alignment, _)
+        0 * handler.withModule(_, _, _)
+        // Modules already registered on their own are not aligned a second time
+        skippedModules[0].contains("org.slf4j:slf4j-api")
+
+        when:
+        alignment.alignModule("org.slf4j", "slf4j-migrator")
+
+        then:
+        0 * handler._
+    }
+
+    def "aligning all components before activation replaces the per module registration"() {
+        given:
+        alignment.alignAllComponents()
+
+        when:
+        alignment.activate()
+
+        then:
+        1 * handler.all(Slf4JAlignment, _)
+        1 * handler.all(Log4J2Alignment, _)
+        0 * handler.withModule(_, _, _)
+    }
+
+    def "rejects modules that are not Slf4J or Log4J 2 ones"() {
+        when:
+        alignment.alignModule(group, "guava")
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        group << ["com.google.guava", "org.slf4jx", "org.apache.logging.log4j.extras"]
+    }
+
+    private ActionConfiguration configurationCollecting(List<Object> collected) {
+        Stub(ActionConfiguration) {
+            params(*_) >> { Object[] args -> collected.addAll(args[0] as List) }
+        }
+    }
+}
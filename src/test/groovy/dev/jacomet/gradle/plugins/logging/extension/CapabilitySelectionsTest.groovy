@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.extension
+
+import org.gradle.api.Action
+import org.gradle.api.artifacts.CapabilitiesResolution
+import org.gradle.api.artifacts.CapabilityResolutionDetails
+import org.gradle.api.artifacts.ComponentVariantIdentifier
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier
+import spock.lang.Specification
+
+class CapabilitySelectionsTest extends Specification {
+    def selections = new CapabilitySelections()
+
+    def "last selection wins"() {
+        when:
+        selections.select("dev.jacomet.logging:slf4j-impl", "org.slf4j", "slf4j-simple", "first")
+        selections.select("dev.jacomet.logging:slf4j-impl", "ch.qos.logback", "logback-classic", "second")
+
+        then:
+        selections.selectionFor("runtimeClasspath", "dev.jacomet.logging:slf4j-impl").name == "logback-classic"
+    }
+
+    def "configuration selection has precedence"() {
+        when:
+        selections.select("dev.jacomet.logging:slf4j-impl", "ch.qos.logback", "logback-classic", "global")
+        selections.select("testRuntimeClasspath", "dev.jacomet.logging:slf4j-impl", "org.slf4j", "slf4j-simple", "test")
+
+        then:
+        selections.selectionFor("runtimeClasspath", "dev.jacomet.logging:slf4j-impl").name == "logback-classic"
+        selections.selectionFor("testRuntimeClasspath", "dev.jacomet.logging:slf4j-impl").name == "slf4j-simple"
+    }
+
+    def "asynchronous Log4J 2 loggers enforced for all configurations only cover runtime classpaths"() {
+        when:
+        selections.enforceLog4J2Async()
+        selections.enforceLog4J2Async("benchmarkClasspath")
+
+        then:
+        selections.isLog4J2AsyncEnforced("runtimeClasspath")
+        selections.isLog4J2AsyncEnforced("testRuntimeClasspath")
+        selections.isLog4J2AsyncEnforced("benchmarkClasspath")
+        !selections.isLog4J2AsyncEnforced("compileClasspath")
+    }
+
+    def "no-op binding enforced for a configuration is inherited"() {
+        given:
+        def buildSelections = new CapabilitySelections()
+        buildSelections.enforceNoOp("jmhRuntimeClasspath")
+
+        when:
+        selections.inherit(buildSelections)
+
+        then:
+        selections.isNoOpEnforced("jmhRuntimeClasspath")
+        !selections.isNoOpEnforced("runtimeClasspath")
+    }
+
+    def "own selection for all configurations has precedence over an inherited one for a configuration"() {
+        given:
+        def buildSelections = new CapabilitySelections()
+        buildSelections.select("runtimeClasspath", "dev.jacomet.logging:slf4j-impl", "ch.qos.logback", "logback-classic", "build")
+        buildSelections.select("dev.jacomet.logging:commons-logging-impl", "org.slf4j", "jcl-over-slf4j", "build")
+
+        when:
+        selections.inherit(buildSelections)
+        selections.select("dev.jacomet.logging:slf4j-impl", "org.slf4j", "slf4j-simple", "project")
+
+        then:
+        selections.selectionFor("runtimeClasspath", "dev.jacomet.logging:slf4j-impl").name == "slf4j-simple"
+        selections.selectionFor("runtimeClasspath", "dev.jacomet.logging:commons-logging-impl").name == "jcl-over-slf4j"
+    }
+
+    def "inherited enforcement does not apply once a binding is selected"() {
+        given:
+        def buildSelections = new CapabilitySelections()
+        buildSelections.select("dev.jacomet.logging:slf4j-impl", "ch.qos.logback", "logback-classic", "build")
+        buildSelections.enforceSlf4J()
+
+        when:
+        selections.inherit(buildSelections)
+
+        then:
+        selections.isSlf4JEnforced("runtimeClasspath")
+        selections.isLogbackEnforced("runtimeClasspath")
+
+        when:
+        selections.select("testRuntimeClasspath", "dev.jacomet.logging:slf4j-impl", "org.slf4j", "slf4j-simple", "project")
+
+        then:
+        selections.isSlf4JEnforced("runtimeClasspath")
+        !selections.isSlf4JEnforced("testRuntimeClasspath")
+        !selections.isLogbackEnforced("testRuntimeClasspath")
+    }
+
+    def "single dispatcher selects the candidate matching the selection"() {
+        given:
+        selections.select("dev.jacomet.logging:slf4j-impl", "ch.qos.logback", "logback-classic", "selected logback")
+        def resolution = Mock(CapabilitiesResolution)
+        def details = Mock(CapabilityResolutionDetails)
+        def simple = candidate("org.slf4j", "slf4j-simple")
+        def logback = candidate("ch.qos.logback", "logback-classic")
+        Action<CapabilityResolutionDetails> slf4jImpl = null
+
+        when:
+        selections.resolutionFor("runtimeClasspath").execute(resolution)
+
+        then:
+        1 * resolution.withCapability("dev.jacomet.logging:slf4j-impl", _) >> { String id, Action action -> slf4jImpl = action }
+
+        when:
+        slf4jImpl.execute(details)
+
+        then:
+        1 * details.candidates >> [simple, logback]
+        1 * details.select(logback) >> details
+        1 * details.because("selected logback")
+    }
+
+    ComponentVariantIdentifier candidate(String group, String module) {
+        def id = Mock(ModuleComponentIdentifier) {
+            getGroup() >> group
+            getModule() >> module
+        }
+        Mock(ComponentVariantIdentifier) {
+            getId() >> id
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation
+
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import org.gradle.api.artifacts.ModuleVersionIdentifier
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+
+@Requires({ jvm.isJava11Compatible() })
+class FlightRecorderEventsTest extends Specification {
+    @TempDir
+    Path testFolder
+
+    def "records the events without statistics"() {
+        given:
+        def module = Stub(ModuleVersionIdentifier) {
+            getGroup() >> 'ch.qos.logback'
+            getName() >> 'logback-classic'
+            getVersion() >> '1.4.14'
+        }
+        def recording = new Recording()
+        recording.enable('dev.jacomet.logging.RuleExecution')
+        recording.enable('dev.jacomet.logging.CapabilityResolution')
+
+        when:
+        recording.start()
+        FlightRecorderEvents.commitRule(FlightRecorderEvents.beginRule(), LoggingModuleCapabilitiesRule, module)
+        FlightRecorderEvents.commitCapabilityResolution(FlightRecorderEvents.beginCapabilityResolution(), 'runtimeClasspath', 'dev.jacomet.logging:slf4j-impl', 'ch.qos.logback', 'logback-classic')
+        recording.stop()
+        def file = testFolder.resolve('events.jfr')
+        recording.dump(file)
+        recording.close()
+        def events = RecordingFile.readAllEvents(file)
+
+        then:
+        !RuleExecutions.isRecording()
+        events.find { it.eventType.name == 'dev.jacomet.logging.RuleExecution' }?.getString('module') == 'ch.qos.logback:logback-classic:1.4.14'
+        events.find { it.eventType.name == 'dev.jacomet.logging.CapabilityResolution' }?.getString('selected') == 'ch.qos.logback:logback-classic'
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.instrumentation
+
+import dev.jacomet.gradle.plugins.logging.rules.LoggingModuleCapabilitiesRule
+import spock.lang.Specification
+
+class RuleExecutionsTest extends Specification {
+
+    def cleanup() {
+        RuleExecutions.stop()
+    }
+
+    def "executions are only counted while recording"() {
+        when:
+        RuleExecutions.record(LoggingModuleCapabilitiesRule)
+
+        then:
+        !RuleExecutions.isRecording()
+        RuleExecutions.snapshot().isEmpty()
+
+        when:
+        RuleExecutions.start()
+        RuleExecutions.record(LoggingModuleCapabilitiesRule)
+        RuleExecutions.record(LoggingModuleCapabilitiesRule)
+
+        then:
+        RuleExecutions.snapshot() == [LoggingModuleCapabilitiesRule: 2L]
+    }
+
+    def "counters are reset for each build"() {
+        given:
+        RuleExecutions.start()
+        RuleExecutions.record(LoggingModuleCapabilitiesRule)
+
+        when:
+        RuleExecutions.stop()
+        RuleExecutions.start()
+
+        then:
+        RuleExecutions.snapshot().isEmpty()
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.rules
+
+import spock.lang.Specification
+
+class Log4J2AsyncDisruptorRuleTest extends Specification {
+
+    def "constrains the Disruptor to the version log4j-core #log4jVersion supports"() {
+        expect:
+        Log4J2AsyncDisruptorRule.disruptorVersionFor(log4jVersion) == disruptorVersion
+
+        where:
+        log4jVersion  | disruptorVersion
+        '2.12.1'      | '3.4.4'
+        '2.22.1'      | '3.4.4'
+        '2.23.0'      | '4.0.0'
+        '2.24.3'      | '4.0.0'
+        '3.0.0-beta2' | '4.0.0'
+    }
+}
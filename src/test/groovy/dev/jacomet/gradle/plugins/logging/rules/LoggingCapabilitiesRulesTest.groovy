@@ -67,6 +67,56 @@ class LoggingCapabilitiesRulesTest extends Specification {
         1 * capabilities.addCapability("dev.jacomet.logging", "testName", "1.0")
     }
 
+    def "module capabilities rule adds all capabilities of a module in a single pass"() {
+        given:
+        def rule = new LoggingModuleCapabilitiesRule()
+        def context = Mock(ComponentMetadataContext)
+        def details = Mock(ComponentMetadataDetails)
+        def identifier = Mock(ModuleVersionIdentifier)
+        def variant = Mock(VariantMetadata)
+        def capabilities = Mock(MutableCapabilitiesMetadata)
+
+        when:
+        rule.execute(context)
+
+        then:
+        1 * context.details >> details
+        1 * details.id >> identifier
+        1 * identifier.group >> "org.slf4j"
+        1 * identifier.name >> "jcl-over-slf4j"
+        1 * identifier.version >> "1.7.27"
+        1 * details.allVariants(_) >> { Action action -> action.execute(variant) }
+        1 * variant.withCapabilities(_) >> { Action action -> action.execute(capabilities) }
+        1 * capabilities.addCapability("dev.jacomet.logging", "commons-logging-impl", "1.0")
+        1 * capabilities.addCapability("dev.jacomet.logging", "slf4j-vs-jcl", "1.7.27")
+        1 * capabilities.addCapability("dev.jacomet.logging", "slf4j-vs-log4j2-jcl", "1.0")
+        0 * capabilities._
+    }
+
+    def "module capabilities rule ignores unknown modules"() {
+        given:
+        def rule = new LoggingModuleCapabilitiesRule()
+        def context = Mock(ComponentMetadataContext)
+        def details = Mock(ComponentMetadataDetails)
+        def identifier = Mock(ModuleVersionIdentifier)
+
+        when:
+        rule.execute(context)
+
+        then:
+        1 * context.details >> details
+        1 * details.id >> identifier
+        1 * identifier.group >> "com.google.guava"
+        1 * identifier.name >> "guava"
+        0 * details.allVariants(_)
+    }
+
+    def "module capabilities are listed with fixed and module versions"() {
+        expect:
+        LoggingModuleCapabilitiesRule.getCapabilities("org.slf4j:slf4j-jdk14", "1.7.27") == ["dev.jacomet.logging:slf4j-impl:1.0", "dev.jacomet.logging:slf4j-vs-jul:1.7.27"]
+        LoggingModuleCapabilitiesRule.getCapabilities("com.google.guava:guava", "30.0").isEmpty()
+    }
+
     static class MyVersionedCapabilityRule extends VersionedCapabilityRule {
         MyVersionedCapabilityRule(String name) {
             super(name)
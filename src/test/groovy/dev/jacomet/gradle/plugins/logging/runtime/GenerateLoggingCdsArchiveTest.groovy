@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+
+class GenerateLoggingCdsArchiveTest extends Specification {
+    @TempDir
+    Path testFolder
+
+    def "archives the jars of the classpath in its order"() {
+        given:
+        def classes = testFolder.resolve('classes').toFile()
+        classes.mkdirs()
+        def api = testFolder.resolve('slf4j-api-2.0.9.jar').toFile()
+        api.text = ''
+        def backend = testFolder.resolve('logback-classic-1.4.11.jar').toFile()
+        backend.text = ''
+
+        expect:
+        GenerateLoggingCdsArchive.archiveClasspath([backend, classes, api]) == [backend, api]
+    }
+}
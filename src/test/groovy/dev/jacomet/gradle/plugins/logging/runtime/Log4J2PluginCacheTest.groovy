@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime
+
+import spock.lang.Specification
+
+class Log4J2PluginCacheTest extends Specification {
+
+    def "merges caches keeping the first plugin registered for a key"() {
+        given:
+        def merged = new Log4J2PluginCache()
+
+        when:
+        merged.merge(cache(core: [console: 'a.Console', file: 'a.File']))
+        merged.merge(cache(Core: [console: 'b.Console', jsontemplatelayout: 'b.Json'], lookup: [env: 'b.Env']))
+
+        then:
+        merged.size() == 4
+        read(merged) == [core: [console: 'a.Console', file: 'a.File', jsontemplatelayout: 'b.Json'], lookup: [env: 'b.Env']]
+    }
+
+    def "writes what it reads"() {
+        given:
+        def merged = new Log4J2PluginCache()
+        def original = cache(converter: [message: 'c.Message'], core: [console: 'c.Console'])
+
+        when:
+        merged.merge(new ByteArrayInputStream(original.bytes))
+
+        then:
+        def out = new ByteArrayOutputStream()
+        merged.write(out)
+        out.toByteArray() == original.bytes
+    }
+
+    private static ByteArrayInputStream cache(Map<String, Map<String, String>> categories) {
+        def bytes = new ByteArrayOutputStream()
+        def out = new DataOutputStream(bytes)
+        out.writeInt(categories.size())
+        categories.each { category, plugins ->
+            out.writeUTF(category)
+            out.writeInt(plugins.size())
+            plugins.each { key, className ->
+                out.writeUTF(key)
+                out.writeUTF(className)
+                out.writeUTF(key)
+                out.writeBoolean(true)
+                out.writeBoolean(false)
+            }
+        }
+        out.flush()
+        new ByteArrayInputStream(bytes.toByteArray())
+    }
+
+    private static Map<String, Map<String, String>> read(Log4J2PluginCache cache) {
+        def bytes = new ByteArrayOutputStream()
+        cache.write(bytes)
+        def input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+        def categories = [:]
+        input.readInt().times {
+            def plugins = [:]
+            categories[input.readUTF()] = plugins
+            input.readInt().times {
+                def key = input.readUTF()
+                plugins[key] = input.readUTF()
+                input.readUTF()
+                input.readBoolean()
+                input.readBoolean()
+            }
+        }
+        categories
+    }
+}
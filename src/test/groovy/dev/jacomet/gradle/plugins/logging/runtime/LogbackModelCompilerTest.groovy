@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class LogbackModelCompilerTest extends Specification {
+    @Unroll
+    def "logback #version loads a serialized model: #supported"() {
+        expect:
+        CompileLogbackConfiguration.supportsSerializedModel(version) == supported
+
+        where:
+        version  | supported
+        "1.2.3"  | false
+        "1.3.8"  | false
+        "1.3.9"  | true
+        "1.4.8"  | false
+        "1.4.14" | true
+        "1.5.6"  | true
+    }
+}
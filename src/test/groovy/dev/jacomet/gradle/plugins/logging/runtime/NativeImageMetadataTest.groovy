@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+class NativeImageMetadataTest extends Specification {
+
+    def "registers the classes of the backend and of the bridges"() {
+        when:
+        def reflection = new JsonSlurper().parseText(NativeImageMetadata.reflectConfig(['ch.qos.logback:logback-classic', 'org.slf4j:jul-to-slf4j', 'org.slf4j:slf4j-api']))
+
+        then:
+        reflection*.name.contains('ch.qos.logback.classic.spi.LogbackServiceProvider')
+        reflection*.name.contains('ch.qos.logback.core.ConsoleAppender')
+        reflection*.name.contains('org.slf4j.bridge.SLF4JBridgeHandler')
+        reflection.every { it.allDeclaredConstructors }
+        !reflection*.name.any { it.startsWith('org.apache.logging.log4j') }
+    }
+
+    def "includes the configuration and service resources as literal patterns"() {
+        when:
+        def resources = new JsonSlurper().parseText(NativeImageMetadata.resourceConfig(['org.slf4j:slf4j-simple']))
+
+        then:
+        resources.resources.includes*.pattern == ['\\QMETA-INF/services/org.slf4j.spi.SLF4JServiceProvider\\E', '\\Qsimplelogger.properties\\E']
+    }
+
+    def "generates empty configurations without logging modules"() {
+        expect:
+        new JsonSlurper().parseText(NativeImageMetadata.reflectConfig([])) == []
+        new JsonSlurper().parseText(NativeImageMetadata.resourceConfig([])).resources.includes == []
+    }
+}
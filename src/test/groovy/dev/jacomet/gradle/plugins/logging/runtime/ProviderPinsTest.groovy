@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.runtime
+
+import spock.lang.Specification
+
+class ProviderPinsTest extends Specification {
+
+    def "pins the Slf4J provider from slf4j-api 2.0.9"() {
+        expect:
+        ProviderPins.of(['org.slf4j:slf4j-api': apiVersion, 'ch.qos.logback:logback-classic': '1.4.11']) == expected
+
+        where:
+        apiVersion | expected
+        '2.0.9'    | ['slf4j.provider': 'ch.qos.logback.classic.spi.LogbackServiceProvider']
+        '2.0.10'   | ['slf4j.provider': 'ch.qos.logback.classic.spi.LogbackServiceProvider']
+        '2.0.6'    | [:]
+        '1.7.36'   | [:]
+    }
+
+    def "does not pin a provider when several are present"() {
+        expect:
+        ProviderPins.of([
+                'org.slf4j:slf4j-api': '2.0.9',
+                'org.slf4j:slf4j-simple': '2.0.9',
+                'ch.qos.logback:logback-classic': '1.4.11'
+        ]).isEmpty()
+    }
+
+    def "ignores Slf4J 1 bindings"() {
+        expect:
+        ProviderPins.of(['org.slf4j:slf4j-api': '2.0.9', 'ch.qos.logback:logback-classic': '1.2.3', 'org.slf4j:slf4j-simple': '2.0.9']) ==
+                ['slf4j.provider': 'org.slf4j.simple.SimpleServiceProvider']
+    }
+
+    def "pins the Log4J 2 context factory and the JUL log manager"() {
+        expect:
+        ProviderPins.of([
+                'org.apache.logging.log4j:log4j-api': '2.17.0',
+                'org.apache.logging.log4j:log4j-core': '2.17.0',
+                'org.apache.logging.log4j:log4j-jul': '2.17.0'
+        ]) == [
+                'java.util.logging.manager': 'org.apache.logging.log4j.jul.LogManager',
+                'log4j2.loggerContextFactory': 'org.apache.logging.log4j.core.impl.Log4jContextFactory'
+        ]
+    }
+
+    def "enables asynchronous loggers with the property names of the resolved log4j-core"() {
+        expect:
+        ProviderPins.log4J2Async(['org.apache.logging.log4j:log4j-core': version]) == expected
+
+        where:
+        version  | expected
+        '2.17.0' | ['log4j2.contextSelector': 'org.apache.logging.log4j.core.async.AsyncLoggerContextSelector', 'log4j2.enableDirectEncoders': 'true',
+                    'log4j2.enableThreadlocals': 'true', 'log4j2.garbagefreeThreadContextMap': 'true']
+        '2.9.1'  | ['Log4jContextSelector': 'org.apache.logging.log4j.core.async.AsyncLoggerContextSelector', 'log4j2.enable.direct.encoders': 'true',
+                    'log4j2.enable.threadlocals': 'true', 'log4j2.garbagefree.threadContextMap': 'true']
+    }
+
+    def "does not enable asynchronous loggers without log4j-core"() {
+        expect:
+        ProviderPins.log4J2Async(['org.apache.logging.log4j:log4j-api': '2.17.0', 'org.apache.logging.log4j:log4j-to-slf4j': '2.17.0']).isEmpty()
+    }
+
+    def "routes java.util.logging to the delegation module of the classpath"() {
+        expect:
+        ProviderPins.julRouting(modules) == expected
+
+        where:
+        modules                                                                        | expected
+        ['org.slf4j:jul-to-slf4j': '2.0.9', 'ch.qos.logback:logback-classic': '1.4.11'] | ['java.util.logging.config.class': JulToSlf4JConfiguration.name]
+        ['org.apache.logging.log4j:log4j-jul': '2.17.0']                               | ['java.util.logging.manager': 'org.apache.logging.log4j.jul.LogManager']
+        ['org.slf4j:slf4j-api': '2.0.9']                                               | [:]
+    }
+
+    def "compares the numeric parts of versions"() {
+        expect:
+        Integer.signum(ProviderPins.compare(version, other)) == expected
+
+        where:
+        version      | other   | expected
+        '2.0.9'      | '2.0.9' | 0
+        '2.0.10'     | '2.0.9' | 1
+        '2.0'        | '2.0.9' | -1
+        '2.1.0-beta' | '2.0.9' | 1
+        '1.3.0-rc1'  | '1.3'   | 0
+    }
+}
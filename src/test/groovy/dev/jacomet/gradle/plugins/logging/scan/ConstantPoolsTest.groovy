@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan
+
+import spock.lang.Specification
+
+class ConstantPoolsTest extends Specification {
+
+    def "finds logging API references of a class"() {
+        given:
+        def apis = EnumSet.noneOf(LoggingApi)
+
+        when:
+        ConstantPools.scanClass(classFile(type), apis)
+
+        then:
+        apis == expected
+
+        where:
+        type                 | expected
+        UsesJul              | EnumSet.of(LoggingApi.JUL)
+        LooksUpLog4J         | EnumSet.of(LoggingApi.LOG4J)
+        LooksUpSlf4JBridge   | EnumSet.of(LoggingApi.SLF4J_BRIDGE)
+        UsesNoLoggingApi     | EnumSet.noneOf(LoggingApi)
+    }
+
+    def "does not mistake Log4J 2 references for Log4J 1 ones"() {
+        given:
+        def apis = EnumSet.noneOf(LoggingApi)
+
+        when:
+        ConstantPools.scanClass(classFile(LooksUpLog4J2), apis)
+
+        then:
+        apis == EnumSet.of(LoggingApi.LOG4J2)
+    }
+
+    private static InputStream classFile(Class<?> type) {
+        type.getResourceAsStream("/${type.name.replace('.', '/')}.class")
+    }
+
+    static class UsesJul {
+        java.util.logging.Logger logger
+    }
+
+    static class LooksUpLog4J {
+        static final String LOGGER = "org.apache.log4j.Logger"
+    }
+
+    static class LooksUpLog4J2 {
+        static final String LOGGER = "org.apache.logging.log4j.LogManager"
+    }
+
+    static class LooksUpSlf4JBridge {
+        static final String HANDLER = "org.slf4j.bridge.SLF4JBridgeHandler"
+    }
+
+    static class UsesNoLoggingApi {
+        String name
+    }
+}
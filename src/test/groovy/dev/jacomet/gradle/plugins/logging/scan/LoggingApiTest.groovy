@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan
+
+import spock.lang.Specification
+
+class LoggingApiTest extends Specification {
+
+    def "bridges are kept by references to the API they route and to their own package"() {
+        expect:
+        LoggingApi.keeping(jarName) == expected
+
+        where:
+        jarName                     | expected
+        'jul-to-slf4j-1.7.27.jar'   | EnumSet.of(LoggingApi.JUL, LoggingApi.SLF4J_BRIDGE)
+        'log4j-jul-2.13.0.jar'      | EnumSet.of(LoggingApi.JUL, LoggingApi.LOG4J2_JUL)
+        'log4j-to-slf4j-2.13.0.jar' | EnumSet.of(LoggingApi.LOG4J2, LoggingApi.LOG4J2_TO_SLF4J)
+        'jcl-over-slf4j-1.7.27.jar' | EnumSet.of(LoggingApi.JCL)
+        'slf4j-api-1.7.27.jar'      | EnumSet.noneOf(LoggingApi)
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.jacomet.gradle.plugins.logging.scan
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ZipCentralDirectoryTest extends Specification {
+    @TempDir
+    Path testFolder
+
+    def "finds logging markers"() {
+        given:
+        def jar = jar("markers.jar", "META-INF/MANIFEST.MF", "org/slf4j/impl/StaticLoggerBinder.class", "META-INF/log4j-provider.properties")
+
+        expect:
+        ZipCentralDirectory.scan(jar) == EnumSet.of(LoggingMarker.SLF4J_BINDING, LoggingMarker.LOG4J2_PROVIDER)
+    }
+
+    def "ignores relocated and similarly named entries"() {
+        given:
+        def jar = jar("shaded.jar", "shaded/org/slf4j/impl/StaticLoggerBinder.class", "org/slf4j/impl/StaticLoggerBinder.java", "META-INF/services/org.slf4j.spi.SLF4JServiceProvider2")
+
+        expect:
+        ZipCentralDirectory.scan(jar).empty
+    }
+
+    def "finds the central directory after an archive comment"() {
+        given:
+        def jar = jarWithComment("comment.jar", "This jar has a comment", "META-INF/services/org.slf4j.spi.SLF4JServiceProvider")
+
+        expect:
+        ZipCentralDirectory.scan(jar) == EnumSet.of(LoggingMarker.SLF4J_PROVIDER)
+    }
+
+    def "reads archives with more entries than the end of central directory record can count"() {
+        given:
+        def entries = (0..<70000).collect { "entry$it".toString() } + ["META-INF/services/org.apache.logging.log4j.spi.Provider"]
+        def jar = jar("large.jar", *entries)
+
+        expect:
+        ZipCentralDirectory.scan(jar) == EnumSet.of(LoggingMarker.LOG4J2_PROVIDER)
+    }
+
+    def "fails on files that are not zip files"() {
+        given:
+        def file = testFolder.resolve("not-a.jar").toFile()
+        file.text = "not a zip file, but long enough to hold an end of central directory record"
+
+        when:
+        ZipCentralDirectory.scan(file)
+
+        then:
+        thrown(IOException)
+    }
+
+    private File jar(String name, String... entries) {
+        jarWithComment(name, null, entries)
+    }
+
+    private File jarWithComment(String name, String comment, String... entries) {
+        def file = testFolder.resolve(name).toFile()
+        new ZipOutputStream(new FileOutputStream(file)).withCloseable { zip ->
+            entries.each {
+                zip.putNextEntry(new ZipEntry(it))
+                zip.closeEntry()
+            }
+            if (comment != null) {
+                zip.comment = comment
+            }
+        }
+        file
+    }
+}